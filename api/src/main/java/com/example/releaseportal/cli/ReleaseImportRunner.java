@@ -0,0 +1,62 @@
+package com.example.releaseportal.cli;
+
+import com.example.releaseportal.service.ReleaseImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line import: {@code java -jar release-portal.jar --import=releases.ndjson[.gz] ...}
+ * imports each file, logging progress after every chunk, and then exits. Add
+ * {@code --spring.main.web-application-type=none} to skip starting the web server, or
+ * {@code --import.keep-running=true} to keep serving requests afterwards.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseImportRunner implements ApplicationRunner {
+
+    private final ReleaseImportService releaseImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> files = args.getOptionValues("import");
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        int exitCode = 0;
+        for (String file : files) {
+            Path path = Path.of(file);
+            log.info("Importing {} ({} bytes)", path, Files.size(path));
+            try (InputStream in = open(path)) {
+                releaseImportService.importGraph(in, ReleaseImportService.logProgress(path.getFileName().toString()));
+            } catch (Exception e) {
+                log.error("Import of {} failed: {}", path, e.getMessage());
+                exitCode = 1;
+                break;
+            }
+        }
+        List<String> keepRunning = args.getOptionValues("import.keep-running");
+        if (keepRunning == null || !keepRunning.contains("true")) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private static InputStream open(Path path) throws Exception {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        return path.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.releaseportal.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Smile and CBOR copies of the application's {@link ObjectMapper}, so binary bodies carry the same
+ * documents as JSON ones (same modules, status labels and date handling).
+ * <p>
+ * Both write back-references to repeated strings: Smile for property names and short values, CBOR
+ * through stringref tags. Status labels such as {@code "In Progress"} are then written once per
+ * document instead of once per entity. Readers must understand these references; Jackson's do.
+ */
+@Component
+public class BinaryEncodings {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+    public static final String CBOR_VALUE = "application/cbor";
+    public static final MediaType CBOR = MediaType.parseMediaType(CBOR_VALUE);
+
+    private final ObjectMapper json;
+    private final ObjectMapper smile;
+    private final ObjectMapper cbor;
+
+    public BinaryEncodings(ObjectMapper objectMapper) {
+        this.json = objectMapper;
+        this.smile = objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+        this.cbor = objectMapper.copyWith(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build());
+    }
+
+    public ObjectMapper smile() {
+        return smile;
+    }
+
+    public ObjectMapper cbor() {
+        return cbor;
+    }
+
+    /** The mapper reading a body of the given content type: Smile, CBOR, or JSON for anything else. */
+    public ObjectMapper forContentType(MediaType contentType) {
+        if (contentType != null && SMILE.equalsTypeAndSubtype(contentType)) {
+            return smile;
+        }
+        return contentType != null && CBOR.equalsTypeAndSubtype(contentType) ? cbor : json;
+    }
+}
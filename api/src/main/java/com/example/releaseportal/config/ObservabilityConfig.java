@@ -0,0 +1,36 @@
+package com.example.releaseportal.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement counting, switched on with {@code observability.sql-count-header.enabled}
+ * (on by default, off in the {@code prod} profile). Request timers, Hibernate statistics and pool
+ * gauges come from Actuator and need no wiring here.
+ */
+@Configuration
+@ConditionalOnProperty(name = "observability.sql-count-header.enabled", havingValue = "true")
+public class ObservabilityConfig {
+
+    @Bean
+    static BeanPostProcessor sqlStatementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlStatementCounter.wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter() {
+        FilterRegistrationBean<SqlStatementCountFilter> registration = new FilterRegistrationBean<>(new SqlStatementCountFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
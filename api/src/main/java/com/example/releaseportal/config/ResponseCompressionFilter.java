@@ -0,0 +1,409 @@
+package com.example.releaseportal.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Brotli or gzip response compression, chosen from {@code Accept-Encoding} (Brotli when both are accepted).
+ * <p>
+ * Done here rather than by the container, which does not compress responses with a strong ETag, and
+ * every release response has one. A strong ETag names one exact body, so a compressed response gets its
+ * own: {@code "r-7"} goes out as {@code "r-7-br"} or {@code "r-7-gzip"}. The suffix is removed again from
+ * {@code If-Match} and {@code If-None-Match}, so the controllers only ever see their own tags. The decision is made when the body is first written, once the content type is known: only
+ * the configured MIME types are compressed, and only when the length is unknown or at least the minimum
+ * size. Streamed responses finish on an async dispatch, so the compressor is kept as a request attribute
+ * until then. Without the Brotli native library only gzip is offered.
+ */
+@Slf4j
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    /** Smaller than gzip output for release JSON at less CPU; higher levels cost far more and suit static assets. */
+    public static final int BROTLI_QUALITY = 5;
+
+    private static final String RESPONSE_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".response";
+    private static final Encoder.Parameters BROTLI_PARAMETERS = new Encoder.Parameters().setQuality(BROTLI_QUALITY);
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    // The suffix encodedTag adds, at the end of a quoted entity tag
+    private static final Pattern CODING_SUFFIX = Pattern.compile("-(?:br|gzip)\"");
+
+    private final List<MimeType> mimeTypes;
+    private final long minResponseSize;
+    private final boolean brotliAvailable;
+
+    public ResponseCompressionFilter(List<String> mimeTypes, long minResponseSize) {
+        this.mimeTypes = mimeTypes.stream().map(MimeTypeUtils::parseMimeType).toList();
+        this.minResponseSize = minResponseSize;
+        this.brotliAvailable = Brotli4jLoader.isAvailable();
+        if (!brotliAvailable) {
+            log.warn("Brotli native library not available; responses are gzip-compressed only", Brotli4jLoader.getUnavailabilityCause());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressedResponse compressed = (CompressedResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+        HttpServletRequest decoded = new DecodedTagsRequest(request);
+        if (!isAsyncDispatch(request)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (compressed == null) {
+            String coding = isAsyncDispatch(request) ? null : chooseCoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (coding == null) {
+                chain.doFilter(decoded, response);
+                return;
+            }
+            compressed = new CompressedResponse(response, coding, request.getHeader(HttpHeaders.IF_NONE_MATCH));
+            request.setAttribute(RESPONSE_ATTRIBUTE, compressed);
+        }
+        try {
+            chain.doFilter(decoded, compressed);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                request.removeAttribute(RESPONSE_ATTRIBUTE);
+                compressed.finish();
+            }
+        }
+    }
+
+    // "r-7" becomes "r-7-br"; weak tags already allow another encoding and are left as they are
+    static String encodedTag(String etag, String coding) {
+        if (etag == null || !etag.startsWith("\"") || !etag.endsWith("\"") || etag.length() < 2) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + coding + "\"";
+    }
+
+    // Undoes encodedTag on every entity tag of an If-Match or If-None-Match value
+    static String decodedTags(String header) {
+        return header == null ? null : CODING_SUFFIX.matcher(header).replaceAll("\"");
+    }
+
+    // "br", "gzip" or null for no compression
+    String chooseCoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean gzip = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!accepted(parts)) {
+                continue;
+            }
+            if (brotliAvailable && (name.equalsIgnoreCase("br") || name.equals("*"))) {
+                return "br";
+            }
+            gzip |= name.equalsIgnoreCase("gzip") || name.equals("*");
+        }
+        return gzip ? "gzip" : null;
+    }
+
+    private static boolean accepted(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class DecodedTagsRequest extends HttpServletRequestWrapper {
+
+        DecodedTagsRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return isPrecondition(name) ? decodedTags(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (!isPrecondition(name) || values == null) {
+                return values;
+            }
+            return Collections.enumeration(Collections.list(values).stream().map(ResponseCompressionFilter::decodedTags).toList());
+        }
+
+        private static boolean isPrecondition(String name) {
+            return HttpHeaders.IF_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name);
+        }
+    }
+
+    private final class CompressedResponse extends HttpServletResponseWrapper {
+
+        private final String coding;
+        private final String ifNoneMatch;
+        private Boolean compress;
+        private OutputStream encoder;
+        private DeferredStream stream;
+        private PrintWriter writer;
+
+        CompressedResponse(HttpServletResponse response, String coding, String ifNoneMatch) {
+            super(response);
+            this.coding = coding;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (!decide(length)) {
+                super.setContentLengthLong(length);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && value != null) {
+                setContentLengthLong(Long.parseLong(value));
+            } else if (HttpHeaders.ETAG.equalsIgnoreCase(name) && Boolean.TRUE.equals(compress)) {
+                super.setHeader(name, encodedTag(value, coding));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && value != null) {
+                setContentLengthLong(Long.parseLong(value));
+            } else if (HttpHeaders.ETAG.equalsIgnoreCase(name) && Boolean.TRUE.equals(compress)) {
+                super.addHeader(name, encodedTag(value, coding));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (Boolean.FALSE.equals(compress)) {
+                return super.getOutputStream();
+            }
+            if (stream == null) {
+                stream = new DeferredStream();
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer != null) {
+                return writer;
+            }
+            if (stream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            if (Boolean.FALSE.equals(compress)) {
+                return super.getWriter();
+            }
+            stream = new DeferredStream();
+            writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                // Committing the headers settles the encoding
+                stream.target(true).flush();
+            }
+            tagNotModified();
+            super.flushBuffer();
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.finish();
+            }
+            tagNotModified();
+        }
+
+        // A 304 has no body to compress; it answers with the tag the client cached, which named the compressed body
+        private void tagNotModified() {
+            String etag = getHeader(HttpHeaders.ETAG);
+            String cached = encodedTag(etag, coding);
+            if (getStatus() == SC_NOT_MODIFIED && !isCommitted() && etag != null && !etag.equals(cached)
+                    && ifNoneMatch != null && ifNoneMatch.contains(cached)) {
+                super.setHeader(HttpHeaders.ETAG, cached);
+            }
+        }
+
+        // Decided once: on a declared length, once the minimum size has been written, or at the end
+        private boolean decide(long length) {
+            if (compress == null) {
+                compress = eligible() && (length < 0 || length >= minResponseSize);
+                if (compress) {
+                    super.setHeader(HttpHeaders.CONTENT_ENCODING, coding);
+                    super.setContentLengthLong(-1);
+                    String etag = getHeader(HttpHeaders.ETAG);
+                    if (etag != null) {
+                        super.setHeader(HttpHeaders.ETAG, encodedTag(etag, coding));
+                    }
+                }
+            }
+            return compress;
+        }
+
+        private boolean eligible() {
+            return !isCommitted() && getStatus() != SC_NO_CONTENT && getStatus() != SC_NOT_MODIFIED
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                    && isCompressible(getContentType());
+        }
+
+        private boolean isCompressible(String contentType) {
+            if (contentType == null) {
+                return false;
+            }
+            try {
+                MimeType type = MimeTypeUtils.parseMimeType(contentType);
+                return mimeTypes.stream().anyMatch(type::equalsTypeAndSubtype);
+            } catch (InvalidMimeTypeException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Holds back the first {@code minResponseSize} bytes of an eligible body, so a small body can still
+         * go out uncompressed with its length; flushes are held back with them.
+         */
+        private final class DeferredStream extends ServletOutputStream {
+
+            private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+            private OutputStream target;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (target == null) {
+                    pending.write(b, off, len);
+                    target(false);
+                } else {
+                    target.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (target != null) {
+                    target.flush();
+                }
+            }
+
+            // The encoder is finished by the filter once the request completes
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+
+            // Non-blocking writers follow the container's stream; the held-back bytes are written through once it is ready
+            @Override
+            public boolean isReady() {
+                try {
+                    return CompressedResponse.super.getOutputStream().isReady();
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    CompressedResponse.super.getOutputStream().setWriteListener(listener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            // Where the body goes once decided; null while still collecting the first bytes
+            OutputStream target(boolean force) throws IOException {
+                if (target == null && (force || compress != null || !eligible() || pending.size() >= minResponseSize)) {
+                    if (decide(-1)) {
+                        ServletOutputStream out = CompressedResponse.super.getOutputStream();
+                        // gzip with sync flush, so streamed exports reach the client as they are written
+                        encoder = coding.equals("br") ? new BrotliOutputStream(out, BROTLI_PARAMETERS)
+                                : new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+                        target = encoder;
+                    } else {
+                        target = CompressedResponse.super.getOutputStream();
+                    }
+                    pending.writeTo(target);
+                    pending.reset();
+                }
+                return target;
+            }
+
+            void finish() throws IOException {
+                if (target == null) {
+                    // Ended below the minimum size: sent as it is, with its length
+                    if (!decide(pending.size())) {
+                        CompressedResponse.super.setContentLengthLong(pending.size());
+                    }
+                    target(true);
+                }
+                if (encoder != null) {
+                    encoder.close();
+                } else {
+                    target.flush();
+                }
+            }
+        }
+    }
+}
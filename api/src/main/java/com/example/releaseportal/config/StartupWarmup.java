@@ -0,0 +1,85 @@
+package com.example.releaseportal.config;
+
+import com.example.releaseportal.dto.ReleaseSummary;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.service.ReleaseDetailCache;
+import com.example.releaseportal.service.ReleaseSummaryService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gets the application ready for its first requests before readiness is reported (readiness flips to
+ * accepting traffic only after the ready-event listeners have run).
+ * <p>
+ * Opens the pool's minimum number of idle connections at once, instead of Hikari adding them one at a
+ * time in the background while the first requests wait, then runs the dashboard's first summary page and
+ * one release detail, so their query plans, serializers and the detail cache entry are in place. Each
+ * step reads a bounded number of rows, so the warm-up takes as long on a full database as on an empty one.
+ * Switched off with {@code startup.warm-up.enabled=false}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "startup.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup {
+
+    private static final int SUMMARY_PAGE_SIZE = 50;
+
+    private final DataSource dataSource;
+    private final ReleaseSummaryService releaseSummaryService;
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseDetailCache releaseDetailCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.nanoTime();
+        int connections = openConnections();
+        List<ReleaseSummary> page = releaseSummaryService.getPage(null, SUMMARY_PAGE_SIZE).getItems();
+        if (!page.isEmpty()) {
+            String releaseId = page.get(0).getId();
+            releaseRepository.findRevisionById(releaseId).ifPresent(revision -> releaseDetailCache.get(releaseId, revision));
+        }
+        log.info("Warmed up {} pooled connections and the dashboard and release detail reads in {} ms",
+                connections, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private int openConnections() {
+        int target;
+        try {
+            target = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class).getMinimumIdle() : 1;
+        } catch (SQLException e) {
+            target = 1;
+        }
+        // Held together, so each borrow opens a new physical connection; they go back to the pool on close
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException e) {
+            log.warn("Connection warm-up stopped after {} connections: {}", held.size(), e.getMessage());
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Closing a warm-up connection failed", e);
+                }
+            }
+        }
+        return held.size();
+    }
+}
@@ -1,9 +1,24 @@
 package com.example.releaseportal.config;
 
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.util.unit.DataSize;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -11,7 +26,40 @@ public class WebConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedOrigins("*") // In production, you would restrict this to your frontend's domain
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*");
     }
+
+    // Query parameters accept the same status labels as JSON bodies, e.g. ?status=In%20Progress
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, ReleaseStatus.class, ReleaseStatus::fromLabel);
+        registry.addConverter(String.class, SignOffStatus.class, SignOffStatus::fromLabel);
+        registry.addConverter(String.class, ScanStatus.class, ScanStatus::fromLabel);
+        registry.addConverter(String.class, QaStatus.class, QaStatus::fromLabel);
+    }
+
+    // Registered after the JSON converter, so JSON stays the default for Accept: */*
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(BinaryEncodings encodings) {
+        return new MappingJackson2SmileHttpMessageConverter(encodings.smile());
+    }
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(BinaryEncodings encodings) {
+        return new MappingJackson2CborHttpMessageConverter(encodings.cbor());
+    }
+
+    // Outermost, so buffering filters further in write through the compressor
+    @Bean
+    @ConditionalOnProperty(name = "response-compression.enabled", havingValue = "true")
+    FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${response-compression.mime-types}") List<String> mimeTypes,
+            @Value("${response-compression.min-response-size:2KB}") DataSize minResponseSize) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCompressionFilter(mimeTypes, minResponseSize.toBytes()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
 }
@@ -1,16 +1,40 @@
 package com.example.releaseportal.controller;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
 @RestController
 @RequestMapping("/api")
+@Slf4j
 public class HealthCheckController {
 
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    private final DataSource dataSource;
+
+    public HealthCheckController(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // UP only when a pooled connection can be borrowed and answers a validation round trip
     @GetMapping("/health")
     public ResponseEntity<String> checkHealth() {
-        return ResponseEntity.ok("UP");
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isValid(PROBE_TIMEOUT_SECONDS)) {
+                return ResponseEntity.ok("UP");
+            }
+            log.warn("Health probe: database connection failed validation");
+        } catch (SQLException e) {
+            log.warn("Health probe: database unavailable: {}", e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("DOWN");
     }
 }
@@ -1,13 +1,42 @@
 package com.example.releaseportal.controller;
 
+import com.example.releaseportal.config.BinaryEncodings;
 import com.example.releaseportal.dto.AddUserStoryRequest;
+import com.example.releaseportal.dto.BulkScanResult;
+import com.example.releaseportal.dto.ComponentPatchRequest;
+import com.example.releaseportal.dto.ComponentSearchCriteria;
+import com.example.releaseportal.dto.ComponentSearchResult;
+import com.example.releaseportal.dto.ComponentUsageCriteria;
+import com.example.releaseportal.dto.ComponentUsageReport;
 import com.example.releaseportal.dto.CreateReleaseRequest;
+import com.example.releaseportal.dto.ImportResult;
+import com.example.releaseportal.dto.PatchedComponent;
+import com.example.releaseportal.dto.PatchedRelease;
+import com.example.releaseportal.dto.PatchedTeam;
+import com.example.releaseportal.dto.PatchedUserStory;
+import com.example.releaseportal.dto.ReadinessReport;
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.dto.ReleasePatchRequest;
+import com.example.releaseportal.dto.ReleaseSearchCriteria;
+import com.example.releaseportal.dto.ReleaseSummary;
+import com.example.releaseportal.dto.ReleaseSummaryPage;
+import com.example.releaseportal.dto.SearchPage;
+import com.example.releaseportal.dto.TeamPatchRequest;
 import com.example.releaseportal.dto.UpdateComponentRequest;
 import com.example.releaseportal.dto.UpdateReleaseRequest;
 import com.example.releaseportal.dto.UpdateTeamRequest;
 import com.example.releaseportal.dto.UpdateUserStoryRequest;
+import com.example.releaseportal.dto.UserStoryPatchRequest;
+import com.example.releaseportal.dto.UserStorySearchCriteria;
+import com.example.releaseportal.dto.UserStorySearchResult;
 import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.LabelledStatus;
+import com.example.releaseportal.model.QaStatus;
 import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
 import com.example.releaseportal.model.Team;
 import com.example.releaseportal.model.UserStory;
 import com.example.releaseportal.repository.ComponentRepository;
@@ -15,17 +44,52 @@ import com.example.releaseportal.repository.ReleaseRepository;
 import com.example.releaseportal.repository.TeamRepository;
 import com.example.releaseportal.repository.UserStoryRepository;
 import com.example.releaseportal.service.EmailService;
+import com.example.releaseportal.service.EntityIds;
+import com.example.releaseportal.service.PartialUpdateService;
+import com.example.releaseportal.service.ReadinessService;
+import com.example.releaseportal.service.ReleaseChangePublisher;
+import com.example.releaseportal.service.ReleaseDetailCache;
+import com.example.releaseportal.service.ReleaseExportService;
+import com.example.releaseportal.service.ReleaseImportService;
+import com.example.releaseportal.service.ReleaseEventStream;
+import com.example.releaseportal.service.ReleaseHistoryService;
+import com.example.releaseportal.service.ReleaseRevisionService;
+import com.example.releaseportal.service.ReleaseSummaryService;
+import com.example.releaseportal.service.ReleaseViewService;
+import com.example.releaseportal.service.ScanIngestionService;
+import com.example.releaseportal.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.HashMap;
 
 @RestController
 @RequestMapping("/api")
@@ -37,39 +101,233 @@ public class ReleaseController {
     private final ComponentRepository componentRepository;
     private final UserStoryRepository userStoryRepository;
     private final EmailService emailService;
+    private final ReleaseSummaryService releaseSummaryService;
+    private final ReadinessService readinessService;
+    private final ReleaseRevisionService releaseRevisionService;
+    private final ReleaseChangePublisher releaseChanges;
+    private final ReleaseEventStream releaseEventStream;
+    private final ScanIngestionService scanIngestionService;
+    private final ReleaseDetailCache releaseDetailCache;
+    private final EntityIds entityIds;
+    private final SearchService searchService;
+    private final ReleaseExportService releaseExportService;
+    private final ReleaseImportService releaseImportService;
+    private final PartialUpdateService partialUpdateService;
+    private final ReleaseHistoryService releaseHistoryService;
+    private final ReleaseViewService releaseViewService;
+    private final BinaryEncodings binaryEncodings;
+
+    // The tag is computed before the body is read, so a concurrent commit can only make the tag older than the body,
+    // which costs the client one extra full response but never hides a change.
 
     @GetMapping("/releases")
-    public List<Release> getAllReleases() {
-        return releaseRepository.findAll();
+    public ResponseEntity<?> getAllReleases(@RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) String include,
+                                            WebRequest request) {
+        // Parsed before the conditional check, so a malformed query is a 400 rather than a 304
+        ReleaseViewService.View view = fields == null && include == null ? null : releaseViewService.parse(fields, include);
+        String etag = releaseRevisionService.collectionTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        return view == null ? response.body(releaseViewService.detailAll()) : response.body(releaseViewService.renderAll(view));
+    }
+
+    @GetMapping(value = "/releases", params = "view=summary")
+    public ResponseEntity<ReleaseSummaryPage> getReleaseSummaries(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "50") int limit,
+                                                                  WebRequest request) {
+        String etag = releaseRevisionService.collectionTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(releaseSummaryService.getPage(cursor, limit));
+    }
+
+    @GetMapping("/releases/export")
+    public ResponseEntity<StreamingResponseBody> exportReleases(@RequestParam(required = false) String format,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String resolved = format != null ? format.toLowerCase(Locale.ROOT) : exportFormatFor(accept);
+        // Written on an async thread straight from the database cursors
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (resolved) {
+            case ReleaseExportService.NDJSON -> {
+                body = releaseExportService::writeNdjson;
+                contentType = MediaType.APPLICATION_NDJSON;
+            }
+            case ReleaseExportService.CSV -> {
+                body = releaseExportService::writeCsv;
+                contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            }
+            case ReleaseExportService.SMILE -> {
+                body = out -> releaseExportService.writeBinary(out, binaryEncodings.smile());
+                contentType = BinaryEncodings.SMILE;
+            }
+            case ReleaseExportService.CBOR -> {
+                body = out -> releaseExportService.writeBinary(out, binaryEncodings.cbor());
+                contentType = BinaryEncodings.CBOR;
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unsupported export format, expected ndjson, csv, smile or cbor");
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"releases." + resolved + "\"")
+                .body(body);
+    }
+
+    // Without ?format= the first of CSV, Smile or CBOR named in Accept wins; NDJSON otherwise
+    private static String exportFormatFor(String accept) {
+        if (accept != null) {
+            try {
+                for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                    if (BinaryEncodings.SMILE.equalsTypeAndSubtype(type)) {
+                        return ReleaseExportService.SMILE;
+                    }
+                    if (BinaryEncodings.CBOR.equalsTypeAndSubtype(type)) {
+                        return ReleaseExportService.CBOR;
+                    }
+                    if (type.getType().equals("text") && type.getSubtype().equals("csv")) {
+                        return ReleaseExportService.CSV;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Fall back to the default format
+            }
+        }
+        return ReleaseExportService.NDJSON;
+    }
+
+    // Body is the record stream produced by the export, read incrementally; NDJSON, or Smile/CBOR by Content-Type
+    @PostMapping("/releases/import")
+    public ImportResult importReleases(HttpServletRequest request) throws IOException {
+        return releaseImportService.importGraph(request.getInputStream(), bodyFormat(request),
+                ReleaseImportService.logProgress("Import from " + request.getRemoteAddr()));
+    }
+
+    // The mapper for a streamed request body: Smile or CBOR by Content-Type, JSON otherwise
+    private ObjectMapper bodyFormat(HttpServletRequest request) {
+        try {
+            return binaryEncodings.forContentType(
+                    request.getContentType() == null ? null : MediaType.parseMediaType(request.getContentType()));
+        } catch (InvalidMediaTypeException e) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unreadable Content-Type", e);
+        }
+    }
+
+    @GetMapping("/releases/search")
+    public SearchPage<ReleaseSummary> searchReleases(ReleaseSearchCriteria criteria,
+                                                     @PageableDefault(size = 50, sort = "releaseDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        return searchService.searchReleases(criteria, pageable);
+    }
+
+    @GetMapping("/components/search")
+    public SearchPage<ComponentSearchResult> searchComponents(ComponentSearchCriteria criteria,
+                                                              @PageableDefault(size = 50, sort = "name") Pageable pageable) {
+        return searchService.searchComponents(criteria, pageable);
+    }
+
+    // Which releases, teams and stories ship a component, by name and version range and/or scan status
+    @GetMapping("/components/where-used")
+    public ComponentUsageReport findComponentUsages(ComponentUsageCriteria criteria) {
+        return searchService.findComponentUsages(criteria);
+    }
+
+    @GetMapping("/user-stories/search")
+    public SearchPage<UserStorySearchResult> searchUserStories(UserStorySearchCriteria criteria,
+                                                               @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return searchService.searchUserStories(criteria, pageable);
     }
 
     @GetMapping("/teams")
-    public List<Team> getAllTeams() {
-        return teamRepository.findAll();
+    public List<ReleaseDetail.TeamDetail> getAllTeams() {
+        return releaseViewService.teamDetails();
     }
 
     @GetMapping("/releases/{id}")
-    public Release getReleaseById(@PathVariable String id) {
-        return releaseRepository.findById(id)
+    public ResponseEntity<?> getReleaseById(@PathVariable String id,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) String include,
+                                            WebRequest request) {
+        ReleaseViewService.View view = fields == null && include == null ? null : releaseViewService.parse(fields, include);
+        long revision = releaseRepository.findRevisionById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
+        String etag = ReleaseRevisionService.tag(revision);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        if (view != null) {
+            // Sparse documents skip the detail cache; they only load what was asked for
+            return response.body(releaseViewService.render(id, view)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found")));
+        }
+        ReleaseDetail release = releaseDetailCache.get(id, revision)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
+        return response.body(release);
+    }
+
+    // A past state rebuilt from the change history; not cached, as it is read far less often than the current one
+    @GetMapping(value = "/releases/{id}", params = "asOf")
+    public ReleaseDetail getReleaseAsOf(@PathVariable String id, @RequestParam Instant asOf) {
+        return releaseHistoryService.getAsOf(id, asOf)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release has no recorded state at that time"));
+    }
+
+    @GetMapping(value = "/releases/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllReleaseEvents() {
+        return releaseEventStream.subscribe(null);
+    }
+
+    @GetMapping(value = "/releases/{releaseId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReleaseEvents(@PathVariable String releaseId) {
+        if (!releaseRepository.existsById(releaseId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found");
+        }
+        return releaseEventStream.subscribe(releaseId);
+    }
+
+    @GetMapping("/releases/{releaseId}/readiness")
+    public ReadinessReport getReleaseReadiness(@PathVariable String releaseId) {
+        return readinessService.getReadiness(releaseId);
     }
 
     @PutMapping("/releases/{releaseId}")
-    public Release updateRelease(@PathVariable String releaseId, @RequestBody UpdateReleaseRequest request) {
+    @Transactional
+    public ResponseEntity<Release> updateRelease(@PathVariable String releaseId,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody UpdateReleaseRequest request) {
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
         Release release = releaseRepository.findById(releaseId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
         release.setName(request.getName());
         release.setVersion(request.getVersion());
         release.setReleaseDate(request.getReleaseDate());
-        return releaseRepository.save(release);
+        Release savedRelease = releaseRepository.save(release);
+        long revision = releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "name", request.getName()),
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "version", request.getVersion()),
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "releaseDate", request.getReleaseDate()));
+        return ResponseEntity.ok().eTag(ReleaseRevisionService.tag(revision)).body(savedRelease);
     }
 
     @DeleteMapping("/releases/{releaseId}")
+    @Transactional
     public ResponseEntity<?> deleteRelease(@PathVariable String releaseId) {
         if (!releaseRepository.existsById(releaseId)) {
             return ResponseEntity.notFound().build();
         }
-        releaseRepository.deleteById(releaseId);
+        List<String> teamIds = teamRepository.findIdsByReleaseId(releaseId);
+        List<ReleaseChangeEvent> changes = cascadedDeletions(teamIds);
+        teamIds.forEach(teamId -> changes.add(ReleaseChangeEvent.deleted(ReleaseChangeEvent.TEAM, teamId, releaseId)));
+        changes.add(ReleaseChangeEvent.deleted(ReleaseChangeEvent.RELEASE, releaseId, null));
+        // Published while the row still exists, as the revision bump requires it
+        releaseChanges.publish(releaseId, changes.toArray(ReleaseChangeEvent[]::new));
+        deleteTeams(teamIds);
+        releaseRepository.deleteAllByIdInBatch(List.of(releaseId));
+        readinessService.releaseDeleted(releaseId);
         return ResponseEntity.noContent().build();
     }
 
@@ -77,110 +335,154 @@ public class ReleaseController {
     @Transactional
     public Release createRelease(@RequestBody CreateReleaseRequest createRequest) {
         Release newRelease = new Release();
-        String id = createRequest.getName().toLowerCase().replace(" ", "-") + "-" + System.currentTimeMillis();
+        String id = entityIds.forRelease(createRequest.getName());
         newRelease.setId(id);
         newRelease.setName(createRequest.getName());
         newRelease.setVersion(createRequest.getVersion());
         newRelease.setReleaseDate(createRequest.getReleaseDate());
-        newRelease.setStatus("In Progress");
-        newRelease.setOverallAppOwnerSignedOff("Pending");
-        newRelease.setTeams(Collections.emptyList());
+        newRelease.setStatus(ReleaseStatus.IN_PROGRESS);
+        newRelease.setOverallAppOwnerSignedOff(SignOffStatus.PENDING);
 
         Release savedRelease = releaseRepository.save(newRelease);
 
         if (createRequest.getTeamIds() != null && !createRequest.getTeamIds().isEmpty()) {
             List<Team> teamsToAssociate = teamRepository.findAllById(createRequest.getTeamIds());
+            Map<String, List<String>> movedTeamsByRelease = new HashMap<>();
             for (Team team : teamsToAssociate) {
+                if (team.getRelease() != null) {
+                    movedTeamsByRelease.computeIfAbsent(team.getRelease().getId(), k -> new ArrayList<>()).add(team.getId());
+                }
                 team.setRelease(savedRelease);
             }
+            Set<String> affectedReleaseIds = new HashSet<>(movedTeamsByRelease.keySet());
+            affectedReleaseIds.add(savedRelease.getId());
             teamRepository.saveAll(teamsToAssociate);
+            // Keep the managed instance in sync instead of re-reading it from the database
+            savedRelease.getTeams().addAll(teamsToAssociate);
+            // Whole teams moved between releases, so rebuild the affected aggregates
+            teamRepository.flush();
+            readinessService.recompute(affectedReleaseIds);
+            movedTeamsByRelease.forEach((previousReleaseId, teamIds) -> releaseChanges.publish(previousReleaseId,
+                    teamIds.stream()
+                            .map(teamId -> ReleaseChangeEvent.deleted(ReleaseChangeEvent.TEAM, teamId, previousReleaseId))
+                            .toArray(ReleaseChangeEvent[]::new)));
+        } else {
+            readinessService.releaseCreated(savedRelease);
         }
+        releaseChanges.publish(savedRelease.getId(),
+                ReleaseChangeEvent.created(ReleaseChangeEvent.RELEASE, savedRelease.getId(), null, savedRelease));
         
-        return releaseRepository.findById(savedRelease.getId()).get();
+        return savedRelease;
     }
 
     @PostMapping("/releases/{releaseId}/teams")
+    @Transactional
     public Team addTeam(@PathVariable String releaseId, @RequestBody Team teamData) {
         Release release = releaseRepository.findById(releaseId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
         
-        String id = teamData.getName().toLowerCase().replace(" ", "-") + "-" + System.currentTimeMillis();
+        String id = entityIds.forTeam(teamData.getName());
         teamData.setId(id);
-        teamData.setQaSignedOff("Pending");
-        teamData.setAppOwnerSignedOff("Pending");
+        teamData.setLockVersion(null);
+        teamData.setQaSignedOff(SignOffStatus.PENDING);
+        teamData.setAppOwnerSignedOff(SignOffStatus.PENDING);
         teamData.setRelease(release);
-        return teamRepository.save(teamData);
+        Team savedTeam = teamRepository.save(teamData);
+        readinessService.teamAdded(savedTeam);
+        releaseChanges.publish(releaseId, ReleaseChangeEvent.created(ReleaseChangeEvent.TEAM, id, releaseId, savedTeam));
+        return savedTeam;
     }
 
     @PutMapping("/releases/{releaseId}/teams/{teamId}")
-    public Team updateTeam(@PathVariable String teamId, @RequestBody UpdateTeamRequest request) {
-        Team team = teamRepository.findById(teamId)
+    @Transactional
+    public Team updateTeam(@PathVariable String releaseId, @PathVariable String teamId, @RequestBody UpdateTeamRequest request) {
+        Team team = findTeam(releaseId, teamId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found"));
         team.setName(request.getName());
         team.setTeamDl(request.getTeamDl());
         team.setProductOwner(request.getProductOwner());
+        releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "name", request.getName()),
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "teamDl", request.getTeamDl()),
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "productOwner", request.getProductOwner()));
         return teamRepository.save(team);
     }
 
     @DeleteMapping("/releases/{releaseId}/teams/{teamId}")
-    public ResponseEntity<?> deleteTeam(@PathVariable String teamId) {
-        if (!teamRepository.existsById(teamId)) {
+    @Transactional
+    public ResponseEntity<?> deleteTeam(@PathVariable String releaseId, @PathVariable String teamId) {
+        if (findTeam(releaseId, teamId).isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        teamRepository.deleteById(teamId);
+        readinessService.teamRemoved(teamId);
+        List<ReleaseChangeEvent> changes = cascadedDeletions(List.of(teamId));
+        changes.add(ReleaseChangeEvent.deleted(ReleaseChangeEvent.TEAM, teamId, releaseId));
+        releaseChanges.publish(releaseId, changes.toArray(ReleaseChangeEvent[]::new));
+        deleteTeams(List.of(teamId));
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/releases/{releaseId}/teams/{teamId}/components")
-    public Component addComponent(@PathVariable String teamId, @RequestBody Component componentData) {
-        Team team = teamRepository.findById(teamId)
+    @Transactional
+    public Component addComponent(@PathVariable String releaseId, @PathVariable String teamId, @RequestBody Component componentData) {
+        Team team = findTeam(releaseId, teamId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found"));
         
-        String id = teamId + "-component-" + System.currentTimeMillis();
+        String id = entityIds.forComponent(teamId);
         componentData.setId(id);
-        componentData.setSonarQube("Pending");
-        componentData.setNexusIq("Pending");
-        componentData.setCheckmarx("Pending");
+        componentData.setLockVersion(null);
+        componentData.setSonarQube(ScanStatus.PENDING);
+        componentData.setNexusIq(ScanStatus.PENDING);
+        componentData.setCheckmarx(ScanStatus.PENDING);
         componentData.setTeam(team);
-        return componentRepository.save(componentData);
+        Component savedComponent = componentRepository.save(componentData);
+        readinessService.componentAdded(savedComponent);
+        releaseChanges.publish(releaseId, ReleaseChangeEvent.created(ReleaseChangeEvent.COMPONENT, id, teamId, savedComponent));
+        return savedComponent;
     }
 
     @PutMapping("/releases/{releaseId}/teams/{teamId}/components/{componentId}")
-    public Component updateComponent(@PathVariable String componentId, @RequestBody UpdateComponentRequest request) {
-        Component component = componentRepository.findById(componentId)
+    @Transactional
+    public Component updateComponent(@PathVariable String releaseId, @PathVariable String teamId, @PathVariable String componentId,
+                                     @RequestBody UpdateComponentRequest request) {
+        Component component = findComponent(releaseId, teamId, componentId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Component not found"));
         component.setName(request.getName());
         component.setVersion(request.getVersion());
+        releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.COMPONENT, componentId, "name", request.getName()),
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.COMPONENT, componentId, "version", request.getVersion()));
         return componentRepository.save(component);
     }
 
     @DeleteMapping("/releases/{releaseId}/teams/{teamId}/components/{componentId}")
     @Transactional
-    public ResponseEntity<?> deleteComponent(@PathVariable String componentId) {
-        if (!componentRepository.existsById(componentId)) {
+    public ResponseEntity<?> deleteComponent(@PathVariable String releaseId, @PathVariable String teamId,
+                                             @PathVariable String componentId) {
+        Component component = findComponent(releaseId, teamId, componentId).orElse(null);
+        if (component == null) {
             return ResponseEntity.notFound().build();
         }
-        
-        // Before deleting component, remove its association from any user stories
-        List<UserStory> associatedStories = userStoryRepository.findByComponents_Id(componentId);
-        for (UserStory story : associatedStories) {
-            story.getComponents().removeIf(c -> c.getId().equals(componentId));
-        }
-        // Transaction will persist the changes to user stories
-        
-        componentRepository.deleteById(componentId);
+        readinessService.componentRemoved(component);
+        releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.deleted(ReleaseChangeEvent.COMPONENT, componentId, component.getTeam().getId()));
+        // Unlinked from its stories in one statement rather than by rewriting each story's component list
+        userStoryRepository.deleteComponentLinks(componentId);
+        componentRepository.delete(component);
         return ResponseEntity.noContent().build();
     }
     
     @PostMapping("/releases/{releaseId}/teams/{teamId}/user-stories")
-    public UserStory addUserStory(@PathVariable String teamId, @RequestBody AddUserStoryRequest userStoryRequest) {
-        Team team = teamRepository.findById(teamId)
+    @Transactional
+    public UserStory addUserStory(@PathVariable String releaseId, @PathVariable String teamId,
+                                  @RequestBody AddUserStoryRequest userStoryRequest) {
+        Team team = findTeam(releaseId, teamId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found"));
 
         UserStory newUserStory = new UserStory();
-        String id = "US-" + System.currentTimeMillis();
+        String id = entityIds.forUserStory();
         newUserStory.setId(id);
-        newUserStory.setQaStatus("Pending");
+        newUserStory.setQaStatus(QaStatus.PENDING);
         newUserStory.setTeam(team);
         newUserStory.setDescription(userStoryRequest.getDescription());
 
@@ -191,83 +493,260 @@ public class ReleaseController {
             newUserStory.setComponents(new ArrayList<>());
         }
 
-        return userStoryRepository.save(newUserStory);
+        UserStory savedUserStory = userStoryRepository.save(newUserStory);
+        readinessService.userStoryAdded(savedUserStory);
+        releaseChanges.publish(releaseId, ReleaseChangeEvent.created(ReleaseChangeEvent.USER_STORY, id, teamId, savedUserStory));
+        return savedUserStory;
     }
 
     @PutMapping("/releases/{releaseId}/teams/{teamId}/user-stories/{storyId}")
-    public UserStory updateUserStory(@PathVariable String storyId, @RequestBody UpdateUserStoryRequest request) {
-        UserStory story = userStoryRepository.findById(storyId)
+    @Transactional
+    public UserStory updateUserStory(@PathVariable String releaseId, @PathVariable String teamId, @PathVariable String storyId,
+                                     @RequestBody UpdateUserStoryRequest request) {
+        UserStory story = findUserStory(releaseId, teamId, storyId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User Story not found"));
         story.setDescription(request.getDescription());
+        releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.USER_STORY, storyId, "description", request.getDescription()));
         return userStoryRepository.save(story);
     }
 
     @DeleteMapping("/releases/{releaseId}/teams/{teamId}/user-stories/{storyId}")
-    public ResponseEntity<?> deleteUserStory(@PathVariable String storyId) {
-        if (!userStoryRepository.existsById(storyId)) {
+    @Transactional
+    public ResponseEntity<?> deleteUserStory(@PathVariable String releaseId, @PathVariable String teamId,
+                                             @PathVariable String storyId) {
+        UserStory story = findUserStory(releaseId, teamId, storyId).orElse(null);
+        if (story == null) {
             return ResponseEntity.notFound().build();
         }
-        userStoryRepository.deleteById(storyId);
+        readinessService.userStoryRemoved(story);
+        releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.deleted(ReleaseChangeEvent.USER_STORY, storyId, story.getTeam().getId()));
+        userStoryRepository.delete(story);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/releases/{releaseId}/teams/{teamId}/user-stories/{storyId}/qa-status")
-    public UserStory updateUserStoryQAStatus(@PathVariable String storyId, @RequestBody Map<String, String> payload) {
-        UserStory userStory = userStoryRepository.findById(storyId)
+    @Transactional
+    public UserStory updateUserStoryQAStatus(@PathVariable String releaseId, @PathVariable String teamId,
+                                             @PathVariable String storyId, @RequestBody Map<String, String> payload) {
+        UserStory userStory = findUserStory(releaseId, teamId, storyId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User story not found"));
 
-        userStory.setQaStatus(payload.get("qaStatus"));
+        QaStatus oldStatus = userStory.getQaStatus();
+        userStory.setQaStatus(requireStatus(QaStatus.class, payload.get("qaStatus")));
+        readinessService.qaStatusChanged(userStory.getTeam().getId(), oldStatus, userStory.getQaStatus());
+        releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.USER_STORY, storyId, "qaStatus", userStory.getQaStatus()));
         return userStoryRepository.save(userStory);
     }
 
     @PutMapping("/releases/{releaseId}/teams/{teamId}/components/{componentId}/scan")
-    public Component updateComponentScan(@PathVariable String componentId, @RequestBody Map<String, String> payload) {
-        Component component = componentRepository.findById(componentId)
+    @Transactional
+    public Component updateComponentScan(@PathVariable String releaseId, @PathVariable String teamId,
+                                         @PathVariable String componentId, @RequestBody Map<String, String> payload) {
+        Component component = findComponent(releaseId, teamId, componentId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Component not found"));
 
         String scanType = payload.get("scanType");
-        String status = payload.get("status");
+        ScanStatus status = requireStatus(ScanStatus.class, payload.get("status"));
+        ScanStatus oldStatus;
         if ("sonarQube".equals(scanType)) {
+            oldStatus = component.getSonarQube();
             component.setSonarQube(status);
         } else if ("nexusIq".equals(scanType)) {
+            oldStatus = component.getNexusIq();
             component.setNexusIq(status);
         } else if ("checkmarx".equals(scanType)) {
+            oldStatus = component.getCheckmarx();
             component.setCheckmarx(status);
+        } else {
+            return component;
         }
+        readinessService.scanChanged(component.getTeam().getId(), oldStatus, status);
+        releaseChanges.publish(releaseId, ReleaseChangeEvent.updated(ReleaseChangeEvent.COMPONENT, componentId, scanType, status));
         return componentRepository.save(component);
     }
 
+    // Body is an array of {componentId, scanType, status} in JSON, Smile or CBOR; read as a stream rather than bound up front
+    @PostMapping(value = "/components/scans",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryEncodings.SMILE_VALUE, BinaryEncodings.CBOR_VALUE})
+    public ResponseEntity<BulkScanResult> ingestComponentScans(HttpServletRequest request) throws IOException {
+        BulkScanResult result = scanIngestionService.ingest(request.getInputStream(), bodyFormat(request));
+        // A body that breaks off part way is still a bad request, but the records before the break were applied
+        return ResponseEntity.status(result.getError() == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
+
     @PutMapping("/releases/{releaseId}/teams/{teamId}/qa-signoff")
-    public Team updateQASignOff(@PathVariable String teamId, @RequestBody Map<String, String> payload) {
-        Team team = teamRepository.findById(teamId)
+    @Transactional
+    public ResponseEntity<Team> updateQASignOff(@PathVariable String releaseId, @PathVariable String teamId,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @RequestBody Map<String, String> payload) {
+        Team team = findTeam(releaseId, teamId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found"));
-        team.setQaSignedOff(payload.get("qaSignedOff"));
-        return teamRepository.save(team);
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
+        SignOffStatus oldStatus = team.getQaSignedOff();
+        team.setQaSignedOff(requireStatus(SignOffStatus.class, payload.get("qaSignedOff")));
+        readinessService.qaSignOffChanged(teamId, oldStatus, team.getQaSignedOff());
+        long revision = releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "qaSignedOff", team.getQaSignedOff()));
+        return ResponseEntity.ok().eTag(ReleaseRevisionService.tag(revision)).body(teamRepository.save(team));
     }
 
     @PutMapping("/releases/{releaseId}/teams/{teamId}/appowner-signoff")
-    public Team updateAppOwnerSignOff(@PathVariable String teamId, @RequestBody Map<String, String> payload) {
-        Team team = teamRepository.findById(teamId)
+    @Transactional
+    public ResponseEntity<Team> updateAppOwnerSignOff(@PathVariable String releaseId, @PathVariable String teamId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestBody Map<String, String> payload) {
+        Team team = findTeam(releaseId, teamId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Team not found"));
-        team.setAppOwnerSignedOff(payload.get("appOwnerSignedOff"));
-        return teamRepository.save(team);
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
+        SignOffStatus oldStatus = team.getAppOwnerSignedOff();
+        team.setAppOwnerSignedOff(requireStatus(SignOffStatus.class, payload.get("appOwnerSignedOff")));
+        readinessService.appOwnerSignOffChanged(teamId, oldStatus, team.getAppOwnerSignedOff());
+        long revision = releaseChanges.publish(releaseId,
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "appOwnerSignedOff", team.getAppOwnerSignedOff()));
+        return ResponseEntity.ok().eTag(ReleaseRevisionService.tag(revision)).body(teamRepository.save(team));
     }
 
     @PutMapping("/releases/{releaseId}/overall-signoff")
-    public Release updateOverallSignOff(@PathVariable String releaseId, @RequestBody Map<String, String> payload) {
+    @Transactional
+    public ResponseEntity<Release> updateOverallSignOff(@PathVariable String releaseId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody Map<String, String> payload) {
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
         Release release = releaseRepository.findById(releaseId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
-        release.setOverallAppOwnerSignedOff(payload.get("overallAppOwnerSignedOff"));
-        return releaseRepository.save(release);
+        SignOffStatus oldStatus = release.getOverallAppOwnerSignedOff();
+        release.setOverallAppOwnerSignedOff(requireStatus(SignOffStatus.class, payload.get("overallAppOwnerSignedOff")));
+        readinessService.overallSignOffChanged(releaseId, release.getOverallAppOwnerSignedOff());
+        if (release.getOverallAppOwnerSignedOff() == SignOffStatus.COMPLETED && oldStatus != SignOffStatus.COMPLETED) {
+            // Queued in this transaction, so the approval email goes out only if the sign-off commits
+            emailService.sendApprovalNotification(release);
+        }
+        long revision = releaseChanges.publish(releaseId, ReleaseChangeEvent.updated(
+                ReleaseChangeEvent.RELEASE, releaseId, "overallAppOwnerSignedOff", release.getOverallAppOwnerSignedOff()));
+        return ResponseEntity.ok().eTag(ReleaseRevisionService.tag(revision)).body(releaseRepository.save(release));
+    }
+
+    // Partial updates: one row lock and one UPDATE each, answering with the changed row only
+
+    @PatchMapping("/releases/{releaseId}")
+    public ResponseEntity<PatchedRelease> patchRelease(@PathVariable String releaseId,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @RequestBody ReleasePatchRequest patch) {
+        return patched(partialUpdateService.patchRelease(releaseId, ifMatch, patch));
+    }
+
+    @PatchMapping("/releases/{releaseId}/teams/{teamId}")
+    public ResponseEntity<PatchedTeam> patchTeam(@PathVariable String releaseId, @PathVariable String teamId,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody TeamPatchRequest patch) {
+        return patched(partialUpdateService.patchTeam(releaseId, teamId, ifMatch, patch));
+    }
+
+    @PatchMapping("/releases/{releaseId}/teams/{teamId}/components/{componentId}")
+    public ResponseEntity<PatchedComponent> patchComponent(@PathVariable String releaseId, @PathVariable String teamId,
+                                                           @PathVariable String componentId,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestBody ComponentPatchRequest patch) {
+        return patched(partialUpdateService.patchComponent(releaseId, teamId, componentId, ifMatch, patch));
+    }
+
+    @PatchMapping("/releases/{releaseId}/teams/{teamId}/user-stories/{storyId}")
+    public ResponseEntity<PatchedUserStory> patchUserStory(@PathVariable String releaseId, @PathVariable String teamId,
+                                                           @PathVariable String storyId,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestBody UserStoryPatchRequest patch) {
+        return patched(partialUpdateService.patchUserStory(releaseId, teamId, storyId, ifMatch, patch));
+    }
+
+    private static <T> ResponseEntity<T> patched(PartialUpdateService.Patched<T> result) {
+        return ResponseEntity.ok().eTag(ReleaseRevisionService.tag(result.revision())).body(result.row());
     }
 
     @PostMapping("/releases/{releaseId}/notify")
+    @Transactional
     public ResponseEntity<Void> sendApprovalNotification(@PathVariable String releaseId) {
         Release release = releaseRepository.findById(releaseId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
-        
+
         emailService.sendApprovalNotification(release);
-        
-        return ResponseEntity.ok().build();
+
+        // Delivery happens in the background from the outbox
+        return ResponseEntity.accepted().build();
+    }
+
+    // Deletion events for the rows removed along with the given teams, so listeners such as the search
+    // indexes drop them as well
+    private List<ReleaseChangeEvent> cascadedDeletions(List<String> teamIds) {
+        List<ReleaseChangeEvent> changes = new ArrayList<>();
+        if (teamIds.isEmpty()) {
+            return changes;
+        }
+        for (Object[] row : userStoryRepository.findIdsByTeamIds(teamIds)) {
+            changes.add(ReleaseChangeEvent.deleted(ReleaseChangeEvent.USER_STORY, (String) row[0], (String) row[1]));
+        }
+        for (Object[] row : componentRepository.findIdsByTeamIds(teamIds)) {
+            changes.add(ReleaseChangeEvent.deleted(ReleaseChangeEvent.COMPONENT, (String) row[0], (String) row[1]));
+        }
+        return changes;
+    }
+
+    // One statement per table, where the JPA cascade would delete the rows one by one
+    private void deleteTeams(List<String> teamIds) {
+        if (teamIds.isEmpty()) {
+            return;
+        }
+        userStoryRepository.deleteComponentLinksByTeamIds(teamIds);
+        userStoryRepository.deleteByTeamIds(teamIds);
+        componentRepository.deleteByTeamIds(teamIds);
+        teamRepository.deleteByIdIn(teamIds);
+    }
+
+    // Children are only found under the release and team that own them. Anything else is a 404, so the
+    // precondition, revision, history and change events of a child write all belong to the owning release.
+
+    private Optional<Team> findTeam(String releaseId, String teamId) {
+        return teamRepository.findById(teamId).filter(team -> ownedBy(releaseId, team));
+    }
+
+    private Optional<Component> findComponent(String releaseId, String teamId, String componentId) {
+        return componentRepository.findById(componentId)
+                .filter(component -> component.getTeam() != null && component.getTeam().getId().equals(teamId)
+                        && ownedBy(releaseId, component.getTeam()));
+    }
+
+    private Optional<UserStory> findUserStory(String releaseId, String teamId, String storyId) {
+        return userStoryRepository.findById(storyId)
+                .filter(story -> story.getTeam() != null && story.getTeam().getId().equals(teamId)
+                        && ownedBy(releaseId, story.getTeam()));
+    }
+
+    private static boolean ownedBy(String releaseId, Team team) {
+        return team.getRelease() != null && team.getRelease().getId().equals(releaseId);
+    }
+
+    private static <E extends Enum<E> & LabelledStatus> E requireStatus(Class<E> type, String value) {
+        try {
+            return LabelledStatus.parse(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Releases, teams, components and user stories carry a @Version lockVersion, so a JPA write based on a row
+    // another request has changed since it was read fails here instead of overwriting that change
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrentModification(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "The record was modified by another request; reload and try again"));
+    }
+
+    // A request racing another one to queue the same notification; repeating it finds the queued row and skips it
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateNotification(DuplicateKeyException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "A concurrent request queued the same notification; try again"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.releaseportal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkScanResult {
+    private int received;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private List<ScanOutcome> outcomes = new ArrayList<>();
+    // Set when the body could not be read to the end; records from stoppedAt on were not applied
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer stoppedAt;
+
+    public void add(ScanOutcome outcome) {
+        outcomes.add(outcome);
+        received++;
+        switch (outcome.getOutcome()) {
+            case ScanOutcome.UPDATED -> updated++;
+            case ScanOutcome.UNCHANGED -> unchanged++;
+            default -> rejected++;
+        }
+    }
+
+    public void stop(String error) {
+        this.error = error;
+        this.stoppedAt = received;
+    }
+}
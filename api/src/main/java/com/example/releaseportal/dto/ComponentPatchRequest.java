@@ -0,0 +1,13 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+
+/** Scan results to change on a component; absent fields are left as they are. */
+@Data
+public class ComponentPatchRequest {
+    private String sonarQube;
+    private String nexusIq;
+    private String checkmarx;
+    // When given, the update only applies if the row still has this version
+    private Long lockVersion;
+}
@@ -0,0 +1,16 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ScanStatus;
+import lombok.Data;
+
+/** Query parameters of {@code GET /api/components/search}; every filter is optional. */
+@Data
+public class ComponentSearchCriteria {
+    private ScanStatus sonarQube;
+    private ScanStatus nexusIq;
+    private ScanStatus checkmarx;
+    // Matches components where at least one of the three scans has this status
+    private ScanStatus anyScan;
+    private String releaseId;
+    private String teamId;
+}
@@ -0,0 +1,34 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.Team;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A component search hit with the team and release it belongs to. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentSearchResult {
+    private String id;
+    private String name;
+    private String version;
+    private ScanStatus sonarQube;
+    private ScanStatus nexusIq;
+    private ScanStatus checkmarx;
+    private String teamId;
+    private String teamName;
+    private String releaseId;
+    private String releaseName;
+
+    public static ComponentSearchResult from(Component component) {
+        Team team = component.getTeam();
+        return new ComponentSearchResult(component.getId(), component.getName(), component.getVersion(),
+                component.getSonarQube(), component.getNexusIq(), component.getCheckmarx(),
+                team == null ? null : team.getId(), team == null ? null : team.getName(),
+                team == null || team.getRelease() == null ? null : team.getRelease().getId(),
+                team == null || team.getRelease() == null ? null : team.getRelease().getName());
+    }
+}
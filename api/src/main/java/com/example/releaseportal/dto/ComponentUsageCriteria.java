@@ -0,0 +1,24 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ScanStatus;
+import lombok.Data;
+
+/**
+ * Query parameters of {@code GET /api/components/where-used}. Needs a component name, a scan filter
+ * or both; version filters apply to the named component.
+ */
+@Data
+public class ComponentUsageCriteria {
+    // Matched case-insensitively against the whole name
+    private String name;
+    // Exact ("1.2.3") or a prefix ("1.2.x", "1.2.*")
+    private String version;
+    private String minVersion;
+    private String maxVersion;
+    private ScanStatus sonarQube;
+    private ScanStatus nexusIq;
+    private ScanStatus checkmarx;
+    // Matches components where at least one of the three scans has this status
+    private ScanStatus anyScan;
+    private int limit = 500;
+}
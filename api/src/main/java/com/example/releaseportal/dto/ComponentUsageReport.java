@@ -0,0 +1,105 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.model.Team;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answer of {@code GET /api/components/where-used}: the matching components grouped by the release
+ * and team that ship them, each with the user stories linked to it.
+ */
+@Data
+@NoArgsConstructor
+public class ComponentUsageReport {
+    private List<ReleaseUsage> releases = new ArrayList<>();
+    private int components;
+    // More components matched than the limit; narrow the query to see the rest
+    private boolean truncated;
+
+    @Data
+    @NoArgsConstructor
+    public static class ReleaseUsage {
+        private String id;
+        private String name;
+        private String version;
+        private String releaseDate;
+        private ReleaseStatus status;
+        private SignOffStatus overallAppOwnerSignedOff;
+        private List<TeamUsage> teams = new ArrayList<>();
+
+        public static ReleaseUsage from(Release release) {
+            ReleaseUsage usage = new ReleaseUsage();
+            if (release != null) {
+                usage.setId(release.getId());
+                usage.setName(release.getName());
+                usage.setVersion(release.getVersion());
+                usage.setReleaseDate(release.getReleaseDate());
+                usage.setStatus(release.getStatus());
+                usage.setOverallAppOwnerSignedOff(release.getOverallAppOwnerSignedOff());
+            }
+            return usage;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class TeamUsage {
+        private String id;
+        private String name;
+        private List<ComponentUsage> components = new ArrayList<>();
+
+        public static TeamUsage from(Team team) {
+            TeamUsage usage = new TeamUsage();
+            usage.setId(team.getId());
+            usage.setName(team.getName());
+            return usage;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class ComponentUsage {
+        private String id;
+        private String name;
+        private String version;
+        private ScanStatus sonarQube;
+        private ScanStatus nexusIq;
+        private ScanStatus checkmarx;
+        private List<LinkedUserStory> userStories = new ArrayList<>();
+
+        public static ComponentUsage from(Component component, List<LinkedUserStory> userStories) {
+            ComponentUsage usage = new ComponentUsage();
+            usage.setId(component.getId());
+            usage.setName(component.getName());
+            usage.setVersion(component.getVersion());
+            usage.setSonarQube(component.getSonarQube());
+            usage.setNexusIq(component.getNexusIq());
+            usage.setCheckmarx(component.getCheckmarx());
+            usage.setUserStories(userStories);
+            return usage;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class LinkedUserStory {
+        private String id;
+        private String description;
+        private QaStatus qaStatus;
+
+        public LinkedUserStory(String id, String description, QaStatus qaStatus) {
+            this.id = id;
+            this.description = description;
+            this.qaStatus = qaStatus;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.releaseportal.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * One line of a release-graph import file, in the record format written by the export:
+ * {@code type} is release, team, component, userStory or storyComponent and decides which
+ * of the other fields apply.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportRecord {
+    private String type;
+    private String id;
+    private String releaseId;
+    private String teamId;
+    private String name;
+    private String version;
+    private String releaseDate;
+    private String status;
+    private String overallAppOwnerSignedOff;
+    private String teamDl;
+    private String productOwner;
+    private String qaSignedOff;
+    private String appOwnerSignedOff;
+    private String sonarQube;
+    private String nexusIq;
+    private String checkmarx;
+    private String description;
+    private String qaStatus;
+    private String userStoryId;
+    private String componentId;
+}
@@ -0,0 +1,21 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportResult {
+    private long releases;
+    private long teams;
+    private long components;
+    private long userStories;
+    private long storyComponents;
+    private long records;
+    private long elapsedMillis;
+    private long recordsPerSecond;
+
+    public void finish(long elapsedNanos) {
+        records = releases + teams + components + userStories + storyComponents;
+        elapsedMillis = elapsedNanos / 1_000_000;
+        recordsPerSecond = elapsedNanos == 0 ? records : records * 1_000_000_000L / elapsedNanos;
+    }
+}
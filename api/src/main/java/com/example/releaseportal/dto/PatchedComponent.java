@@ -0,0 +1,17 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ScanStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** The component's scan results after a partial update. */
+@Data
+@AllArgsConstructor
+public class PatchedComponent {
+    private String id;
+    private String teamId;
+    private ScanStatus sonarQube;
+    private ScanStatus nexusIq;
+    private ScanStatus checkmarx;
+    private long lockVersion;
+}
@@ -0,0 +1,19 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** The release row after a partial update, without its teams. */
+@Data
+@AllArgsConstructor
+public class PatchedRelease {
+    private String id;
+    private String name;
+    private String version;
+    private String releaseDate;
+    private ReleaseStatus status;
+    private SignOffStatus overallAppOwnerSignedOff;
+    private long lockVersion;
+}
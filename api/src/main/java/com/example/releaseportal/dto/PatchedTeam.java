@@ -0,0 +1,16 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.SignOffStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** The team's sign-offs after a partial update, without its components and stories. */
+@Data
+@AllArgsConstructor
+public class PatchedTeam {
+    private String id;
+    private String releaseId;
+    private SignOffStatus qaSignedOff;
+    private SignOffStatus appOwnerSignedOff;
+    private long lockVersion;
+}
@@ -0,0 +1,15 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.QaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** The user story's QA status after a partial update, without its components. */
+@Data
+@AllArgsConstructor
+public class PatchedUserStory {
+    private String id;
+    private String teamId;
+    private QaStatus qaStatus;
+    private long lockVersion;
+}
@@ -0,0 +1,16 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ReleaseReadiness;
+import com.example.releaseportal.model.TeamReadiness;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReadinessReport {
+    @JsonUnwrapped
+    private ReleaseReadiness release;
+    private List<TeamReadiness> teams;
+}
@@ -0,0 +1,63 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A field-level change inside one release graph. Published by every write endpoint and
+ * pushed as-is to change-stream subscribers.
+ */
+@Data
+@NoArgsConstructor
+public class ReleaseChangeEvent {
+    public static final String RELEASE = "release";
+    public static final String TEAM = "team";
+    public static final String COMPONENT = "component";
+    public static final String USER_STORY = "userStory";
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    private String releaseId;
+    private long revision;
+    private Instant at;
+    private String entityType;
+    private String entityId;
+    // Owning team for components and stories, owning release for teams
+    private String parentId;
+    private String action;
+    private String field;
+    // New field value for updates, the whole new entity for creates
+    private Object value;
+
+    public static ReleaseChangeEvent updated(String entityType, String entityId, String field, Object value) {
+        ReleaseChangeEvent event = of(entityType, entityId, UPDATED);
+        event.setField(field);
+        event.setValue(value);
+        return event;
+    }
+
+    public static ReleaseChangeEvent created(String entityType, String entityId, String parentId, Object entity) {
+        ReleaseChangeEvent event = of(entityType, entityId, CREATED);
+        event.setParentId(parentId);
+        event.setValue(entity);
+        return event;
+    }
+
+    public static ReleaseChangeEvent deleted(String entityType, String entityId, String parentId) {
+        ReleaseChangeEvent event = of(entityType, entityId, DELETED);
+        event.setParentId(parentId);
+        return event;
+    }
+
+    private static ReleaseChangeEvent of(String entityType, String entityId, String action) {
+        ReleaseChangeEvent event = new ReleaseChangeEvent();
+        event.setEntityType(entityType);
+        event.setEntityId(entityId);
+        event.setAction(action);
+        return event;
+    }
+}
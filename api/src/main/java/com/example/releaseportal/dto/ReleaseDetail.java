@@ -0,0 +1,122 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.model.Team;
+import com.example.releaseportal.model.UserStory;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Detached copy of a release graph as rendered by {@code GET /api/releases/{id}}.
+ * Serializes to the same JSON as the entities, but holds no session state, so it can be cached.
+ */
+@Data
+@NoArgsConstructor
+public class ReleaseDetail {
+    private String id;
+    private String name;
+    private String version;
+    private String releaseDate;
+    private ReleaseStatus status;
+    private SignOffStatus overallAppOwnerSignedOff;
+    // Absent from past states read with asOf, which cannot be written back
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long lockVersion;
+    private List<TeamDetail> teams;
+
+    public static ReleaseDetail from(Release release) {
+        ReleaseDetail detail = new ReleaseDetail();
+        detail.setId(release.getId());
+        detail.setName(release.getName());
+        detail.setVersion(release.getVersion());
+        detail.setReleaseDate(release.getReleaseDate());
+        detail.setStatus(release.getStatus());
+        detail.setOverallAppOwnerSignedOff(release.getOverallAppOwnerSignedOff());
+        detail.setLockVersion(release.getLockVersion());
+        detail.setTeams(release.getTeams().stream().map(TeamDetail::from).toList());
+        return detail;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class TeamDetail {
+        private String id;
+        private String name;
+        private String teamDl;
+        private String productOwner;
+        private SignOffStatus qaSignedOff;
+        private SignOffStatus appOwnerSignedOff;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long lockVersion;
+        private List<ComponentDetail> components;
+        private List<UserStoryDetail> userStories;
+
+        public static TeamDetail from(Team team) {
+            TeamDetail detail = new TeamDetail();
+            detail.setId(team.getId());
+            detail.setName(team.getName());
+            detail.setTeamDl(team.getTeamDl());
+            detail.setProductOwner(team.getProductOwner());
+            detail.setQaSignedOff(team.getQaSignedOff());
+            detail.setAppOwnerSignedOff(team.getAppOwnerSignedOff());
+            detail.setLockVersion(team.getLockVersion());
+            detail.setComponents(team.getComponents().stream().map(ComponentDetail::from).toList());
+            detail.setUserStories(team.getUserStories().stream().map(UserStoryDetail::from).toList());
+            return detail;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class ComponentDetail {
+        private String id;
+        private String name;
+        private String version;
+        private ScanStatus sonarQube;
+        private ScanStatus nexusIq;
+        private ScanStatus checkmarx;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long lockVersion;
+
+        public static ComponentDetail from(Component component) {
+            ComponentDetail detail = new ComponentDetail();
+            detail.setId(component.getId());
+            detail.setName(component.getName());
+            detail.setVersion(component.getVersion());
+            detail.setSonarQube(component.getSonarQube());
+            detail.setNexusIq(component.getNexusIq());
+            detail.setCheckmarx(component.getCheckmarx());
+            detail.setLockVersion(component.getLockVersion());
+            return detail;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class UserStoryDetail {
+        private String id;
+        private String description;
+        private QaStatus qaStatus;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long lockVersion;
+        private List<ComponentDetail> components;
+
+        public static UserStoryDetail from(UserStory story) {
+            UserStoryDetail detail = new UserStoryDetail();
+            detail.setId(story.getId());
+            detail.setDescription(story.getDescription());
+            detail.setQaStatus(story.getQaStatus());
+            detail.setLockVersion(story.getLockVersion());
+            detail.setComponents(story.getComponents().stream().map(ComponentDetail::from).toList());
+            return detail;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+
+/** Fields to change on a release; absent fields are left as they are. */
+@Data
+public class ReleasePatchRequest {
+    private String name;
+    private String version;
+    private String releaseDate;
+    private String status;
+    private String overallAppOwnerSignedOff;
+    // When given, the update only applies if the row still has this version
+    private Long lockVersion;
+}
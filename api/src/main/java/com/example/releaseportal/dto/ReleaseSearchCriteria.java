@@ -0,0 +1,20 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Query parameters of {@code GET /api/releases/search}; every filter is optional. */
+@Data
+public class ReleaseSearchCriteria {
+    private List<ReleaseStatus> status;
+    private SignOffStatus overallAppOwnerSignedOff;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate releasedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate releasedTo;
+}
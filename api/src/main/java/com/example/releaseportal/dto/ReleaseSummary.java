@@ -0,0 +1,31 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat, association-free view of a release used by the dashboard list.
+ * Built directly by {@code ReleaseRepository} from the release row and its readiness aggregate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleaseSummary {
+    private String id;
+    private String name;
+    private String version;
+    private String releaseDate;
+    private ReleaseStatus status;
+    private SignOffStatus overallAppOwnerSignedOff;
+    private long teamCount;
+    private long scansPassed;
+    private long scansFailed;
+    private long scansPending;
+    private long qaPassed;
+    private long qaFailed;
+    private long qaInProgress;
+    private long qaPending;
+}
@@ -0,0 +1,13 @@
+package com.example.releaseportal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReleaseSummaryPage {
+    private List<ReleaseSummary> items;
+    // Opaque keyset cursor for the next page, null when this is the last page
+    private String nextCursor;
+}
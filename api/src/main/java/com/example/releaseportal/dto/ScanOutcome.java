@@ -0,0 +1,18 @@
+package com.example.releaseportal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ScanOutcome {
+    public static final String UPDATED = "updated";
+    public static final String UNCHANGED = "unchanged";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID = "invalid";
+
+    // Position of the record in the submitted array
+    private int index;
+    private String componentId;
+    private String outcome;
+}
@@ -0,0 +1,10 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+
+@Data
+public class ScanResultRecord {
+    private String componentId;
+    private String scanType; // 'sonarQube', 'nexusIq', 'checkmarx'
+    private String status; // 'Pending', 'Passed', 'Failed'
+}
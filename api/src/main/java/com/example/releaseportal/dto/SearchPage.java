@@ -0,0 +1,33 @@
+package com.example.releaseportal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/** One page of search results; page numbers start at 0. */
+@Data
+@AllArgsConstructor
+public class SearchPage<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    // A text search matched more stories than are ranked; the totals and pages cover the best matches only
+    private boolean truncated;
+
+    public static <E, T> SearchPage<T> of(Page<E> page, Function<E, T> mapper) {
+        return of(page, page.getContent().stream().map(mapper).toList());
+    }
+
+    public static <T> SearchPage<T> of(Page<?> page, List<T> items) {
+        return of(page, items, false);
+    }
+
+    public static <T> SearchPage<T> of(Page<?> page, List<T> items, boolean truncated) {
+        return new SearchPage<>(items, page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), truncated);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+
+/** Sign-offs to change on a team; absent fields are left as they are. */
+@Data
+public class TeamPatchRequest {
+    private String qaSignedOff;
+    private String appOwnerSignedOff;
+    // When given, the update only applies if the row still has this version
+    private Long lockVersion;
+}
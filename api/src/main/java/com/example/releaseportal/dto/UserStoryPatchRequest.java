@@ -0,0 +1,11 @@
+package com.example.releaseportal.dto;
+
+import lombok.Data;
+
+/** QA status to set on a user story. */
+@Data
+public class UserStoryPatchRequest {
+    private String qaStatus;
+    // When given, the update only applies if the row still has this version
+    private Long lockVersion;
+}
@@ -0,0 +1,17 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.QaStatus;
+import lombok.Data;
+
+import java.util.List;
+
+/** Query parameters of {@code GET /api/user-stories/search}; every filter is optional. */
+@Data
+public class UserStorySearchCriteria {
+    // Free text matched against descriptions; results are then ordered by relevance
+    private String q;
+    private List<QaStatus> qaStatus;
+    private String releaseId;
+    private String teamId;
+    private String componentId;
+}
@@ -0,0 +1,38 @@
+package com.example.releaseportal.dto;
+
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.Team;
+import com.example.releaseportal.model.UserStory;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A user story search hit with the team and release it belongs to. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStorySearchResult {
+    private String id;
+    private String description;
+    private QaStatus qaStatus;
+    private String teamId;
+    private String teamName;
+    private String releaseId;
+    private String releaseName;
+    // Relevance for free-text searches, absent otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double score;
+
+    public static UserStorySearchResult from(UserStory story) {
+        return from(story, null);
+    }
+
+    public static UserStorySearchResult from(UserStory story, Double score) {
+        Team team = story.getTeam();
+        return new UserStorySearchResult(story.getId(), story.getDescription(), story.getQaStatus(),
+                team == null ? null : team.getId(), team == null ? null : team.getName(),
+                team == null || team.getRelease() == null ? null : team.getRelease().getId(),
+                team == null || team.getRelease() == null ? null : team.getRelease().getName(), score);
+    }
+}
@@ -9,14 +9,26 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_component_sonar_qube", columnList = "sonarQube"),
+        @Index(name = "idx_component_nexus_iq", columnList = "nexusIq"),
+        @Index(name = "idx_component_checkmarx", columnList = "checkmarx")
+})
 public class Component {
     @Id
     private String id;
     private String name;
     private String version;
-    private String sonarQube; // 'Pending', 'Passed', 'Failed'
-    private String nexusIq; // 'Pending', 'Passed', 'Failed'
-    private String checkmarx; // 'Pending', 'Passed', 'Failed'
+    @Column(length = 16)
+    private ScanStatus sonarQube;
+    @Column(length = 16)
+    private ScanStatus nexusIq;
+    @Column(length = 16)
+    private ScanStatus checkmarx;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long lockVersion;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
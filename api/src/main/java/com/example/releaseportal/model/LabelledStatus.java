@@ -0,0 +1,27 @@
+package com.example.releaseportal.model;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A status enum whose wire and column value is a display label such as {@code "In Progress"}.
+ * Labels are what the UI, the seed migration and existing rows already use, so typing the fields did not
+ * require a data migration.
+ */
+public interface LabelledStatus {
+
+    String getLabel();
+
+    /** Accepts the label or the constant name, ignoring case; anything else is rejected. */
+    static <E extends Enum<E> & LabelledStatus> E parse(Class<E> type, String value) {
+        if (value != null) {
+            for (E constant : type.getEnumConstants()) {
+                if (constant.getLabel().equalsIgnoreCase(value) || constant.name().equalsIgnoreCase(value)) {
+                    return constant;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " '" + value + "', expected one of "
+                + Arrays.stream(type.getEnumConstants()).map(LabelledStatus::getLabel).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.AttributeConverter;
+
+/** Stores a {@link LabelledStatus} by its label. */
+public abstract class LabelledStatusConverter<E extends Enum<E> & LabelledStatus> implements AttributeConverter<E, String> {
+
+    private final Class<E> type;
+
+    protected LabelledStatusConverter(Class<E> type) {
+        this.type = type;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(E status) {
+        return status == null ? null : status.getLabel();
+    }
+
+    @Override
+    public E convertToEntityAttribute(String label) {
+        return label == null ? null : LabelledStatus.parse(type, label);
+    }
+}
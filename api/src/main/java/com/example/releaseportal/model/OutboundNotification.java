@@ -0,0 +1,55 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A notification waiting in (or already drained from) the transactional outbox.
+ * Rows are written in the same transaction as the change that triggers them and
+ * delivered later by {@code NotificationDispatcher}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_due", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_outbox_dedupe", columnList = "releaseId, recipient, kind"),
+        @Index(name = "uk_outbox_pending", columnList = "pendingKey", unique = true)
+})
+public class OutboundNotification {
+    public static final String PENDING = "Pending";
+    public static final String SENT = "Sent";
+    public static final String FAILED = "Failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String releaseId;
+    private String kind; // 'approval'
+    private String recipient;
+    private String subject;
+
+    @Column(length = 2048)
+    private String body;
+
+    private String status; // 'Pending', 'Sent', 'Failed'
+    private int attempts;
+    private Instant createdAt;
+    private Instant nextAttemptAt;
+    private Instant sentAt;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    // Set while the row is pending and cleared once it settles; unique, so a recipient has at most one
+    // pending notification of a kind per release
+    @Column(length = 767)
+    private String pendingKey;
+
+    public static String pendingKey(String releaseId, String kind, String recipient) {
+        return releaseId + "|" + kind + "|" + recipient;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.releaseportal.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.Converter;
+
+/** QA state of a user story. */
+public enum QaStatus implements LabelledStatus {
+    PENDING("Pending"),
+    IN_PROGRESS("In Progress"),
+    PASSED("Passed"),
+    FAILED("Failed");
+
+    private final String label;
+
+    QaStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    @JsonCreator
+    public static QaStatus fromLabel(String label) {
+        return LabelledStatus.parse(QaStatus.class, label);
+    }
+
+    @Converter(autoApply = true)
+    public static class JpaConverter extends LabelledStatusConverter<QaStatus> {
+        public JpaConverter() {
+            super(QaStatus.class);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+
+/**
+ * Scan and QA status counters shared by the team and release readiness aggregates.
+ * Each component contributes one count per scan (SonarQube, Nexus IQ, Checkmarx),
+ * each user story one count for its QA status.
+ */
+@Data
+@MappedSuperclass
+public abstract class ReadinessCounts {
+    private long scansPassed;
+    private long scansFailed;
+    private long scansPending;
+    private long qaPassed;
+    private long qaFailed;
+    private long qaInProgress;
+    private long qaPending;
+
+    public void add(ReadinessCounts other) {
+        scansPassed += other.scansPassed;
+        scansFailed += other.scansFailed;
+        scansPending += other.scansPending;
+        qaPassed += other.qaPassed;
+        qaFailed += other.qaFailed;
+        qaInProgress += other.qaInProgress;
+        qaPending += other.qaPending;
+    }
+
+    public void countScan(ScanStatus status, long amount) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case PASSED -> scansPassed += amount;
+            case FAILED -> scansFailed += amount;
+            case PENDING -> scansPending += amount;
+        }
+    }
+
+    public void countQa(QaStatus status, long amount) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case PASSED -> qaPassed += amount;
+            case FAILED -> qaFailed += amount;
+            case IN_PROGRESS -> qaInProgress += amount;
+            case PENDING -> qaPending += amount;
+        }
+    }
+
+    protected boolean allChecksPassed() {
+        return scansFailed == 0 && scansPending == 0 && qaFailed == 0 && qaInProgress == 0 && qaPending == 0;
+    }
+}
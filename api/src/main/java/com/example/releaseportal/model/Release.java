@@ -1,8 +1,11 @@
 package com.example.releaseportal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,16 +13,38 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "release")
+@Table(name = "release", indexes = {
+        @Index(name = "idx_release_status", columnList = "status"),
+        @Index(name = "idx_release_date", columnList = "releaseDate"),
+        @Index(name = "idx_release_overall_signoff", columnList = "overallAppOwnerSignedOff"),
+        @Index(name = "idx_release_revision", columnList = "revision")
+})
+@NamedEntityGraph(name = Release.WITH_TEAMS, attributeNodes = @NamedAttributeNode("teams"))
 public class Release {
+    public static final String WITH_TEAMS = "Release.withTeams";
+
     @Id
     private String id;
     private String name;
     private String version;
     private String releaseDate;
-    private String status; // 'In Progress', 'Completed', 'Blocked'
-    private String overallAppOwnerSignedOff; // 'Pending', 'Completed'
+    @Column(length = 16)
+    private ReleaseStatus status;
+    @Column(length = 16)
+    private SignOffStatus overallAppOwnerSignedOff;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long lockVersion;
+
+    // Release-level revision, bumped by ReleaseRevisionService whenever anything in the release graph changes.
+    // Written only through that service, never by entity flushes.
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    @JsonIgnore
+    private long revision;
 
-    @OneToMany(mappedBy = "release", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Lazy by default; endpoints that render teams load them through the WITH_TEAMS graph
+    @OneToMany(mappedBy = "release", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Team> teams = new ArrayList<>();
 }
\ No newline at end of file
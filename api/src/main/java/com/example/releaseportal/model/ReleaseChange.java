@@ -0,0 +1,31 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One committed write to a release graph in the append-only change history: the field-level
+ * changes it published, as a JSON array. Rows are only ever inserted, one per write, in the
+ * same transaction as the write; their ids give the order in which a release's writes committed.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "release_change", indexes = @Index(name = "idx_release_change_release", columnList = "releaseId, id"))
+public class ReleaseChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private String releaseId;
+    private long revision;
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    @Lob
+    @Column(nullable = false)
+    private String changes;
+}
@@ -0,0 +1,30 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incrementally maintained readiness counters for a release, kept in step with its
+ * teams, components and user stories by {@code ReadinessService}.
+ */
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Table(name = "release_readiness")
+public class ReleaseReadiness extends ReadinessCounts {
+    @Id
+    private String releaseId;
+    private long teamCount;
+    private long teamsQaSignedOff;
+    private long teamsAppOwnerSignedOff;
+    private SignOffStatus overallAppOwnerSignedOff;
+
+    public boolean isReady() {
+        return allChecksPassed()
+                && teamsQaSignedOff == teamCount
+                && teamsAppOwnerSignedOff == teamCount;
+    }
+}
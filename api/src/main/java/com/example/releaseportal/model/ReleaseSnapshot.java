@@ -0,0 +1,34 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The whole state of a release as of one point in its change history, stored as release-detail JSON.
+ * Past states are rebuilt from the nearest snapshot plus the changes recorded after
+ * {@code lastChangeId}, so a history read never replays more than one snapshot interval.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "release_snapshot", indexes = @Index(name = "idx_release_snapshot_release", columnList = "releaseId, id"))
+public class ReleaseSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private String releaseId;
+    // Last change folded into the state; 0 for a baseline taken before any change was recorded
+    private long lastChangeId;
+    private long revision;
+    // Time the state became current
+    @Column(nullable = false)
+    private Instant asOf;
+
+    @Lob
+    @Column(nullable = false)
+    private String state;
+}
@@ -0,0 +1,36 @@
+package com.example.releaseportal.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.Converter;
+
+/** Delivery state of a release. */
+public enum ReleaseStatus implements LabelledStatus {
+    IN_PROGRESS("In Progress"),
+    COMPLETED("Completed"),
+    BLOCKED("Blocked");
+
+    private final String label;
+
+    ReleaseStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    @JsonCreator
+    public static ReleaseStatus fromLabel(String label) {
+        return LabelledStatus.parse(ReleaseStatus.class, label);
+    }
+
+    @Converter(autoApply = true)
+    public static class JpaConverter extends LabelledStatusConverter<ReleaseStatus> {
+        public JpaConverter() {
+            super(ReleaseStatus.class);
+        }
+    }
+}
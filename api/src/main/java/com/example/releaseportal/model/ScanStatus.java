@@ -0,0 +1,36 @@
+package com.example.releaseportal.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.Converter;
+
+/** Outcome of a SonarQube, Nexus IQ or Checkmarx scan. */
+public enum ScanStatus implements LabelledStatus {
+    PENDING("Pending"),
+    PASSED("Passed"),
+    FAILED("Failed");
+
+    private final String label;
+
+    ScanStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    @JsonCreator
+    public static ScanStatus fromLabel(String label) {
+        return LabelledStatus.parse(ScanStatus.class, label);
+    }
+
+    @Converter(autoApply = true)
+    public static class JpaConverter extends LabelledStatusConverter<ScanStatus> {
+        public JpaConverter() {
+            super(ScanStatus.class);
+        }
+    }
+}
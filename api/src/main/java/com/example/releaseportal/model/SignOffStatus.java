@@ -0,0 +1,35 @@
+package com.example.releaseportal.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.Converter;
+
+/** State of a QA, app owner or overall sign-off. */
+public enum SignOffStatus implements LabelledStatus {
+    PENDING("Pending"),
+    COMPLETED("Completed");
+
+    private final String label;
+
+    SignOffStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    @JsonCreator
+    public static SignOffStatus fromLabel(String label) {
+        return LabelledStatus.parse(SignOffStatus.class, label);
+    }
+
+    @Converter(autoApply = true)
+    public static class JpaConverter extends LabelledStatusConverter<SignOffStatus> {
+        public JpaConverter() {
+            super(SignOffStatus.class);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,19 +13,35 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_team_qa_signoff", columnList = "qaSignedOff"),
+        @Index(name = "idx_team_app_owner_signoff", columnList = "appOwnerSignedOff")
+})
+@NamedEntityGraph(name = Team.WITH_COMPONENTS, attributeNodes = @NamedAttributeNode("components"))
 public class Team {
+    public static final String WITH_COMPONENTS = "Team.withComponents";
+
     @Id
     private String id;
     private String name;
     private String teamDl;
     private String productOwner;
-    private String qaSignedOff; // 'Pending', 'Completed'
-    private String appOwnerSignedOff; // 'Pending', 'Completed'
+    @Column(length = 16)
+    private SignOffStatus qaSignedOff;
+    @Column(length = 16)
+    private SignOffStatus appOwnerSignedOff;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long lockVersion;
 
-    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Subselect fetching loads the collection for every team of the same query in one statement
+    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Component> components = new ArrayList<>();
 
-    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<UserStory> userStories = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,23 @@
+package com.example.releaseportal.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Table(name = "team_readiness", indexes = @Index(name = "idx_team_readiness_release", columnList = "releaseId"))
+public class TeamReadiness extends ReadinessCounts {
+    @Id
+    private String teamId;
+    private String releaseId;
+    private SignOffStatus qaSignedOff;
+    private SignOffStatus appOwnerSignedOff;
+
+    public boolean isReady() {
+        return allChecksPassed() && qaSignedOff == SignOffStatus.COMPLETED && appOwnerSignedOff == SignOffStatus.COMPLETED;
+    }
+}
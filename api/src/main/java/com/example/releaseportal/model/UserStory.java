@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +13,7 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
+@Table(indexes = @Index(name = "idx_user_story_qa_status", columnList = "qaStatus"))
 public class UserStory {
     @Id
     private String id;
@@ -18,17 +21,25 @@ public class UserStory {
     @Column(length = 1024)
     private String description;
     
-    private String qaStatus; // 'Pending', 'In Progress', 'Passed', 'Failed'
+    @Column(length = 16)
+    private QaStatus qaStatus;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long lockVersion;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     @JsonIgnore
     private Team team;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinTable(
       name = "user_story_component", 
       joinColumns = @JoinColumn(name = "user_story_id"), 
-      inverseJoinColumns = @JoinColumn(name = "component_id"))
+      inverseJoinColumns = @JoinColumn(name = "component_id"),
+      // Reverse lookups go from a component to its stories
+      indexes = @Index(name = "idx_user_story_component_component", columnList = "component_id"))
     private List<Component> components = new ArrayList<>();
 }
\ No newline at end of file
@@ -1,9 +1,38 @@
 package com.example.releaseportal.repository;
 
 import com.example.releaseportal.model.Component;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ComponentRepository extends JpaRepository<Component, String> {
+public interface ComponentRepository extends JpaRepository<Component, String>, JpaSpecificationExecutor<Component> {
+
+    // Search results show the owning team and release, so fetch them with the page
+    @Override
+    @EntityGraph(attributePaths = "team.release")
+    Page<Component> findAll(Specification<Component> spec, Pageable pageable);
+
+    // Rows of [componentId, teamId]
+    @Query("select c.id, c.team.id from Component c where c.team.id in :teamIds")
+    List<Object[]> findIdsByTeamIds(@Param("teamIds") Collection<String> teamIds);
+
+    // Rows of [teamId, sonarQube, nexusIq, checkmarx, count]
+    @Query("select c.team.id, c.sonarQube, c.nexusIq, c.checkmarx, count(c) from Component c "
+            + "where c.team.release.id in :releaseIds group by c.team.id, c.sonarQube, c.nexusIq, c.checkmarx")
+    List<Object[]> countScanStatusesByTeam(@Param("releaseIds") Collection<String> releaseIds);
+
+    @Modifying
+    @Query("delete from Component c where c.team.id in :teamIds")
+    int deleteByTeamIds(@Param("teamIds") Collection<String> teamIds);
 }
@@ -0,0 +1,40 @@
+package com.example.releaseportal.repository;
+
+import com.example.releaseportal.model.OutboundNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundNotificationRepository extends JpaRepository<OutboundNotification, Long> {
+
+    @Query("select n from OutboundNotification n where n.status = 'Pending' and n.nextAttemptAt <= :now order by n.id")
+    List<OutboundNotification> findDue(@Param("now") Instant now, Pageable pageable);
+
+    // Takes a due row for one delivery attempt by moving its next attempt to the end of the lease; 0 when
+    // another dispatcher took it first
+    @Modifying
+    @Query("update OutboundNotification n set n.nextAttemptAt = :leaseUntil "
+            + "where n.id = :id and n.status = 'Pending' and n.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    @Query("select n.recipient from OutboundNotification n where n.releaseId = :releaseId and n.kind = :kind "
+            + "and n.recipient in :recipients and (n.status = 'Pending' or n.createdAt >= :since)")
+    List<String> findRecentRecipients(@Param("releaseId") String releaseId,
+                                      @Param("kind") String kind,
+                                      @Param("recipients") Collection<String> recipients,
+                                      @Param("since") Instant since);
+
+    long countByStatus(String status);
+
+    @Modifying
+    @Query("delete from OutboundNotification n where n.status <> 'Pending' and n.createdAt < :before")
+    int deleteSettledBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,26 @@
+package com.example.releaseportal.repository;
+
+import com.example.releaseportal.model.ReleaseChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReleaseChangeRepository extends JpaRepository<ReleaseChange, Long> {
+
+    List<ReleaseChange> findByReleaseIdAndIdGreaterThanOrderById(String releaseId, long afterId);
+
+    List<ReleaseChange> findByReleaseIdAndIdGreaterThanAndChangedAtLessThanEqualOrderById(String releaseId, long afterId,
+                                                                                           Instant asOf);
+
+    long countByReleaseIdAndIdGreaterThan(String releaseId, long afterId);
+
+    // Rows of [releaseId, last change id]
+    @Query("select c.releaseId, max(c.id) from ReleaseChange c where c.releaseId in :releaseIds group by c.releaseId")
+    List<Object[]> findLastIds(@Param("releaseIds") Collection<String> releaseIds);
+}
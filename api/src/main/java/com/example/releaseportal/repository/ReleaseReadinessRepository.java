@@ -0,0 +1,43 @@
+package com.example.releaseportal.repository;
+
+import com.example.releaseportal.model.ReleaseReadiness;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.service.ReadinessDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReleaseReadinessRepository extends JpaRepository<ReleaseReadiness, String> {
+
+    String APPLY_DELTA = "update ReleaseReadiness r set "
+            + "r.scansPassed = r.scansPassed + :#{#d.scansPassed}, "
+            + "r.scansFailed = r.scansFailed + :#{#d.scansFailed}, "
+            + "r.scansPending = r.scansPending + :#{#d.scansPending}, "
+            + "r.qaPassed = r.qaPassed + :#{#d.qaPassed}, "
+            + "r.qaFailed = r.qaFailed + :#{#d.qaFailed}, "
+            + "r.qaInProgress = r.qaInProgress + :#{#d.qaInProgress}, "
+            + "r.qaPending = r.qaPending + :#{#d.qaPending}, "
+            + "r.teamCount = r.teamCount + :#{#d.teamCount}, "
+            + "r.teamsQaSignedOff = r.teamsQaSignedOff + :#{#d.teamsQaSignedOff}, "
+            + "r.teamsAppOwnerSignedOff = r.teamsAppOwnerSignedOff + :#{#d.teamsAppOwnerSignedOff} ";
+
+    @Modifying
+    @Query(APPLY_DELTA + "where r.releaseId = :releaseId")
+    int applyDelta(@Param("releaseId") String releaseId, @Param("d") ReadinessDelta delta);
+
+    @Modifying
+    @Query(APPLY_DELTA + "where r.releaseId = (select t.releaseId from TeamReadiness t where t.teamId = :teamId)")
+    int applyDeltaForTeam(@Param("teamId") String teamId, @Param("d") ReadinessDelta delta);
+
+    @Modifying
+    @Query("update ReleaseReadiness r set r.overallAppOwnerSignedOff = :status where r.releaseId = :releaseId")
+    int updateOverallAppOwnerSignedOff(@Param("releaseId") String releaseId, @Param("status") SignOffStatus status);
+
+    @Query("select r.id from Release r where not exists (select 1 from ReleaseReadiness x where x.releaseId = r.id)")
+    List<String> findReleaseIdsWithoutReadiness();
+}
@@ -1,9 +1,70 @@
 package com.example.releaseportal.repository;
 
+import com.example.releaseportal.dto.ReleaseSummary;
 import com.example.releaseportal.model.Release;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ReleaseRepository extends JpaRepository<Release, String> {
+public interface ReleaseRepository extends JpaRepository<Release, String>, JpaSpecificationExecutor<Release> {
+
+    @EntityGraph(Release.WITH_TEAMS)
+    Optional<Release> findWithTeamsById(String id);
+
+    @EntityGraph(Release.WITH_TEAMS)
+    List<Release> findWithTeamsByIdIn(Collection<String> ids);
+
+    @Query("select r.revision from Release r where r.id = :id")
+    Optional<Long> findRevisionById(@Param("id") String id);
+
+    @Query(value = "select revision from release where id = :id for update", nativeQuery = true)
+    Optional<Long> findRevisionForUpdateById(@Param("id") String id);
+
+    // A single row of [max revision, release count]
+    @Query("select max(r.revision), count(r) from Release r")
+    List<Object[]> findCollectionVersion();
+
+    @Query("select max(r.revision) from Release r")
+    Long findMaxRevision();
+
+    @Modifying
+    @Query("update Release r set r.revision = :revision where r.id = :id")
+    int updateRevision(@Param("id") String id, @Param("revision") long revision);
+
+    @EntityGraph(Release.WITH_TEAMS)
+    @Query("select r from Release r")
+    List<Release> findAllWithTeams();
+
+    // Counts come from the incrementally maintained readiness row, so a summary is one join per release
+    String SUMMARY_SELECT = "select new com.example.releaseportal.dto.ReleaseSummary("
+            + "r.id, r.name, r.version, r.releaseDate, r.status, r.overallAppOwnerSignedOff, "
+            + "coalesce(x.teamCount, 0), coalesce(x.scansPassed, 0), coalesce(x.scansFailed, 0), coalesce(x.scansPending, 0), "
+            + "coalesce(x.qaPassed, 0), coalesce(x.qaFailed, 0), coalesce(x.qaInProgress, 0), coalesce(x.qaPending, 0)"
+            + ") from Release r left join ReleaseReadiness x on x.releaseId = r.id ";
+
+    String SUMMARY_ORDER = " order by r.releaseDate desc nulls last, r.id desc";
+
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    List<ReleaseSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT
+            + "where r.releaseDate < :releaseDate or r.releaseDate is null "
+            + "or (r.releaseDate = :releaseDate and r.id < :id)" + SUMMARY_ORDER)
+    List<ReleaseSummary> findSummariesAfter(@Param("releaseDate") String releaseDate, @Param("id") String id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where r.releaseDate is null and r.id < :id" + SUMMARY_ORDER)
+    List<ReleaseSummary> findSummariesAfterUndated(@Param("id") String id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where r.id in :ids")
+    List<ReleaseSummary> findSummariesByIdIn(@Param("ids") Collection<String> ids);
 }
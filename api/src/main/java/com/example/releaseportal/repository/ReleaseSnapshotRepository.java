@@ -0,0 +1,21 @@
+package com.example.releaseportal.repository;
+
+import com.example.releaseportal.model.ReleaseSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReleaseSnapshotRepository extends JpaRepository<ReleaseSnapshot, Long> {
+
+    Optional<ReleaseSnapshot> findFirstByReleaseIdOrderByIdDesc(String releaseId);
+
+    Optional<ReleaseSnapshot> findFirstByReleaseIdAndAsOfLessThanEqualOrderByIdDesc(String releaseId, Instant asOf);
+
+    @Query("select r.id from Release r where not exists (select 1 from ReleaseSnapshot s where s.releaseId = r.id)")
+    List<String> findReleaseIdsWithoutSnapshot();
+}
@@ -0,0 +1,42 @@
+package com.example.releaseportal.repository;
+
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.model.TeamReadiness;
+import com.example.releaseportal.service.ReadinessDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TeamReadinessRepository extends JpaRepository<TeamReadiness, String> {
+
+    List<TeamReadiness> findByReleaseId(String releaseId);
+
+    @Modifying
+    @Query("update TeamReadiness t set "
+            + "t.scansPassed = t.scansPassed + :#{#d.scansPassed}, "
+            + "t.scansFailed = t.scansFailed + :#{#d.scansFailed}, "
+            + "t.scansPending = t.scansPending + :#{#d.scansPending}, "
+            + "t.qaPassed = t.qaPassed + :#{#d.qaPassed}, "
+            + "t.qaFailed = t.qaFailed + :#{#d.qaFailed}, "
+            + "t.qaInProgress = t.qaInProgress + :#{#d.qaInProgress}, "
+            + "t.qaPending = t.qaPending + :#{#d.qaPending} "
+            + "where t.teamId = :teamId")
+    int applyDelta(@Param("teamId") String teamId, @Param("d") ReadinessDelta delta);
+
+    @Modifying
+    @Query("update TeamReadiness t set t.qaSignedOff = :status where t.teamId = :teamId")
+    int updateQaSignedOff(@Param("teamId") String teamId, @Param("status") SignOffStatus status);
+
+    @Modifying
+    @Query("update TeamReadiness t set t.appOwnerSignedOff = :status where t.teamId = :teamId")
+    int updateAppOwnerSignedOff(@Param("teamId") String teamId, @Param("status") SignOffStatus status);
+
+    @Modifying
+    @Query("delete from TeamReadiness t where t.releaseId = :releaseId")
+    int deleteByReleaseId(@Param("releaseId") String releaseId);
+}
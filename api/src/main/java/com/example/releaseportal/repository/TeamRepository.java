@@ -1,9 +1,34 @@
 package com.example.releaseportal.repository;
 
 import com.example.releaseportal.model.Team;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TeamRepository extends JpaRepository<Team, String> {
+    List<Team> findByRelease_IdIn(Collection<String> releaseIds);
+
+    // User stories are a second bag, so they and their components follow by subselect rather than in the join
+    @EntityGraph(Team.WITH_COMPONENTS)
+    @Query("select t from Team t")
+    List<Team> findAllWithComponents();
+
+    // Rows of [teamDl, productOwner]
+    @Query("select t.teamDl, t.productOwner from Team t where t.release.id = :releaseId order by t.id")
+    List<Object[]> findContactsByReleaseId(@Param("releaseId") String releaseId);
+
+    @Query("select t.id from Team t where t.release.id = :releaseId")
+    List<String> findIdsByReleaseId(@Param("releaseId") String releaseId);
+
+    // Last of the bulk deletes that replace the cascade, so the persistence context drops the deleted rows
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Team t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
 }
@@ -1,12 +1,62 @@
 package com.example.releaseportal.repository;
 
 import com.example.releaseportal.model.UserStory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface UserStoryRepository extends JpaRepository<UserStory, String> {
+public interface UserStoryRepository extends JpaRepository<UserStory, String>, JpaSpecificationExecutor<UserStory> {
     List<UserStory> findByComponents_Id(String componentId);
-}
\ No newline at end of file
+
+    // Rows of [storyId, teamId]
+    @Query("select s.id, s.team.id from UserStory s where s.team.id in :teamIds")
+    List<Object[]> findIdsByTeamIds(@Param("teamIds") Collection<String> teamIds);
+
+    // Links of the given components as rows of [componentId, storyId, description, qaStatus]
+    @Query("select c.id, s.id, s.description, s.qaStatus from UserStory s join s.components c "
+            + "where c.id in :componentIds order by s.id")
+    List<Object[]> findLinksByComponentIds(@Param("componentIds") Collection<String> componentIds);
+
+    // Story-to-component links as rows of [storyId, componentId], without loading either entity
+    @Query("select s.id, c.id from UserStory s join s.components c where s.team.release.id in :releaseIds")
+    List<Object[]> findComponentLinksByReleaseIds(@Param("releaseIds") Collection<String> releaseIds);
+
+    @Query("select s.id, c.id from UserStory s join s.components c")
+    List<Object[]> findAllComponentLinks();
+
+    @Modifying
+    @Query(value = "delete from user_story_component where component_id = :componentId", nativeQuery = true)
+    int deleteComponentLinks(@Param("componentId") String componentId);
+
+    // Links of the teams' stories and links to the teams' components, whichever team the other side belongs to
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from user_story_component "
+            + "where user_story_id in (select id from user_story where team_id in (:teamIds)) "
+            + "or component_id in (select id from component where team_id in (:teamIds))", nativeQuery = true)
+    int deleteComponentLinksByTeamIds(@Param("teamIds") Collection<String> teamIds);
+
+    @Modifying
+    @Query("delete from UserStory s where s.team.id in :teamIds")
+    int deleteByTeamIds(@Param("teamIds") Collection<String> teamIds);
+
+    // Rows of [teamId, qaStatus, count]
+    @Query("select s.team.id, s.qaStatus, count(s) from UserStory s "
+            + "where s.team.release.id in :releaseIds group by s.team.id, s.qaStatus")
+    List<Object[]> countQaStatusesByTeam(@Param("releaseIds") Collection<String> releaseIds);
+
+    // Search results show the owning team and release, so fetch them with the page
+    @Override
+    @EntityGraph(attributePaths = "team.release")
+    Page<UserStory> findAll(Specification<UserStory> spec, Pageable pageable);
+}
@@ -0,0 +1,329 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process reverse index from component name and version to component ids.
+ * <p>
+ * Names are matched case-insensitively; the versions of each name are kept in version order, so a
+ * version prefix such as {@code 1.2.x} or a min/max range is one ordered scan over the versions of
+ * one name. The index is built from the database after startup and after bulk imports; until the
+ * first build has finished {@link #isReady()} is false and callers query the component table
+ * instead. Committed component creates, name/version edits and deletes are applied incrementally
+ * from the release change events, including the deletion events of components removed together
+ * with their team or release.
+ */
+@Service
+@Slf4j
+public class ComponentVersionIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, NavigableMap<ComponentVersion, Set<String>>> byName = new HashMap<>();
+    private final Map<String, Entry> byId = new HashMap<>();
+    private volatile boolean ready;
+
+    public ComponentVersionIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Ids of the components with the given name whose version matches, in version order. */
+    public List<String> find(String name, VersionFilter filter) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<ComponentVersion, Set<String>> versions = byName.get(key(name));
+            if (versions == null) {
+                return List.of();
+            }
+            NavigableMap<ComponentVersion, Set<String>> candidates = filter.from() == null ? versions
+                    : versions.tailMap(filter.from(), true);
+            List<String> ids = new ArrayList<>();
+            for (Map.Entry<ComponentVersion, Set<String>> entry : candidates.entrySet()) {
+                if (filter.isPast(entry.getKey())) {
+                    break;
+                }
+                if (filter.matches(entry.getKey())) {
+                    ids.addAll(entry.getValue());
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String componentId, String name, String version) {
+        lock.writeLock().lock();
+        try {
+            putLocked(componentId, name, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String componentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(componentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChange(ReleaseChangeEvent event) {
+        if (!ReleaseChangeEvent.COMPONENT.equals(event.getEntityType())) {
+            return;
+        }
+        switch (event.getAction()) {
+            case ReleaseChangeEvent.CREATED -> {
+                JsonNode component = (JsonNode) event.getValue();
+                if (component != null) {
+                    put(event.getEntityId(), component.path("name").asText(null), component.path("version").asText(null));
+                }
+            }
+            case ReleaseChangeEvent.UPDATED -> {
+                if ("name".equals(event.getField()) || "version".equals(event.getField())) {
+                    update(event.getEntityId(), event.getField(), (String) event.getValue());
+                }
+            }
+            case ReleaseChangeEvent.DELETED -> remove(event.getEntityId());
+            default -> {
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "component-version-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads every component's name and version. Changes committed meanwhile wait for the write lock
+     * and are applied on top of the reloaded entries.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        int components;
+        lock.writeLock().lock();
+        try {
+            byName.clear();
+            byId.clear();
+            jdbcTemplate.query("select id, name, version from component",
+                    rs -> {
+                        putLocked(rs.getString(1), rs.getString(2), rs.getString(3));
+                    });
+            components = byId.size();
+            ready = true;
+        } catch (RuntimeException e) {
+            ready = false;
+            log.error("Component version index rebuild failed; component lookups keep using the database", e);
+            return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} component versions in {} ms", components, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void update(String componentId, String field, String value) {
+        lock.writeLock().lock();
+        try {
+            Entry current = byId.get(componentId);
+            if (current == null) {
+                return;
+            }
+            if ("name".equals(field)) {
+                putLocked(componentId, value, current.version().raw());
+            } else {
+                putLocked(componentId, current.name(), value);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(String componentId, String name, String version) {
+        removeLocked(componentId);
+        if (name == null) {
+            return;
+        }
+        ComponentVersion parsed = ComponentVersion.parse(version);
+        byName.computeIfAbsent(key(name), k -> new TreeMap<>())
+                .computeIfAbsent(parsed, k -> new TreeSet<>())
+                .add(componentId);
+        byId.put(componentId, new Entry(name, parsed));
+    }
+
+    private void removeLocked(String componentId) {
+        Entry previous = byId.remove(componentId);
+        if (previous == null) {
+            return;
+        }
+        String name = key(previous.name());
+        NavigableMap<ComponentVersion, Set<String>> versions = byName.get(name);
+        Set<String> ids = versions.get(previous.version());
+        ids.remove(componentId);
+        if (ids.isEmpty()) {
+            versions.remove(previous.version());
+            if (versions.isEmpty()) {
+                byName.remove(name);
+            }
+        }
+    }
+
+    static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String name, ComponentVersion version) {
+    }
+
+    /**
+     * A version split into dot, dash, plus and underscore separated segments. Numeric segments compare
+     * numerically, other segments as text, and a version sorts before every longer version it is a
+     * prefix of, so {@code 1.2 < 1.2.0 < 1.2.3 < 1.10}.
+     */
+    public record ComponentVersion(String raw, List<String> segments) implements Comparable<ComponentVersion> {
+
+        public static ComponentVersion parse(String version) {
+            String raw = version == null ? "" : version.trim();
+            List<String> segments = new ArrayList<>();
+            for (String segment : raw.split("[.\\-+_]")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment.toLowerCase(Locale.ROOT));
+                }
+            }
+            return new ComponentVersion(raw, List.copyOf(segments));
+        }
+
+        boolean startsWith(List<String> prefix) {
+            return segments.size() >= prefix.size() && compareSegments(segments.subList(0, prefix.size()), prefix) == 0;
+        }
+
+        @Override
+        public int compareTo(ComponentVersion other) {
+            int bySegments = compareSegments(segments, other.segments);
+            // Distinct spellings of an equal version ("1.02" and "1.2") stay distinct entries
+            return bySegments != 0 ? bySegments : raw.compareTo(other.raw);
+        }
+
+        static int compareSegments(List<String> left, List<String> right) {
+            for (int i = 0; i < Math.min(left.size(), right.size()); i++) {
+                int bySegment = compareSegment(left.get(i), right.get(i));
+                if (bySegment != 0) {
+                    return bySegment;
+                }
+            }
+            return Integer.compare(left.size(), right.size());
+        }
+
+        private static int compareSegment(String left, String right) {
+            boolean leftNumeric = isNumeric(left);
+            boolean rightNumeric = isNumeric(right);
+            if (leftNumeric && rightNumeric) {
+                String a = stripLeadingZeros(left);
+                String b = stripLeadingZeros(right);
+                return a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b);
+            }
+            if (leftNumeric != rightNumeric) {
+                // Release segments sort after qualifiers such as "rc1" or "beta"
+                return leftNumeric ? 1 : -1;
+            }
+            return left.compareTo(right);
+        }
+
+        private static boolean isNumeric(String segment) {
+            return segment.chars().allMatch(Character::isDigit);
+        }
+
+        private static String stripLeadingZeros(String digits) {
+            int start = 0;
+            while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+                start++;
+            }
+            return digits.substring(start);
+        }
+    }
+
+    /**
+     * Which versions of a name match: an exact version, a prefix written as {@code 1.2.x} or {@code 1.2.*},
+     * and/or an inclusive min/max range. An empty filter matches every version.
+     */
+    public record VersionFilter(ComponentVersion exact, List<String> prefix, ComponentVersion min, ComponentVersion max) {
+
+        public static VersionFilter of(String version, String minVersion, String maxVersion) {
+            ComponentVersion exact = null;
+            List<String> prefix = null;
+            if (version != null && !version.isBlank()) {
+                String trimmed = version.trim();
+                if (trimmed.equals("*") || trimmed.equalsIgnoreCase("x")) {
+                    prefix = List.of();
+                } else if (trimmed.endsWith(".x") || trimmed.endsWith(".X") || trimmed.endsWith(".*")) {
+                    prefix = ComponentVersion.parse(trimmed.substring(0, trimmed.length() - 2)).segments();
+                } else {
+                    exact = ComponentVersion.parse(trimmed);
+                }
+            }
+            return new VersionFilter(exact, prefix,
+                    minVersion == null || minVersion.isBlank() ? null : ComponentVersion.parse(minVersion),
+                    maxVersion == null || maxVersion.isBlank() ? null : ComponentVersion.parse(maxVersion));
+        }
+
+        public boolean isEmpty() {
+            return exact == null && prefix == null && min == null && max == null;
+        }
+
+        public boolean matches(ComponentVersion version) {
+            return (exact == null || ComponentVersion.compareSegments(version.segments(), exact.segments()) == 0)
+                    && (prefix == null || version.startsWith(prefix))
+                    && (min == null || ComponentVersion.compareSegments(version.segments(), min.segments()) >= 0)
+                    && (max == null || ComponentVersion.compareSegments(version.segments(), max.segments()) <= 0);
+        }
+
+        // Lowest version that can match; the scan starts there
+        ComponentVersion from() {
+            List<String> lowest = exact != null ? exact.segments() : prefix;
+            if (min != null && (lowest == null || ComponentVersion.compareSegments(min.segments(), lowest) > 0)) {
+                lowest = min.segments();
+            }
+            return lowest == null ? null : new ComponentVersion("", lowest);
+        }
+
+        // True once no later version in order can match, so the scan can stop
+        boolean isPast(ComponentVersion version) {
+            if (exact != null && ComponentVersion.compareSegments(version.segments(), exact.segments()) > 0) {
+                return true;
+            }
+            if (prefix != null && ComponentVersion.compareSegments(version.segments(), prefix) > 0 && !version.startsWith(prefix)) {
+                return true;
+            }
+            return max != null && ComponentVersion.compareSegments(version.segments(), max.segments()) > 0;
+        }
+    }
+}
@@ -1,40 +1,106 @@
 package com.example.releaseportal.service;
 
+import com.example.releaseportal.model.OutboundNotification;
 import com.example.releaseportal.model.Release;
-import com.example.releaseportal.model.Team;
+import com.example.releaseportal.repository.OutboundNotificationRepository;
+import com.example.releaseportal.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Composes release notifications and queues them in the outbox. Nothing is sent on the
+ * request thread; {@link NotificationDispatcher} delivers the queued rows.
+ * <p>
+ * The rows of one notification go in as a single JDBC batch. A recipient is skipped when the outbox
+ * already holds a pending or recent notification for it; two requests racing past that check are
+ * stopped by the unique pending key, which fails the later transaction with a 409.
+ */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class EmailService {
 
-    public void sendApprovalNotification(Release release) {
-        log.info("--- Preparing Approval Email for Release: {} ---", release.getName());
-        Set<String> recipients = new HashSet<>();
+    public static final String APPROVAL = "approval";
+
+    private static final String INSERT = "insert into notification_outbox "
+            + "(release_id, kind, recipient, subject, body, status, attempts, created_at, next_attempt_at, pending_key) "
+            + "values (?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private final OutboundNotificationRepository outboxRepository;
+    private final TeamRepository teamRepository;
+    private final NotificationDispatcher dispatcher;
+    private final JdbcTemplate jdbcTemplate;
+
+    // A recipient already notified about a release within this window is not notified again
+    @Value("${notifications.dedupe-window:10m}")
+    private Duration dedupeWindow;
+
+    /** Queues the approval email for every recipient of the release; returns how many rows were queued. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int sendApprovalNotification(Release release) {
+        Set<String> recipients = new LinkedHashSet<>();
 
         // Add Release Manager email (hardcoded for demonstration)
         recipients.add("release.manager@example.com");
 
-        if (release.getTeams() != null) {
-            for (Team team : release.getTeams()) {
-                if (team.getTeamDl() != null && !team.getTeamDl().isEmpty()) {
-                    recipients.add(team.getTeamDl());
-                }
-                if (team.getProductOwner() != null && !team.getProductOwner().isEmpty()) {
-                    // Assuming product owner name can be converted to an email for this example
-                    String poEmail = team.getProductOwner().toLowerCase().replace(" ", ".") + "@example.com";
-                    recipients.add(poEmail);
-                }
+        // Read as plain columns, so the release's team collection stays unloaded for the response to fetch in one go
+        for (Object[] contacts : teamRepository.findContactsByReleaseId(release.getId())) {
+            String teamDl = (String) contacts[0];
+            String productOwner = (String) contacts[1];
+            if (teamDl != null && !teamDl.isEmpty()) {
+                recipients.add(teamDl);
+            }
+            if (productOwner != null && !productOwner.isEmpty()) {
+                // Assuming product owner name can be converted to an email for this example
+                String poEmail = productOwner.toLowerCase().replace(" ", ".") + "@example.com";
+                recipients.add(poEmail);
             }
         }
 
-        log.info("Recipients: {}", recipients);
-        log.info("Subject: Release {} ({}) has been Approved", release.getName(), release.getVersion());
-        log.info("Body: The release '{}' has received final approval from the Application Owner and is ready to proceed.", release.getName());
-        log.info("--- Email Simulation End ---");
+        Instant now = Instant.now();
+        Set<String> alreadyNotified = new HashSet<>(outboxRepository.findRecentRecipients(
+                release.getId(), APPROVAL, recipients, now.minus(dedupeWindow)));
+        String subject = String.format("Release %s (%s) has been Approved", release.getName(), release.getVersion());
+        String body = String.format("The release '%s' has received final approval from the Application Owner and is ready to proceed.",
+                release.getName());
+
+        OffsetDateTime queuedAt = now.atOffset(ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>();
+        for (String recipient : recipients) {
+            if (!alreadyNotified.contains(recipient)) {
+                rows.add(new Object[]{release.getId(), APPROVAL, recipient, subject, body, OutboundNotification.PENDING,
+                        queuedAt, queuedAt, OutboundNotification.pendingKey(release.getId(), APPROVAL, recipient)});
+            }
+        }
+        int queued = rows.size();
+        if (queued > 0) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.countQueued(queued);
+                }
+            });
+        }
+        log.info("Queued {} approval notifications for release {} ({} deduplicated)",
+                queued, release.getName(), recipients.size() - queued);
+        return queued;
     }
 }
@@ -0,0 +1,45 @@
+package com.example.releaseportal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Builds primary keys for new releases, teams, components and user stories.
+ * <p>
+ * Keys keep the readable prefixes existing rows already use (a name slug, the owning team id,
+ * {@code US-}) and only replace the old millisecond suffix with an {@link IdGenerator} value,
+ * so stored keys and URLs stay valid and no data migration is needed.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityIds {
+
+    private final IdGenerator idGenerator;
+
+    public String forRelease(String name) {
+        return slug(name) + "-" + lowerCaseId();
+    }
+
+    public String forTeam(String name) {
+        return slug(name) + "-" + lowerCaseId();
+    }
+
+    public String forComponent(String teamId) {
+        return teamId + "-component-" + lowerCaseId();
+    }
+
+    public String forUserStory() {
+        return "US-" + idGenerator.nextId();
+    }
+
+    // Slug-style keys are lower case throughout; Crockford base32 sorts the same in either case
+    private String lowerCaseId() {
+        return idGenerator.nextId().toLowerCase(Locale.ROOT);
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase().replace(" ", "-");
+    }
+}
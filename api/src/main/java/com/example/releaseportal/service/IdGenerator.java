@@ -0,0 +1,11 @@
+package com.example.releaseportal.service;
+
+/**
+ * Source of primary-key suffixes for new rows. Implementations must be thread-safe and return
+ * identifiers that sort in creation order as plain strings, so new keys land at the end of the
+ * primary-key index rather than scattering across it.
+ */
+public interface IdGenerator {
+
+    String nextId();
+}
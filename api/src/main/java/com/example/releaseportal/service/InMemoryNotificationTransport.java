@@ -0,0 +1,28 @@
+package com.example.releaseportal.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Keeps delivered messages in memory; used for local runs and tests that assert on what was sent. */
+@Service
+@ConditionalOnProperty(name = "notifications.transport", havingValue = "memory")
+public class InMemoryNotificationTransport implements NotificationTransport {
+
+    private final List<OutboundEmail> sent = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(OutboundEmail email) {
+        sent.add(email);
+    }
+
+    public List<OutboundEmail> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.releaseportal.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/** Default transport: writes each message to the application log in place of a mail gateway. */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "notifications.transport", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationTransport implements NotificationTransport {
+
+    @Override
+    public void send(OutboundEmail email) {
+        log.info("--- Email to {} ---", email.getRecipient());
+        log.info("Subject: {}", email.getSubject());
+        log.info("Body: {}", email.getBody());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.releaseportal.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * ULID-style identifiers: 26 Crockford base32 characters encoding a 128-bit value laid out as
+ * 48 bits of Unix milliseconds, a 16-bit sequence within the millisecond and a 64-bit node id.
+ * <p>
+ * Timestamp and sequence share one {@link AtomicLong} updated by compare-and-set, so IDs are
+ * strictly increasing within the process without locking; a burst of more than 65,536 IDs in one
+ * millisecond, or a clock step backwards, simply borrows from the next millisecond. The node id is
+ * random per process unless {@code ids.node-id} is set, which keeps concurrent instances apart.
+ */
+@Component
+public class MonotonicIdGenerator implements IdGenerator {
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int SEQUENCE_BITS = 16;
+
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    @Autowired
+    public MonotonicIdGenerator(@Value("${ids.node-id:#{null}}") Long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    // Millisecond clock supplied by tests
+    MonotonicIdGenerator(Long nodeId, LongSupplier clock) {
+        this.nodeId = nodeId != null ? nodeId : new SecureRandom().nextLong();
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        long timeAndSequence = lastTimeAndSequence.accumulateAndGet(now, (previous, candidate) -> Math.max(previous + 1, candidate));
+        return encode(timeAndSequence, nodeId);
+    }
+
+    static String encode(long high, long low) {
+        char[] chars = new char[26];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
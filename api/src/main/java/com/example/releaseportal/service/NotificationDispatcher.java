@@ -0,0 +1,173 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.model.OutboundNotification;
+import com.example.releaseportal.repository.OutboundNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox in the background.
+ * <p>
+ * Due rows are read in batches, delivered through the configured {@link NotificationTransport}
+ * outside of any transaction, and their outcome written back. Failed deliveries are retried
+ * with exponential backoff until {@code notifications.max-attempts} is reached. Sent and failed
+ * rows are deleted once they are older than {@code notifications.retention}.
+ * <p>
+ * Several nodes may drain the same outbox: a row is claimed before it is sent by moving its next
+ * attempt {@code notifications.claim-lease} ahead, so only one dispatcher sends it, and a row whose
+ * dispatcher died is picked up again once the lease runs out. A delivery slower than the lease may
+ * be sent twice.
+ * <p>
+ * The pending-count gauge reads a counter kept up to date as rows are queued and settled. Other
+ * nodes settle rows this one queued, so the counter is re-read from the table every
+ * {@code notifications.pending-resync-interval-ms}.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private final OutboundNotificationRepository outboxRepository;
+    private final NotificationTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Duration claimLease;
+    private final AtomicLong pending = new AtomicLong();
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer dispatchLatency;
+
+    public NotificationDispatcher(OutboundNotificationRepository outboxRepository,
+                                  NotificationTransport transport,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notifications.batch-size:50}") int batchSize,
+                                  @Value("${notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${notifications.initial-backoff:5s}") Duration initialBackoff,
+                                  @Value("${notifications.max-backoff:10m}") Duration maxBackoff,
+                                  @Value("${notifications.retention:7d}") Duration retention,
+                                  @Value("${notifications.claim-lease:5m}") Duration claimLease) {
+        this.outboxRepository = outboxRepository;
+        this.transport = transport;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.claimLease = claimLease;
+
+        Gauge.builder("notifications.outbox.pending", pending, AtomicLong::get)
+                .description("Notifications waiting in the outbox")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notifications.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("notifications.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.failed")
+                .description("Notifications given up on after the last attempt")
+                .register(meterRegistry);
+        this.dispatchLatency = Timer.builder("notifications.dispatch.latency")
+                .description("Time from queueing a notification to its delivery")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dispatch-interval-ms:1000}")
+    public void dispatchDue() {
+        List<OutboundNotification> due;
+        do {
+            due = outboxRepository.findDue(Instant.now(), PageRequest.of(0, batchSize));
+            for (OutboundNotification notification : due) {
+                if (claim(notification)) {
+                    deliver(notification);
+                }
+            }
+        } while (due.size() == batchSize);
+    }
+
+    // Rows inside the dedupe window are still read by EmailService, so the retention must not be shorter
+    @Scheduled(fixedDelayString = "${notifications.retention-sweep-interval-ms:3600000}")
+    public void purgeSettled() {
+        Instant before = Instant.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSettledBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} sent or failed notifications created before {}", deleted, before);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.pending-resync-interval-ms:300000}")
+    public void resyncPendingCount() {
+        pending.set(outboxRepository.countByStatus(OutboundNotification.PENDING));
+    }
+
+    /** Called by {@link EmailService} once rows it queued have committed. */
+    public void countQueued(int rows) {
+        pending.addAndGet(rows);
+    }
+
+    private boolean claim(OutboundNotification notification) {
+        Instant now = Instant.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                outboxRepository.claim(notification.getId(), now, now.plus(claimLease)));
+        return claimed != null && claimed == 1;
+    }
+
+    private void deliver(OutboundNotification notification) {
+        String error = null;
+        try {
+            transport.send(new OutboundEmail(notification.getRecipient(), notification.getSubject(), notification.getBody()));
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        Instant now = Instant.now();
+        notification.setAttempts(notification.getAttempts() + 1);
+        if (error == null) {
+            notification.setStatus(OutboundNotification.SENT);
+            notification.setSentAt(now);
+            notification.setLastError(null);
+            notification.setPendingKey(null);
+            pending.decrementAndGet();
+            sentCounter.increment();
+            dispatchLatency.record(Duration.between(notification.getCreatedAt(), now));
+        } else if (notification.getAttempts() >= maxAttempts) {
+            notification.setStatus(OutboundNotification.FAILED);
+            notification.setLastError(truncate(error));
+            notification.setPendingKey(null);
+            pending.decrementAndGet();
+            failedCounter.increment();
+            log.warn("Giving up on notification {} to {} after {} attempts: {}",
+                    notification.getId(), notification.getRecipient(), notification.getAttempts(), error);
+        } else {
+            notification.setNextAttemptAt(now.plus(backoff(notification.getAttempts())));
+            notification.setLastError(truncate(error));
+            retriedCounter.increment();
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.save(notification));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1024 ? error : error.substring(0, 1024);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.releaseportal.service;
+
+/**
+ * Delivers one outbox message. Implementations are selected with the
+ * {@code notifications.transport} property; throwing marks the attempt as failed
+ * and schedules a retry.
+ */
+public interface NotificationTransport {
+
+    void send(OutboundEmail email) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.example.releaseportal.service;
+
+import lombok.Value;
+
+/** The message handed to a {@link NotificationTransport}. */
+@Value
+public class OutboundEmail {
+    String recipient;
+    String subject;
+    String body;
+}
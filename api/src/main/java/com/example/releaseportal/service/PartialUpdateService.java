@@ -0,0 +1,287 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ComponentPatchRequest;
+import com.example.releaseportal.dto.PatchedComponent;
+import com.example.releaseportal.dto.PatchedRelease;
+import com.example.releaseportal.dto.PatchedTeam;
+import com.example.releaseportal.dto.PatchedUserStory;
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.dto.ReleasePatchRequest;
+import com.example.releaseportal.dto.TeamPatchRequest;
+import com.example.releaseportal.dto.UserStoryPatchRequest;
+import com.example.releaseportal.model.LabelledStatus;
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.repository.ReleaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * PATCH-style updates that touch one row without loading its entity graph.
+ * <p>
+ * Each update locks the row with a narrow {@code select ... for update} that reads only the columns
+ * the readiness deltas need, then checks the caller's If-Match against the release revision and its
+ * {@code lockVersion} if one was sent, and writes the changed columns with a single {@code UPDATE}
+ * that also bumps the version. Both checks run under the locks, so no other write can slip in between. Status values are
+ * validated per field before anything is written. Readiness, revisions and change events are
+ * maintained exactly as the full updates maintain them.
+ */
+@Service
+@RequiredArgsConstructor
+public class PartialUpdateService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReadinessService readinessService;
+    private final ReleaseChangePublisher releaseChanges;
+    private final ReleaseRevisionService releaseRevisionService;
+    private final ReleaseRepository releaseRepository;
+    private final EmailService emailService;
+
+    @Transactional
+    public Patched<PatchedRelease> patchRelease(String releaseId, String ifMatch, ReleasePatchRequest patch) {
+        ReleaseStatus status = parse(ReleaseStatus.class, "status", patch.getStatus());
+        SignOffStatus overall = parse(SignOffStatus.class, "overallAppOwnerSignedOff", patch.getOverallAppOwnerSignedOff());
+        PatchedRelease row = lock("select id, name, version, release_date, status, overall_app_owner_signed_off, lock_version "
+                        + "from release where id = :id for update", releaseId,
+                (rs, n) -> new PatchedRelease(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        label(ReleaseStatus.class, rs.getString(5)), label(SignOffStatus.class, rs.getString(6)), rs.getLong(7)),
+                "Release not found");
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
+        checkVersion(patch.getLockVersion(), row.getLockVersion());
+        SignOffStatus previousOverall = row.getOverallAppOwnerSignedOff();
+
+        Update update = new Update("release", releaseId);
+        List<ReleaseChangeEvent> events = new ArrayList<>();
+        if (patch.getName() != null) {
+            row.setName(update.set("name", patch.getName()));
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "name", patch.getName()));
+        }
+        if (patch.getVersion() != null) {
+            row.setVersion(update.set("version", patch.getVersion()));
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "version", patch.getVersion()));
+        }
+        if (patch.getReleaseDate() != null) {
+            row.setReleaseDate(update.set("release_date", patch.getReleaseDate()));
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "releaseDate", patch.getReleaseDate()));
+        }
+        if (status != null) {
+            update.set("status", status.getLabel());
+            row.setStatus(status);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "status", status));
+        }
+        if (overall != null) {
+            update.set("overall_app_owner_signed_off", overall.getLabel());
+            row.setOverallAppOwnerSignedOff(overall);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, releaseId, "overallAppOwnerSignedOff", overall));
+        }
+        row.setLockVersion(update.execute(row.getLockVersion()));
+        if (overall != null) {
+            readinessService.overallSignOffChanged(releaseId, overall);
+            if (overall == SignOffStatus.COMPLETED && previousOverall != SignOffStatus.COMPLETED) {
+                // Only the transition needs the teams, for the recipients; queued in this transaction
+                emailService.sendApprovalNotification(releaseRepository.findWithTeamsById(releaseId).orElseThrow());
+            }
+        }
+        return new Patched<>(row, releaseChanges.publish(releaseId, events.toArray(ReleaseChangeEvent[]::new)));
+    }
+
+    @Transactional
+    public Patched<PatchedTeam> patchTeam(String releaseId, String teamId, String ifMatch, TeamPatchRequest patch) {
+        SignOffStatus qa = parse(SignOffStatus.class, "qaSignedOff", patch.getQaSignedOff());
+        SignOffStatus appOwner = parse(SignOffStatus.class, "appOwnerSignedOff", patch.getAppOwnerSignedOff());
+        PatchedTeam row = lock("select id, release_id, qa_signed_off, app_owner_signed_off, lock_version "
+                        + "from team where id = :id for update", teamId,
+                (rs, n) -> new PatchedTeam(rs.getString(1), rs.getString(2),
+                        label(SignOffStatus.class, rs.getString(3)), label(SignOffStatus.class, rs.getString(4)), rs.getLong(5)),
+                "Team not found");
+        requireOwner(releaseId, row.getReleaseId(), "Team not found");
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
+        checkVersion(patch.getLockVersion(), row.getLockVersion());
+
+        Update update = new Update("team", teamId);
+        List<ReleaseChangeEvent> events = new ArrayList<>();
+        SignOffStatus previousQa = row.getQaSignedOff();
+        SignOffStatus previousAppOwner = row.getAppOwnerSignedOff();
+        if (qa != null) {
+            update.set("qa_signed_off", qa.getLabel());
+            row.setQaSignedOff(qa);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "qaSignedOff", qa));
+        }
+        if (appOwner != null) {
+            update.set("app_owner_signed_off", appOwner.getLabel());
+            row.setAppOwnerSignedOff(appOwner);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.TEAM, teamId, "appOwnerSignedOff", appOwner));
+        }
+        row.setLockVersion(update.execute(row.getLockVersion()));
+        if (qa != null) {
+            readinessService.qaSignOffChanged(teamId, previousQa, qa);
+        }
+        if (appOwner != null) {
+            readinessService.appOwnerSignOffChanged(teamId, previousAppOwner, appOwner);
+        }
+        return new Patched<>(row, releaseChanges.publish(releaseId, events.toArray(ReleaseChangeEvent[]::new)));
+    }
+
+    @Transactional
+    public Patched<PatchedComponent> patchComponent(String releaseId, String teamId, String componentId, String ifMatch,
+                                                    ComponentPatchRequest patch) {
+        ScanStatus sonarQube = parse(ScanStatus.class, "sonarQube", patch.getSonarQube());
+        ScanStatus nexusIq = parse(ScanStatus.class, "nexusIq", patch.getNexusIq());
+        ScanStatus checkmarx = parse(ScanStatus.class, "checkmarx", patch.getCheckmarx());
+        String[] owner = new String[1];
+        PatchedComponent row = lock("select c.id, c.team_id, t.release_id, c.sonar_qube, c.nexus_iq, c.checkmarx, c.lock_version "
+                        + "from component c left join team t on t.id = c.team_id where c.id = :id for update", componentId,
+                (rs, n) -> {
+                    owner[0] = rs.getString(3);
+                    return new PatchedComponent(rs.getString(1), rs.getString(2), label(ScanStatus.class, rs.getString(4)),
+                            label(ScanStatus.class, rs.getString(5)), label(ScanStatus.class, rs.getString(6)), rs.getLong(7));
+                },
+                "Component not found");
+        requireOwner(teamId, row.getTeamId(), "Component not found");
+        requireOwner(releaseId, owner[0], "Component not found");
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
+        checkVersion(patch.getLockVersion(), row.getLockVersion());
+
+        Update update = new Update("component", componentId);
+        List<ReleaseChangeEvent> events = new ArrayList<>();
+        // All scan changes of the component reach the aggregates as one delta
+        ReadinessDelta delta = new ReadinessDelta();
+        if (sonarQube != null) {
+            delta.scan(row.getSonarQube(), -1).scan(sonarQube, 1);
+            update.set("sonar_qube", sonarQube.getLabel());
+            row.setSonarQube(sonarQube);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.COMPONENT, componentId, "sonarQube", sonarQube));
+        }
+        if (nexusIq != null) {
+            delta.scan(row.getNexusIq(), -1).scan(nexusIq, 1);
+            update.set("nexus_iq", nexusIq.getLabel());
+            row.setNexusIq(nexusIq);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.COMPONENT, componentId, "nexusIq", nexusIq));
+        }
+        if (checkmarx != null) {
+            delta.scan(row.getCheckmarx(), -1).scan(checkmarx, 1);
+            update.set("checkmarx", checkmarx.getLabel());
+            row.setCheckmarx(checkmarx);
+            events.add(ReleaseChangeEvent.updated(ReleaseChangeEvent.COMPONENT, componentId, "checkmarx", checkmarx));
+        }
+        row.setLockVersion(update.execute(row.getLockVersion()));
+        readinessService.applyToTeam(teamId, delta);
+        return new Patched<>(row, releaseChanges.publish(releaseId, events.toArray(ReleaseChangeEvent[]::new)));
+    }
+
+    @Transactional
+    public Patched<PatchedUserStory> patchUserStory(String releaseId, String teamId, String storyId, String ifMatch,
+                                                    UserStoryPatchRequest patch) {
+        QaStatus qaStatus = parse(QaStatus.class, "qaStatus", patch.getQaStatus());
+        String[] owner = new String[1];
+        PatchedUserStory row = lock("select s.id, s.team_id, t.release_id, s.qa_status, s.lock_version "
+                        + "from user_story s left join team t on t.id = s.team_id where s.id = :id for update", storyId,
+                (rs, n) -> {
+                    owner[0] = rs.getString(3);
+                    return new PatchedUserStory(rs.getString(1), rs.getString(2), label(QaStatus.class, rs.getString(4)), rs.getLong(5));
+                },
+                "User story not found");
+        requireOwner(teamId, row.getTeamId(), "User story not found");
+        requireOwner(releaseId, owner[0], "User story not found");
+        releaseRevisionService.checkPrecondition(releaseId, ifMatch);
+        checkVersion(patch.getLockVersion(), row.getLockVersion());
+
+        Update update = new Update("user_story", storyId);
+        ReleaseChangeEvent event = null;
+        QaStatus previous = row.getQaStatus();
+        if (qaStatus != null) {
+            update.set("qa_status", qaStatus.getLabel());
+            row.setQaStatus(qaStatus);
+            event = ReleaseChangeEvent.updated(ReleaseChangeEvent.USER_STORY, storyId, "qaStatus", qaStatus);
+        }
+        row.setLockVersion(update.execute(row.getLockVersion()));
+        if (qaStatus != null) {
+            readinessService.qaStatusChanged(teamId, previous, qaStatus);
+        }
+        return new Patched<>(row, releaseChanges.publish(releaseId, event));
+    }
+
+    private <T> T lock(String sql, String id, RowMapper<T> mapper, String notFound) {
+        List<T> rows = jdbcTemplate.query(sql, new MapSqlParameterSource("id", id), mapper);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, notFound);
+        }
+        return rows.get(0);
+    }
+
+    private static void requireOwner(String expected, String actual, String notFound) {
+        if (!Objects.equals(expected, actual)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, notFound);
+        }
+    }
+
+    private static void checkVersion(Long expected, long current) {
+        if (expected != null && expected != current) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "lockVersion " + expected + " is stale; the record is at version " + current + ", reload and try again");
+        }
+    }
+
+    private static <E extends Enum<E> & LabelledStatus> E parse(Class<E> type, String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LabelledStatus.parse(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, field + ": " + e.getMessage());
+        }
+    }
+
+    private static <E extends Enum<E> & LabelledStatus> E label(Class<E> type, String value) {
+        return value == null ? null : LabelledStatus.parse(type, value);
+    }
+
+    /** The updated row and the release revision it produced, for the response ETag. */
+    public record Patched<T>(T row, long revision) {
+    }
+
+    // One UPDATE of the columns that were set, guarded by the version read under the row lock
+    private final class Update {
+        private final String table;
+        private final MapSqlParameterSource params;
+        private final List<String> assignments = new ArrayList<>();
+
+        Update(String table, String id) {
+            this.table = table;
+            this.params = new MapSqlParameterSource("id", id);
+        }
+
+        String set(String column, String value) {
+            assignments.add(column + " = :" + column);
+            params.addValue(column, value);
+            return value;
+        }
+
+        long execute(long version) {
+            if (assignments.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nothing to update");
+            }
+            params.addValue("lockVersion", version);
+            int updated = jdbcTemplate.update("update " + table + " set " + String.join(", ", assignments)
+                    + ", lock_version = lock_version + 1 where id = :id and lock_version = :lockVersion", params);
+            if (updated != 1) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "The record was modified by another request; reload and try again");
+            }
+            return version + 1;
+        }
+    }
+}
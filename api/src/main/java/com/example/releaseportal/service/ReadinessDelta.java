@@ -0,0 +1,61 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.ReadinessCounts;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.model.TeamReadiness;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A signed change to the readiness counters, applied to the aggregate rows with a
+ * single relative UPDATE so concurrent writers never overwrite each other's counts.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ReadinessDelta extends ReadinessCounts {
+    private long teamCount;
+    private long teamsQaSignedOff;
+    private long teamsAppOwnerSignedOff;
+
+    public ReadinessDelta scan(ScanStatus status, int amount) {
+        countScan(status, amount);
+        return this;
+    }
+
+    public ReadinessDelta qa(QaStatus status, int amount) {
+        countQa(status, amount);
+        return this;
+    }
+
+    public ReadinessDelta qaSignOff(SignOffStatus status, int amount) {
+        if (status == SignOffStatus.COMPLETED) {
+            teamsQaSignedOff += amount;
+        }
+        return this;
+    }
+
+    public ReadinessDelta appOwnerSignOff(SignOffStatus status, int amount) {
+        if (status == SignOffStatus.COMPLETED) {
+            teamsAppOwnerSignedOff += amount;
+        }
+        return this;
+    }
+
+    /** The inverse of the given team's current counters, used when the team leaves its release. */
+    public static ReadinessDelta removing(TeamReadiness team) {
+        ReadinessDelta delta = new ReadinessDelta();
+        delta.setScansPassed(-team.getScansPassed());
+        delta.setScansFailed(-team.getScansFailed());
+        delta.setScansPending(-team.getScansPending());
+        delta.setQaPassed(-team.getQaPassed());
+        delta.setQaFailed(-team.getQaFailed());
+        delta.setQaInProgress(-team.getQaInProgress());
+        delta.setQaPending(-team.getQaPending());
+        delta.setTeamCount(-1);
+        delta.qaSignOff(team.getQaSignedOff(), -1);
+        delta.appOwnerSignOff(team.getAppOwnerSignedOff(), -1);
+        return delta;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReadinessReport;
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.ReleaseReadiness;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.model.Team;
+import com.example.releaseportal.model.TeamReadiness;
+import com.example.releaseportal.model.UserStory;
+import com.example.releaseportal.repository.ComponentRepository;
+import com.example.releaseportal.repository.ReleaseReadinessRepository;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.TeamReadinessRepository;
+import com.example.releaseportal.repository.TeamRepository;
+import com.example.releaseportal.repository.UserStoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the per-team and per-release readiness aggregates.
+ * <p>
+ * Every write that changes a scan, QA status or sign-off calls one of the hooks below
+ * inside its own transaction; the hooks turn the change into a {@link ReadinessDelta}
+ * and apply it with relative updates, so reading readiness never has to walk the graph.
+ * Structural changes that move whole teams between releases fall back to {@link #recompute}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReadinessService {
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final ReleaseReadinessRepository releaseReadinessRepository;
+    private final TeamReadinessRepository teamReadinessRepository;
+    private final ReleaseRepository releaseRepository;
+    private final TeamRepository teamRepository;
+    private final ComponentRepository componentRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public ReadinessReport getReadiness(String releaseId) {
+        ReleaseReadiness release = releaseReadinessRepository.findById(releaseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
+        return new ReadinessReport(release, teamReadinessRepository.findByReleaseId(releaseId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseCreated(Release release) {
+        ReleaseReadiness readiness = new ReleaseReadiness();
+        readiness.setReleaseId(release.getId());
+        readiness.setOverallAppOwnerSignedOff(release.getOverallAppOwnerSignedOff());
+        entityManager.persist(readiness);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseDeleted(String releaseId) {
+        teamReadinessRepository.deleteByReleaseId(releaseId);
+        releaseReadinessRepository.deleteById(releaseId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void overallSignOffChanged(String releaseId, SignOffStatus status) {
+        releaseReadinessRepository.updateOverallAppOwnerSignedOff(releaseId, status);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void teamAdded(Team team) {
+        TeamReadiness readiness = new TeamReadiness();
+        readiness.setTeamId(team.getId());
+        readiness.setReleaseId(team.getRelease().getId());
+        readiness.setQaSignedOff(team.getQaSignedOff());
+        readiness.setAppOwnerSignedOff(team.getAppOwnerSignedOff());
+        entityManager.persist(readiness);
+
+        ReadinessDelta delta = new ReadinessDelta()
+                .qaSignOff(team.getQaSignedOff(), 1)
+                .appOwnerSignOff(team.getAppOwnerSignedOff(), 1);
+        delta.setTeamCount(1);
+        releaseReadinessRepository.applyDelta(readiness.getReleaseId(), delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void teamRemoved(String teamId) {
+        teamReadinessRepository.findById(teamId).ifPresent(readiness -> {
+            if (readiness.getReleaseId() != null) {
+                releaseReadinessRepository.applyDelta(readiness.getReleaseId(), ReadinessDelta.removing(readiness));
+            }
+            teamReadinessRepository.delete(readiness);
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void qaSignOffChanged(String teamId, SignOffStatus oldStatus, SignOffStatus newStatus) {
+        teamReadinessRepository.updateQaSignedOff(teamId, newStatus);
+        applyToTeam(teamId, new ReadinessDelta().qaSignOff(oldStatus, -1).qaSignOff(newStatus, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appOwnerSignOffChanged(String teamId, SignOffStatus oldStatus, SignOffStatus newStatus) {
+        teamReadinessRepository.updateAppOwnerSignedOff(teamId, newStatus);
+        applyToTeam(teamId, new ReadinessDelta().appOwnerSignOff(oldStatus, -1).appOwnerSignOff(newStatus, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void componentAdded(Component component) {
+        applyToTeam(component.getTeam().getId(), scans(component, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void componentRemoved(Component component) {
+        applyToTeam(component.getTeam().getId(), scans(component, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void scanChanged(String teamId, ScanStatus oldStatus, ScanStatus newStatus) {
+        applyToTeam(teamId, new ReadinessDelta().scan(oldStatus, -1).scan(newStatus, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userStoryAdded(UserStory story) {
+        applyToTeam(story.getTeam().getId(), new ReadinessDelta().qa(story.getQaStatus(), 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userStoryRemoved(UserStory story) {
+        applyToTeam(story.getTeam().getId(), new ReadinessDelta().qa(story.getQaStatus(), -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void qaStatusChanged(String teamId, QaStatus oldStatus, QaStatus newStatus) {
+        applyToTeam(teamId, new ReadinessDelta().qa(oldStatus, -1).qa(newStatus, 1));
+    }
+
+    /**
+     * Rebuilds the aggregates of the given releases from the underlying rows.
+     * Costs O(teams + components + stories) of those releases, so it is reserved for
+     * structural changes and for releases that have no aggregate yet.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recompute(Collection<String> releaseIds) {
+        if (releaseIds.isEmpty()) {
+            return;
+        }
+        for (String releaseId : releaseIds) {
+            teamReadinessRepository.deleteByReleaseId(releaseId);
+        }
+        releaseReadinessRepository.deleteAllByIdInBatch(releaseIds);
+
+        Map<String, ReleaseReadiness> releases = new HashMap<>();
+        for (Release release : releaseRepository.findAllById(releaseIds)) {
+            ReleaseReadiness readiness = new ReleaseReadiness();
+            readiness.setReleaseId(release.getId());
+            readiness.setOverallAppOwnerSignedOff(release.getOverallAppOwnerSignedOff());
+            releases.put(release.getId(), readiness);
+        }
+
+        Map<String, TeamReadiness> teams = new HashMap<>();
+        for (Team team : teamRepository.findByRelease_IdIn(releaseIds)) {
+            TeamReadiness readiness = new TeamReadiness();
+            readiness.setTeamId(team.getId());
+            readiness.setReleaseId(team.getRelease().getId());
+            readiness.setQaSignedOff(team.getQaSignedOff());
+            readiness.setAppOwnerSignedOff(team.getAppOwnerSignedOff());
+            teams.put(team.getId(), readiness);
+        }
+        for (Object[] row : componentRepository.countScanStatusesByTeam(releaseIds)) {
+            TeamReadiness team = teams.get((String) row[0]);
+            long count = (Long) row[4];
+            team.countScan((ScanStatus) row[1], count);
+            team.countScan((ScanStatus) row[2], count);
+            team.countScan((ScanStatus) row[3], count);
+        }
+        for (Object[] row : userStoryRepository.countQaStatusesByTeam(releaseIds)) {
+            teams.get((String) row[0]).countQa((QaStatus) row[1], (Long) row[2]);
+        }
+
+        for (TeamReadiness team : teams.values()) {
+            ReleaseReadiness release = releases.get(team.getReleaseId());
+            release.add(team);
+            release.setTeamCount(release.getTeamCount() + 1);
+            if (team.getQaSignedOff() == SignOffStatus.COMPLETED) {
+                release.setTeamsQaSignedOff(release.getTeamsQaSignedOff() + 1);
+            }
+            if (team.getAppOwnerSignedOff() == SignOffStatus.COMPLETED) {
+                release.setTeamsAppOwnerSignedOff(release.getTeamsAppOwnerSignedOff() + 1);
+            }
+            entityManager.persist(team);
+        }
+        releases.values().forEach(entityManager::persist);
+    }
+
+    /** Builds aggregates for releases that do not have one yet, e.g. rows from the seed migration. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeMissing() {
+        List<String> missing = releaseReadinessRepository.findReleaseIdsWithoutReadiness();
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < missing.size(); from += REBUILD_CHUNK_SIZE) {
+            List<String> chunk = missing.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, missing.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                recompute(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        log.info("Built readiness aggregates for {} releases", missing.size());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyToTeam(String teamId, ReadinessDelta delta) {
+        teamReadinessRepository.applyDelta(teamId, delta);
+        releaseReadinessRepository.applyDeltaForTeam(teamId, delta);
+    }
+
+    private ReadinessDelta scans(Component component, int amount) {
+        return new ReadinessDelta()
+                .scan(component.getSonarQube(), amount)
+                .scan(component.getNexusIq(), amount)
+                .scan(component.getCheckmarx(), amount);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Single hook every write endpoint calls once per affected release: bumps the release
+ * revision, appends the write to the release history and publishes the field-level changes
+ * as application events. Listeners that must not see uncommitted data subscribe with
+ * {@code @TransactionalEventListener}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReleaseChangePublisher {
+
+    private final ReleaseRevisionService releaseRevisionService;
+    private final ReleaseHistoryService releaseHistoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long publish(String releaseId, ReleaseChangeEvent... changes) {
+        long revision = releaseRevisionService.touch(releaseId);
+        Instant now = Instant.now();
+        for (ReleaseChangeEvent change : changes) {
+            change.setReleaseId(releaseId);
+            change.setRevision(revision);
+            change.setAt(now);
+            if (ReleaseChangeEvent.CREATED.equals(change.getAction()) && change.getValue() != null) {
+                // Snapshot the new entity while its session is still open
+                change.setValue(objectMapper.valueToTree(change.getValue()));
+            }
+            eventPublisher.publishEvent(change);
+        }
+        releaseHistoryService.record(releaseId, revision, now, changes);
+        return revision;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of release-detail DTOs, keyed by release id.
+ * <p>
+ * Each entry remembers the release revision it was built at and is only served to a request
+ * that looked up the same revision, so a stale entry can never be returned even if an
+ * invalidation is missed. Committed changes evict exactly the affected release. Hit, miss and
+ * eviction counts are published as the {@code cache.*} metrics tagged {@code cache=releaseDetail}.
+ */
+@Service
+@Slf4j
+public class ReleaseDetailCache {
+
+    private final ReleaseRepository releaseRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, Entry> cache;
+    private final boolean enabled;
+
+    public ReleaseDetailCache(ReleaseRepository releaseRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${release-cache.enabled:true}") boolean enabled,
+                              @Value("${release-cache.maximum-size:1000}") long maximumSize,
+                              @Value("${release-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.releaseRepository = releaseRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "releaseDetail");
+        log.info("Release detail cache {} (maximum size {}, expire after write {})",
+                enabled ? "enabled" : "disabled", maximumSize, expireAfterWrite);
+    }
+
+    /**
+     * Returns the release as of at least the given revision, or empty when it does not exist.
+     * The revision must have been read before calling, as the ETag for the response.
+     */
+    public Optional<ReleaseDetail> get(String releaseId, long revision) {
+        if (!enabled) {
+            return Optional.ofNullable(load(releaseId, revision)).map(Entry::detail);
+        }
+        Entry cached = cache.policy().getIfPresentQuietly(releaseId);
+        if (cached != null && cached.revision() < revision) {
+            cache.asMap().remove(releaseId, cached);
+        }
+        Entry entry = cache.get(releaseId, id -> load(id, revision));
+        if (entry != null && entry.revision() < revision) {
+            // Lost a race with a reader that loaded an older revision; don't serve it, don't cache over it
+            entry = load(releaseId, revision);
+        }
+        return Optional.ofNullable(entry).map(Entry::detail);
+    }
+
+    public void invalidate(String releaseId) {
+        cache.invalidate(releaseId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChange(ReleaseChangeEvent event) {
+        cache.invalidate(event.getReleaseId());
+    }
+
+    private Entry load(String releaseId, long revision) {
+        return readOnlyTransaction.execute(status -> releaseRepository.findWithTeamsById(releaseId)
+                .map(release -> new Entry(revision, ReleaseDetail.from(release)))
+                .orElse(null));
+    }
+
+    private record Entry(long revision, ReleaseDetail detail) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed release changes out to Server-Sent Event subscribers.
+ * <p>
+ * Publishing never blocks the writing request: each event is offered to a bounded
+ * per-subscriber queue and a small shared pool drains the queues to the connections.
+ * A subscriber that falls behind has its queue discarded and receives a single
+ * {@code resync} event telling it to reload before it resumes applying deltas.
+ */
+@Service
+@Slf4j
+public class ReleaseEventStream {
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public ReleaseEventStream(@Value("${release-events.buffer-size:256}") int bufferSize,
+                              @Value("${release-events.sender-threads:2}") int senderThreads,
+                              @Value("${release-events.timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "release-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Opens a stream for one release, or for every release when {@code releaseId} is null. */
+    public SseEmitter subscribe(String releaseId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        long id = subscriberIds.incrementAndGet();
+        Subscriber subscriber = new Subscriber(id, releaseId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(id));
+        emitter.onTimeout(() -> subscribers.remove(id));
+        emitter.onError(e -> subscribers.remove(id));
+        subscribers.put(id, subscriber);
+        try {
+            emitter.send(SseEmitter.event().name("ready").data(releaseId == null ? "*" : releaseId));
+        } catch (IOException e) {
+            subscribers.remove(id);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChange(ReleaseChangeEvent event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.releaseId == null || subscriber.releaseId.equals(event.getReleaseId())) {
+                if (!subscriber.queue.offer(event)) {
+                    // Too far behind: drop the backlog, the client reloads on resync anyway
+                    subscriber.queue.clear();
+                    subscriber.resyncNeeded.set(true);
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${release-events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.resyncNeeded.getAndSet(false)) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data(
+                            subscriber.releaseId == null ? "*" : subscriber.releaseId));
+                }
+                ReleaseChangeEvent event = subscriber.queue.poll();
+                if (event != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getRevision()))
+                            .name("change")
+                            .data(event));
+                    continue;
+                }
+                if (subscriber.heartbeatDue.getAndSet(false)) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                subscriber.draining.set(false);
+                // Re-check after releasing the flag so an event offered meanwhile is not stranded
+                if (subscriber.queue.isEmpty() && !subscriber.resyncNeeded.get()
+                        || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping release event subscriber {}: {}", subscriber.id, e.getMessage());
+            subscribers.remove(subscriber.id);
+            subscriber.draining.set(false);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final String releaseId;
+        private final SseEmitter emitter;
+        private final Queue<ReleaseChangeEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean resyncNeeded = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private Subscriber(long id, String releaseId, SseEmitter emitter, Queue<ReleaseChangeEvent> queue) {
+            this.id = id;
+            this.releaseId = releaseId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.releaseportal.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams every release graph out as flat records: releases, then teams, components, user stories
+ * and story-to-component links, so each record's parent appears before it.
+ * <p>
+ * Rows are read with forward-only JDBC cursors and written to the response as they arrive; nothing
+ * goes through the persistence context and no more than one fetch-size batch of rows is held at a
+ * time, so memory use does not depend on how much is exported. All queries run in one read-only
+ * repeatable-read transaction and therefore see the same snapshot.
+ */
+@Service
+@Slf4j
+public class ReleaseExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+    public static final String SMILE = "smile";
+    public static final String CBOR = "cbor";
+
+    static final List<Section> SECTIONS = List.of(
+            new Section("release",
+                    "select id, name, version, release_date, status, overall_app_owner_signed_off from release order by id",
+                    "id", "name", "version", "releaseDate", "status", "overallAppOwnerSignedOff"),
+            new Section("team",
+                    "select id, release_id, name, team_dl, product_owner, qa_signed_off, app_owner_signed_off "
+                            + "from team order by release_id, id",
+                    "id", "releaseId", "name", "teamDl", "productOwner", "qaSignedOff", "appOwnerSignedOff"),
+            new Section("component",
+                    "select c.id, t.release_id, c.team_id, c.name, c.version, c.sonar_qube, c.nexus_iq, c.checkmarx "
+                            + "from component c left join team t on t.id = c.team_id order by t.release_id, c.team_id, c.id",
+                    "id", "releaseId", "teamId", "name", "version", "sonarQube", "nexusIq", "checkmarx"),
+            new Section("userStory",
+                    "select s.id, t.release_id, s.team_id, s.description, s.qa_status "
+                            + "from user_story s left join team t on t.id = s.team_id order by t.release_id, s.team_id, s.id",
+                    "id", "releaseId", "teamId", "description", "qaStatus"),
+            new Section("storyComponent",
+                    "select user_story_id, component_id from user_story_component order by user_story_id, component_id",
+                    "userStoryId", "componentId"));
+
+    // Every field of every section, in first-seen order: the CSV header
+    private static final List<String> CSV_COLUMNS;
+
+    static {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("type");
+        SECTIONS.forEach(section -> columns.addAll(List.of(section.fields())));
+        CSV_COLUMNS = List.copyOf(columns);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ReleaseExportService(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+    }
+
+    /** One JSON object per line, each with a {@code type} field naming the record kind. */
+    public long writeNdjson(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // Records are separated by the newline written after each one, not Jackson's default space
+        generator.setRootValueSeparator(null);
+        long rows = export(section -> rs -> {
+            writeRecord(generator, section, rs);
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+        return rows;
+    }
+
+    /**
+     * The NDJSON records as a sequence of binary root values, written with {@code format}'s factory
+     * (Smile or CBOR); {@code POST /api/releases/import} reads them back with the same content type.
+     */
+    public long writeBinary(OutputStream out, ObjectMapper format) throws IOException {
+        JsonGenerator generator = format.getFactory().createGenerator(out);
+        long rows = export(section -> rs -> writeRecord(generator, section, rs));
+        generator.flush();
+        return rows;
+    }
+
+    private static void writeRecord(JsonGenerator generator, Section section, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", section.type());
+        for (int i = 0; i < section.fields().length; i++) {
+            generator.writeStringField(section.fields()[i], rs.getString(i + 1));
+        }
+        generator.writeEndObject();
+    }
+
+    /** One CSV row per record under a shared header; fields a record type does not have are left empty. */
+    public long writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        long rows = export(section -> {
+            int[] positions = new int[section.fields().length];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = CSV_COLUMNS.indexOf(section.fields()[i]);
+            }
+            String[] line = new String[CSV_COLUMNS.size()];
+            return rs -> {
+                Arrays.fill(line, null);
+                line[0] = section.type();
+                for (int i = 0; i < positions.length; i++) {
+                    line[positions[i]] = rs.getString(i + 1);
+                }
+                for (int i = 0; i < line.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCsvValue(writer, line[i]);
+                }
+                writer.write("\r\n");
+            };
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private long export(RowWriterFactory rowWriters) {
+        long started = System.nanoTime();
+        Long rows = snapshotTransaction.execute(status -> {
+            long count = 0;
+            for (Section section : SECTIONS) {
+                RowWriter rowWriter = rowWriters.forSection(section);
+                long[] sectionCount = new long[1];
+                jdbcTemplate.query(section.sql(), rs -> {
+                    try {
+                        rowWriter.write(rs);
+                    } catch (IOException e) {
+                        // Client went away; abort the query instead of reading the rest of the table
+                        throw new UncheckedIOException(e);
+                    }
+                    sectionCount[0]++;
+                });
+                count += sectionCount[0];
+            }
+            return count;
+        });
+        log.info("Exported {} records in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    record Section(String type, String sql, String... fields) {
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private interface RowWriterFactory {
+        RowWriter forSection(Section section);
+    }
+}
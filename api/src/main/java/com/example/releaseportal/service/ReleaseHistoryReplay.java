@@ -0,0 +1,149 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Applies recorded field-level changes to a release state held as release-detail JSON.
+ * <p>
+ * Applying a change the state already contains leaves it unchanged (creates replace an entry with
+ * the same id), so a snapshot taken from the live graph may safely be followed by changes that
+ * committed while it was read. Changes to entities the state does not know are ignored.
+ */
+final class ReleaseHistoryReplay {
+
+    private ReleaseHistoryReplay() {
+    }
+
+    /** Returns the state after the change; {@code null} when the release does not exist. */
+    static ObjectNode apply(ObjectNode state, JsonNode change) {
+        String type = change.path("entityType").asText();
+        String action = change.path("action").asText();
+        String id = change.path("entityId").asText();
+        JsonNode value = change.path("value");
+        if (ReleaseChangeEvent.RELEASE.equals(type)) {
+            return switch (action) {
+                case ReleaseChangeEvent.CREATED -> withTeams(value.deepCopy());
+                case ReleaseChangeEvent.DELETED -> null;
+                default -> {
+                    if (state != null) {
+                        state.set(change.path("field").asText(), value.deepCopy());
+                    }
+                    yield state;
+                }
+            };
+        }
+        if (state == null) {
+            return null;
+        }
+        ArrayNode teams = array(state, "teams");
+        switch (type) {
+            case ReleaseChangeEvent.TEAM -> {
+                switch (action) {
+                    case ReleaseChangeEvent.CREATED -> upsert(teams, value);
+                    case ReleaseChangeEvent.DELETED -> remove(teams, id);
+                    default -> set(find(teams, id), change);
+                }
+            }
+            case ReleaseChangeEvent.COMPONENT -> {
+                switch (action) {
+                    case ReleaseChangeEvent.CREATED ->
+                            owner(teams, change).ifPresent(team -> upsert(array(team, "components"), value));
+                    // Stories carry copies of their linked components, which change with the original
+                    case ReleaseChangeEvent.DELETED -> everyComponentList(teams, list -> remove(list, id));
+                    default -> everyComponentList(teams, list -> set(find(list, id), change));
+                }
+            }
+            case ReleaseChangeEvent.USER_STORY -> {
+                switch (action) {
+                    case ReleaseChangeEvent.CREATED ->
+                            owner(teams, change).ifPresent(team -> upsert(array(team, "userStories"), value));
+                    case ReleaseChangeEvent.DELETED -> teams.forEach(team -> remove(array(team, "userStories"), id));
+                    default -> teams.forEach(team -> set(find(array(team, "userStories"), id), change));
+                }
+            }
+            default -> {
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Removes every {@code lockVersion}: field changes do not record versions, so replayed values would be
+     * stale, and a past state is never the base of a write.
+     */
+    static void removeLockVersions(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.remove("lockVersion");
+        }
+        node.forEach(ReleaseHistoryReplay::removeLockVersions);
+    }
+
+    private static ObjectNode withTeams(ObjectNode release) {
+        array(release, "teams");
+        return release;
+    }
+
+    private static Optional<ObjectNode> owner(ArrayNode teams, JsonNode change) {
+        return Optional.ofNullable(find(teams, change.path("parentId").asText()));
+    }
+
+    private static void everyComponentList(ArrayNode teams, Consumer<ArrayNode> action) {
+        for (JsonNode team : teams) {
+            action.accept(array(team, "components"));
+            for (JsonNode story : array(team, "userStories")) {
+                action.accept(array(story, "components"));
+            }
+        }
+    }
+
+    private static ArrayNode array(JsonNode parent, String field) {
+        JsonNode node = parent.get(field);
+        if (node instanceof ArrayNode array) {
+            return array;
+        }
+        return ((ObjectNode) parent).putArray(field);
+    }
+
+    private static ObjectNode find(ArrayNode entries, String id) {
+        for (JsonNode entry : entries) {
+            if (id.equals(entry.path("id").asText(null))) {
+                return (ObjectNode) entry;
+            }
+        }
+        return null;
+    }
+
+    private static void set(ObjectNode entry, JsonNode change) {
+        if (entry != null) {
+            entry.set(change.path("field").asText(), change.path("value").deepCopy());
+        }
+    }
+
+    private static void upsert(ArrayNode entries, JsonNode value) {
+        if (!(value instanceof ObjectNode entry)) {
+            return;
+        }
+        String id = entry.path("id").asText(null);
+        for (int i = 0; i < entries.size(); i++) {
+            if (id != null && id.equals(entries.get(i).path("id").asText(null))) {
+                entries.set(i, entry.deepCopy());
+                return;
+            }
+        }
+        entries.add(entry.deepCopy());
+    }
+
+    private static void remove(ArrayNode entries, String id) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (id.equals(entries.get(i).path("id").asText(null))) {
+                entries.remove(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.ReleaseChange;
+import com.example.releaseportal.model.ReleaseSnapshot;
+import com.example.releaseportal.repository.ReleaseChangeRepository;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.ReleaseSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only change history of every release, with reads of a release as it was at a past instant.
+ * <p>
+ * {@link ReleaseChangePublisher} records each write as one {@code release_change} row in the write's
+ * transaction. Once a release has collected {@code release-history.snapshot-interval} changes since its
+ * last snapshot, the write that reaches the interval also folds them into a new snapshot, so a history
+ * read loads one snapshot and at most one interval of changes. Releases that exist before any change
+ * is recorded (seeded or imported rows) get a baseline snapshot of their current state.
+ */
+@Service
+@Slf4j
+public class ReleaseHistoryService {
+
+    private static final int SNAPSHOT_CHUNK_SIZE = 100;
+
+    private final ReleaseChangeRepository changeRepository;
+    private final ReleaseSnapshotRepository snapshotRepository;
+    private final ReleaseRepository releaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int snapshotInterval;
+
+    // Changes recorded since each release's last snapshot, counted from the table on first use
+    private final Map<String, Integer> sinceSnapshot = new ConcurrentHashMap<>();
+
+    public ReleaseHistoryService(ReleaseChangeRepository changeRepository,
+                                 ReleaseSnapshotRepository snapshotRepository,
+                                 ReleaseRepository releaseRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${release-history.snapshot-interval:100}") int snapshotInterval) {
+        this.changeRepository = changeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.releaseRepository = releaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /** Appends one write to the history; called by {@link ReleaseChangePublisher} once per write. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String releaseId, long revision, Instant at, ReleaseChangeEvent... changes) {
+        ArrayNode entries = objectMapper.createArrayNode();
+        for (ReleaseChangeEvent change : changes) {
+            ObjectNode entry = entries.addObject();
+            entry.put("entityType", change.getEntityType());
+            entry.put("entityId", change.getEntityId());
+            entry.put("parentId", change.getParentId());
+            entry.put("action", change.getAction());
+            entry.put("field", change.getField());
+            entry.set("value", objectMapper.valueToTree(change.getValue()));
+        }
+        ReleaseChange change = new ReleaseChange();
+        change.setReleaseId(releaseId);
+        change.setRevision(revision);
+        change.setChangedAt(at);
+        change.setChanges(entries.toString());
+        changeRepository.save(change);
+
+        if (Arrays.stream(changes).anyMatch(c -> ReleaseChangeEvent.RELEASE.equals(c.getEntityType())
+                && ReleaseChangeEvent.DELETED.equals(c.getAction()))) {
+            sinceSnapshot.remove(releaseId);
+            return;
+        }
+        // Writes to one release are serialized by its revision update, so the count needs no further locking;
+        // a rolled-back write leaves it one too high, which only brings the next snapshot forward
+        Integer known = sinceSnapshot.get(releaseId);
+        int pending = known != null ? known + 1 : (int) countSinceSnapshot(releaseId);
+        if (pending >= snapshotInterval) {
+            compact(releaseId, change);
+            pending = 0;
+        }
+        sinceSnapshot.put(releaseId, pending);
+    }
+
+    /**
+     * The release as it was at the given instant, or empty when it did not exist then or its history does
+     * not reach back that far. Lock versions are left out, as a past state cannot be written back.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReleaseDetail> getAsOf(String releaseId, Instant asOf) {
+        Optional<ReleaseSnapshot> snapshot = snapshotRepository.findFirstByReleaseIdAndAsOfLessThanEqualOrderByIdDesc(releaseId, asOf);
+        ObjectNode state = snapshot.map(s -> readState(s.getState())).orElse(null);
+        long afterId = snapshot.map(ReleaseSnapshot::getLastChangeId).orElse(0L);
+        for (ReleaseChange change : changeRepository.findByReleaseIdAndIdGreaterThanAndChangedAtLessThanEqualOrderById(releaseId, afterId, asOf)) {
+            state = replay(state, change);
+        }
+        if (state == null) {
+            return Optional.empty();
+        }
+        ReleaseHistoryReplay.removeLockVersions(state);
+        try {
+            return Optional.of(objectMapper.treeToValue(state, ReleaseDetail.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable history state of release " + releaseId, e);
+        }
+    }
+
+    /** Takes baseline snapshots for releases that have none yet, e.g. rows from the seed migration. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void snapshotMissing() {
+        List<String> missing = snapshotRepository.findReleaseIdsWithoutSnapshot();
+        if (missing.isEmpty()) {
+            return;
+        }
+        snapshot(missing);
+        log.info("Took baseline history snapshots of {} releases", missing.size());
+    }
+
+    /**
+     * Snapshots the current state of the given releases, for writes that bypass the change history
+     * such as bulk imports. Each chunk of releases is read in its own transaction.
+     */
+    public void snapshot(Collection<String> releaseIds) {
+        List<String> ids = new ArrayList<>(releaseIds);
+        for (int from = 0; from < ids.size(); from += SNAPSHOT_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + SNAPSHOT_CHUNK_SIZE, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> snapshotChunk(chunk));
+            chunk.forEach(sinceSnapshot::remove);
+        }
+    }
+
+    private void snapshotChunk(List<String> releaseIds) {
+        // Read the last recorded change before the graph; replaying a change the graph already shows is harmless
+        Map<String, Long> lastChangeIds = new HashMap<>();
+        for (Object[] row : changeRepository.findLastIds(releaseIds)) {
+            lastChangeIds.put((String) row[0], (Long) row[1]);
+        }
+        Instant now = Instant.now();
+        List<ReleaseSnapshot> snapshots = new ArrayList<>();
+        for (Release release : releaseRepository.findWithTeamsByIdIn(releaseIds)) {
+            ReleaseSnapshot snapshot = new ReleaseSnapshot();
+            snapshot.setReleaseId(release.getId());
+            snapshot.setLastChangeId(lastChangeIds.getOrDefault(release.getId(), 0L));
+            snapshot.setRevision(release.getRevision());
+            snapshot.setAsOf(now);
+            snapshot.setState(objectMapper.valueToTree(ReleaseDetail.from(release)).toString());
+            snapshots.add(snapshot);
+        }
+        snapshotRepository.saveAll(snapshots);
+    }
+
+    private void compact(String releaseId, ReleaseChange latest) {
+        Optional<ReleaseSnapshot> previous = snapshotRepository.findFirstByReleaseIdOrderByIdDesc(releaseId);
+        ObjectNode state = previous.map(s -> readState(s.getState())).orElse(null);
+        long afterId = previous.map(ReleaseSnapshot::getLastChangeId).orElse(0L);
+        for (ReleaseChange change : changeRepository.findByReleaseIdAndIdGreaterThanOrderById(releaseId, afterId)) {
+            state = replay(state, change);
+        }
+        if (state == null) {
+            // Deleted, or no baseline to fold onto
+            return;
+        }
+        ReleaseSnapshot snapshot = new ReleaseSnapshot();
+        snapshot.setReleaseId(releaseId);
+        snapshot.setLastChangeId(latest.getId());
+        snapshot.setRevision(latest.getRevision());
+        snapshot.setAsOf(latest.getChangedAt());
+        snapshot.setState(state.toString());
+        snapshotRepository.save(snapshot);
+    }
+
+    private long countSinceSnapshot(String releaseId) {
+        long afterId = snapshotRepository.findFirstByReleaseIdOrderByIdDesc(releaseId)
+                .map(ReleaseSnapshot::getLastChangeId).orElse(0L);
+        return changeRepository.countByReleaseIdAndIdGreaterThan(releaseId, afterId);
+    }
+
+    private ObjectNode replay(ObjectNode state, ReleaseChange change) {
+        for (JsonNode entry : readTree(change.getChanges())) {
+            state = ReleaseHistoryReplay.apply(state, entry);
+        }
+        return state;
+    }
+
+    private ObjectNode readState(String json) {
+        return (ObjectNode) readTree(json);
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable release history entry", e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ImportRecord;
+import com.example.releaseportal.dto.ImportResult;
+import com.example.releaseportal.model.LabelledStatus;
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports release graphs from the NDJSON record format written by {@link ReleaseExportService}.
+ * <p>
+ * The file is read one record at a time. Records are buffered into chunks that are written in
+ * their own transaction as JDBC batches, parents first (releases, teams, components, user stories,
+ * then story links), so a file that lists parents before children never violates a foreign key and
+ * memory use is bounded by the chunk size. Nothing goes through the persistence context. Readiness
+ * aggregates, revisions, history snapshots, the detail cache and the in-memory indexes are brought up to date
+ * once at the end.
+ */
+@Service
+@Slf4j
+public class ReleaseImportService {
+
+    private static final String INSERT_RELEASE = "insert into release "
+            + "(id, name, version, release_date, status, overall_app_owner_signed_off, revision) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TEAM = "insert into team "
+            + "(id, release_id, name, team_dl, product_owner, qa_signed_off, app_owner_signed_off) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMPONENT = "insert into component "
+            + "(id, team_id, name, version, sonar_qube, nexus_iq, checkmarx) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_STORY = "insert into user_story "
+            + "(id, team_id, description, qa_status) values (?, ?, ?, ?)";
+    private static final String INSERT_STORY_COMPONENT = "insert into user_story_component "
+            + "(user_story_id, component_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReadinessService readinessService;
+    private final ReleaseRevisionService releaseRevisionService;
+    private final ReleaseDetailCache releaseDetailCache;
+    private final UserStoryTextIndex userStoryTextIndex;
+    private final ComponentVersionIndex componentVersionIndex;
+    private final ReleaseHistoryService releaseHistoryService;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public ReleaseImportService(JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedJdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                ReadinessService readinessService,
+                                ReleaseRevisionService releaseRevisionService,
+                                ReleaseDetailCache releaseDetailCache,
+                                UserStoryTextIndex userStoryTextIndex,
+                                ComponentVersionIndex componentVersionIndex,
+                                ReleaseHistoryService releaseHistoryService,
+                                @Value("${import.chunk-size:5000}") int chunkSize,
+                                @Value("${import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.readinessService = readinessService;
+        this.releaseRevisionService = releaseRevisionService;
+        this.releaseDetailCache = releaseDetailCache;
+        this.userStoryTextIndex = userStoryTextIndex;
+        this.componentVersionIndex = componentVersionIndex;
+        this.releaseHistoryService = releaseHistoryService;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    public ImportResult importGraph(InputStream in) throws IOException {
+        return importGraph(in, soFar -> { });
+    }
+
+    public ImportResult importGraph(InputStream in, ImportProgressListener progress) throws IOException {
+        return importGraph(in, objectMapper, progress);
+    }
+
+    /**
+     * Imports every record of the stream, calling {@code progress} after each committed chunk. Records are
+     * read with {@code format}, so the same record sequence can come as NDJSON, Smile or CBOR.
+     */
+    public ImportResult importGraph(InputStream in, ObjectMapper format, ImportProgressListener progress) throws IOException {
+        long started = System.nanoTime();
+        ImportResult result = new ImportResult();
+        ImportState state = new ImportState();
+        Chunk chunk = new Chunk();
+        long recordNumber = 0;
+        try (MappingIterator<ImportRecord> records = format.readerFor(ImportRecord.class).readValues(in)) {
+            while (records.hasNextValue()) {
+                ImportRecord record = records.nextValue();
+                recordNumber++;
+                chunk.add(record, recordNumber, state);
+                if (chunk.size() >= chunkSize) {
+                    write(chunk, result);
+                    chunk = new Chunk();
+                    result.finish(System.nanoTime() - started);
+                    progress.chunkCommitted(result);
+                }
+            }
+            if (chunk.size() > 0) {
+                write(chunk, result);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Import stopped after {} records: {}", recordNumber, e.getOriginalMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Malformed import record after record " + recordNumber + "; earlier chunks were committed", e);
+        } finally {
+            result.finish(System.nanoTime() - started);
+            // Committed chunks stay even if a later one fails, so derived state is refreshed either way
+            if (result.getRecords() > 0) {
+                refreshDerivedState(state);
+            }
+        }
+        progress.chunkCommitted(result);
+        log.info("Imported {} records ({} releases, {} teams, {} components, {} user stories, {} links) in {} ms, {} records/s",
+                result.getRecords(), result.getReleases(), result.getTeams(), result.getComponents(),
+                result.getUserStories(), result.getStoryComponents(), result.getElapsedMillis(), result.getRecordsPerSecond());
+        return result;
+    }
+
+    private void write(Chunk chunk, ImportResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // New releases start at a fresh revision, which moves the collection tag like any other write
+                long revision = releaseRevisionService.nextRevision();
+                batch(INSERT_RELEASE, chunk.releases.stream().map(row -> withRevision(row, revision)).toList());
+                batch(INSERT_TEAM, chunk.teams);
+                batch(INSERT_COMPONENT, chunk.components);
+                batch(INSERT_USER_STORY, chunk.userStories);
+                batch(INSERT_STORY_COMPONENT, chunk.storyComponents);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Import chunk of records {}-{} failed: {}", chunk.firstRecord, chunk.lastRecord, e.getMostSpecificCause().getMessage());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Records " + chunk.firstRecord + "-" + chunk.lastRecord
+                    + " could not be imported (duplicate id or missing parent); earlier chunks were committed", e);
+        }
+        result.setReleases(result.getReleases() + chunk.releases.size());
+        result.setTeams(result.getTeams() + chunk.teams.size());
+        result.setComponents(result.getComponents() + chunk.components.size());
+        result.setUserStories(result.getUserStories() + chunk.userStories.size());
+        result.setStoryComponents(result.getStoryComponents() + chunk.storyComponents.size());
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private void refreshDerivedState(ImportState state) {
+        // Existing releases that received teams, directly or through existing teams, need their aggregates rebuilt
+        Set<String> existingReleaseIds = new HashSet<>(state.referencedReleaseIds);
+        existingReleaseIds.removeAll(state.importedReleaseIds);
+        Set<String> existingTeamIds = new HashSet<>(state.referencedTeamIds);
+        existingTeamIds.removeAll(state.importedTeamIds);
+        if (!existingTeamIds.isEmpty()) {
+            existingReleaseIds.addAll(namedJdbcTemplate.queryForList(
+                    "select distinct release_id from team where id in (:ids) and release_id is not null",
+                    new MapSqlParameterSource("ids", existingTeamIds), String.class));
+        }
+        if (!existingReleaseIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                readinessService.recompute(existingReleaseIds);
+                existingReleaseIds.forEach(releaseRevisionService::touch);
+            });
+        }
+        readinessService.initializeMissing();
+        // Imported rows bypass the change history; snapshot new releases and the existing ones that changed
+        Set<String> changedReleaseIds = new HashSet<>(state.importedReleaseIds);
+        changedReleaseIds.addAll(existingReleaseIds);
+        releaseHistoryService.snapshot(changedReleaseIds);
+        releaseDetailCache.invalidateAll();
+        userStoryTextIndex.rebuildInBackground();
+        componentVersionIndex.rebuildInBackground();
+    }
+
+    private static Object[] withRevision(Object[] row, long revision) {
+        Object[] stamped = Arrays.copyOf(row, row.length + 1);
+        stamped[row.length] = revision;
+        return stamped;
+    }
+
+    private static <E extends Enum<E> & LabelledStatus> String label(Class<E> type, String value, E fallback, long recordNumber) {
+        if (value == null) {
+            return fallback.getLabel();
+        }
+        try {
+            return LabelledStatus.parse(type, value).getLabel();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Record " + recordNumber + ": " + e.getMessage());
+        }
+    }
+
+    private static String require(String value, String field, long recordNumber) {
+        if (value == null || value.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Record " + recordNumber + ": " + field + " is required");
+        }
+        return value;
+    }
+
+    /** Receives the running totals after every committed chunk. */
+    @FunctionalInterface
+    public interface ImportProgressListener {
+        void chunkCommitted(ImportResult soFar);
+    }
+
+    /** Logs the records imported so far and the throughput, prefixed with {@code source}. */
+    public static ImportProgressListener logProgress(String source) {
+        return soFar -> log.info("{}: {} records imported, {} records/s", source, soFar.getRecords(), soFar.getRecordsPerSecond());
+    }
+
+    // Ids seen across the whole import, used to find pre-existing parents whose aggregates changed
+    private static final class ImportState {
+        private final Set<String> importedReleaseIds = new HashSet<>();
+        private final Set<String> referencedReleaseIds = new HashSet<>();
+        private final Set<String> importedTeamIds = new HashSet<>();
+        private final Set<String> referencedTeamIds = new HashSet<>();
+    }
+
+    private static final class Chunk {
+        private final List<Object[]> releases = new ArrayList<>();
+        private final List<Object[]> teams = new ArrayList<>();
+        private final List<Object[]> components = new ArrayList<>();
+        private final List<Object[]> userStories = new ArrayList<>();
+        private final List<Object[]> storyComponents = new ArrayList<>();
+        private long firstRecord;
+        private long lastRecord;
+
+        int size() {
+            return releases.size() + teams.size() + components.size() + userStories.size() + storyComponents.size();
+        }
+
+        void add(ImportRecord r, long recordNumber, ImportState state) {
+            if (firstRecord == 0) {
+                firstRecord = recordNumber;
+            }
+            lastRecord = recordNumber;
+            String type = require(r.getType(), "type", recordNumber);
+            switch (type) {
+                case "release" -> {
+                    String id = require(r.getId(), "id", recordNumber);
+                    releases.add(new Object[] { id, r.getName(), r.getVersion(), r.getReleaseDate(),
+                            label(ReleaseStatus.class, r.getStatus(), ReleaseStatus.IN_PROGRESS, recordNumber),
+                            label(SignOffStatus.class, r.getOverallAppOwnerSignedOff(), SignOffStatus.PENDING, recordNumber) });
+                    state.importedReleaseIds.add(id);
+                }
+                case "team" -> {
+                    String id = require(r.getId(), "id", recordNumber);
+                    teams.add(new Object[] { id, r.getReleaseId(), r.getName(), r.getTeamDl(), r.getProductOwner(),
+                            label(SignOffStatus.class, r.getQaSignedOff(), SignOffStatus.PENDING, recordNumber),
+                            label(SignOffStatus.class, r.getAppOwnerSignedOff(), SignOffStatus.PENDING, recordNumber) });
+                    state.importedTeamIds.add(id);
+                    if (r.getReleaseId() != null) {
+                        state.referencedReleaseIds.add(r.getReleaseId());
+                    }
+                }
+                case "component" -> {
+                    components.add(new Object[] { require(r.getId(), "id", recordNumber),
+                            require(r.getTeamId(), "teamId", recordNumber), r.getName(), r.getVersion(),
+                            label(ScanStatus.class, r.getSonarQube(), ScanStatus.PENDING, recordNumber),
+                            label(ScanStatus.class, r.getNexusIq(), ScanStatus.PENDING, recordNumber),
+                            label(ScanStatus.class, r.getCheckmarx(), ScanStatus.PENDING, recordNumber) });
+                    state.referencedTeamIds.add(r.getTeamId());
+                }
+                case "userStory" -> {
+                    userStories.add(new Object[] { require(r.getId(), "id", recordNumber),
+                            require(r.getTeamId(), "teamId", recordNumber), r.getDescription(),
+                            label(QaStatus.class, r.getQaStatus(), QaStatus.PENDING, recordNumber) });
+                    state.referencedTeamIds.add(r.getTeamId());
+                }
+                case "storyComponent" -> storyComponents.add(new Object[] {
+                        require(r.getUserStoryId(), "userStoryId", recordNumber),
+                        require(r.getComponentId(), "componentId", recordNumber) });
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Record " + recordNumber + ": unknown type '" + type + "'");
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.repository.ReleaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Release-level revisions used as strong ETags.
+ * <p>
+ * Any write to a release, its teams, components or user stories calls {@link #touch} in the
+ * same transaction. Revisions come from a process-wide clock that never hands out the same
+ * value twice, so two committed states of a release never share a revision and clients can
+ * revalidate with a single-column lookup instead of loading the graph.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReleaseRevisionService {
+
+    private final ReleaseRepository releaseRepository;
+
+    private final AtomicLong lastRevision = new AtomicLong();
+
+    /** Bumps the release's revision; a release that does not exist is a 404, so nothing is recorded for it. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long touch(String releaseId) {
+        long revision = nextRevision();
+        if (releaseRepository.updateRevision(releaseId, revision) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found");
+        }
+        return revision;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> releaseTag(String releaseId) {
+        return releaseRepository.findRevisionById(releaseId).map(ReleaseRevisionService::tag);
+    }
+
+    /**
+     * A tag for the whole release collection from one aggregate lookup: the highest revision and the number
+     * of releases. Every write stamps its release with a revision above all earlier ones, so any write raises
+     * the maximum; a delete may lower it again, but then only to a state whose releases are all unchanged
+     * since that maximum was reached, and which the count tells apart.
+     */
+    @Transactional(readOnly = true)
+    public String collectionTag() {
+        Object[] row = releaseRepository.findCollectionVersion().get(0);
+        long maxRevision = row[0] != null ? (Long) row[0] : 0;
+        return "c-" + maxRevision + "-" + row[1];
+    }
+
+    /**
+     * Rejects a write whose If-Match header no longer matches the release, so a client acting on a
+     * stale view gets 412 instead of silently overwriting someone else's change. The release row stays
+     * locked until the write commits, so no other write can change the revision after the check.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkPrecondition(String releaseId, String ifMatch) {
+        if (ifMatch == null) {
+            return;
+        }
+        long revision = releaseRepository.findRevisionForUpdateById(releaseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Release not found"));
+        if (!matches(ifMatch, revision)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Release has changed since it was read");
+        }
+    }
+
+    /** True when the If-Match header is absent, a wildcard, or lists the given revision's tag. */
+    public boolean matches(String ifMatch, long revision) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String expected = tag(revision);
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 1) {
+                value = value.substring(1, value.length() - 1);
+            }
+            if (value.equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String tag(long revision) {
+        return "r-" + revision;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeFromStoredRevisions() {
+        Long stored = releaseRepository.findMaxRevision();
+        if (stored != null) {
+            lastRevision.accumulateAndGet(stored, Math::max);
+        }
+    }
+
+    /**
+     * The next value of the revision clock: a microsecond wall clock, bumped by one whenever two revisions are
+     * requested in the same tick. Public for rows written without {@link #touch}, such as imported releases.
+     */
+    public long nextRevision() {
+        long now = System.currentTimeMillis() * 1000;
+        return lastRevision.accumulateAndGet(now, (previous, candidate) -> Math.max(previous + 1, candidate));
+    }
+}
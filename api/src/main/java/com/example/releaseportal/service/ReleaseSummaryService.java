@@ -0,0 +1,76 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseSummary;
+import com.example.releaseportal.dto.ReleaseSummaryPage;
+import com.example.releaseportal.repository.ReleaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset-paginated release summaries, newest release date first.
+ * The cursor is the (releaseDate, id) of the last row of the previous page, so
+ * each page costs the same regardless of how deep into the history it is.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReleaseSummaryService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final char SEPARATOR = '\n';
+
+    private final ReleaseRepository releaseRepository;
+
+    @Transactional(readOnly = true)
+    public ReleaseSummaryPage getPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Ask for one extra row to find out whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<ReleaseSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = releaseRepository.findSummaries(pageable);
+        } else {
+            String[] key = decodeCursor(cursor);
+            rows = key[0] == null
+                    ? releaseRepository.findSummariesAfterUndated(key[1], pageable)
+                    : releaseRepository.findSummariesAfter(key[0], key[1], pageable);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new ReleaseSummaryPage(rows, null);
+        }
+        List<ReleaseSummary> page = rows.subList(0, pageSize);
+        return new ReleaseSummaryPage(page, encodeCursor(page.get(pageSize - 1)));
+    }
+
+    private String encodeCursor(ReleaseSummary last) {
+        String date = last.getReleaseDate() == null ? "" : last.getReleaseDate();
+        String raw = date + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        int split = raw.indexOf(SEPARATOR);
+        if (split < 0 || split == raw.length() - 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        String date = raw.substring(0, split);
+        return new String[] { date.isEmpty() ? null : date, raw.substring(split + 1) };
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.Team;
+import com.example.releaseportal.model.UserStory;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.TeamRepository;
+import com.example.releaseportal.repository.UserStoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Release and team documents for the collection reads: whole graphs as {@link ReleaseDetail}s, and
+ * sparse release documents for {@code ?fields=} and {@code ?include=}.
+ * <p>
+ * Only the requested associations are loaded: teams through the release entity graph, components
+ * and user stories through their subselect-fetched collections, and story-to-component links as
+ * plain id pairs, so a story lists {@code componentIds} instead of repeating its components.
+ * Documents are built inside the read transaction, so nothing is lazily loaded while rendering.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReleaseViewService {
+
+    private static final String TEAM = "team.";
+    private static final String COMPONENT = "component.";
+    private static final String USER_STORY = "userStory.";
+    private static final String COMPONENT_IDS = "componentIds";
+
+    private static final Map<String, Function<Release, Object>> RELEASE_FIELDS = fields(Map.of(
+            "name", Release::getName,
+            "version", Release::getVersion,
+            "releaseDate", Release::getReleaseDate,
+            "status", Release::getStatus,
+            "overallAppOwnerSignedOff", Release::getOverallAppOwnerSignedOff,
+            "lockVersion", Release::getLockVersion), Release::getId);
+    private static final Map<String, Function<Team, Object>> TEAM_FIELDS = fields(Map.of(
+            "name", Team::getName,
+            "teamDl", Team::getTeamDl,
+            "productOwner", Team::getProductOwner,
+            "qaSignedOff", Team::getQaSignedOff,
+            "appOwnerSignedOff", Team::getAppOwnerSignedOff,
+            "lockVersion", Team::getLockVersion), Team::getId);
+    private static final Map<String, Function<Component, Object>> COMPONENT_FIELDS = fields(Map.of(
+            "name", Component::getName,
+            "version", Component::getVersion,
+            "sonarQube", Component::getSonarQube,
+            "nexusIq", Component::getNexusIq,
+            "checkmarx", Component::getCheckmarx,
+            "lockVersion", Component::getLockVersion), Component::getId);
+    // componentIds is filled from the link table, not from the entity
+    private static final Map<String, Function<UserStory, Object>> USER_STORY_FIELDS = fields(Map.of(
+            "description", UserStory::getDescription,
+            "qaStatus", UserStory::getQaStatus,
+            "lockVersion", UserStory::getLockVersion,
+            COMPONENT_IDS, story -> null), UserStory::getId);
+
+    private final ReleaseRepository releaseRepository;
+    private final TeamRepository teamRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Parses the query parameters. {@code include} lists associations ({@code teams}, {@code components},
+     * {@code userStories}; the latter two imply teams). {@code fields} lists attributes, release ones bare
+     * and the others prefixed with {@code team.}, {@code component.} or {@code userStory.}; a type with no
+     * listed attribute keeps all of them, and ids are always included.
+     */
+    public View parse(String fields, String include) {
+        Set<String> includes = split(include);
+        for (String name : includes) {
+            if (!Set.of("teams", "components", "userStories").contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Cannot include '" + name + "', expected teams, components or userStories");
+            }
+        }
+        Set<String> releaseFields = new LinkedHashSet<>();
+        Set<String> teamFields = new LinkedHashSet<>();
+        Set<String> componentFields = new LinkedHashSet<>();
+        Set<String> userStoryFields = new LinkedHashSet<>();
+        for (String field : split(fields)) {
+            if (field.startsWith(TEAM)) {
+                teamFields.add(known(field, TEAM, TEAM_FIELDS));
+            } else if (field.startsWith(COMPONENT)) {
+                componentFields.add(known(field, COMPONENT, COMPONENT_FIELDS));
+            } else if (field.startsWith(USER_STORY)) {
+                userStoryFields.add(known(field, USER_STORY, USER_STORY_FIELDS));
+            } else {
+                releaseFields.add(known(field, "", RELEASE_FIELDS));
+            }
+        }
+        boolean components = includes.contains("components");
+        boolean userStories = includes.contains("userStories");
+        return new View(selected(releaseFields, RELEASE_FIELDS), selected(teamFields, TEAM_FIELDS),
+                selected(componentFields, COMPONENT_FIELDS), selected(userStoryFields, USER_STORY_FIELDS),
+                includes.contains("teams") || components || userStories, components, userStories);
+    }
+
+    /** Every release with its teams, components and user stories, as {@code GET /api/releases} lists them. */
+    @Transactional(readOnly = true)
+    public List<ReleaseDetail> detailAll() {
+        return releaseRepository.findAllWithTeams().stream().map(ReleaseDetail::from).toList();
+    }
+
+    /** Every team with its components and user stories, as {@code GET /api/teams} lists them. */
+    @Transactional(readOnly = true)
+    public List<ReleaseDetail.TeamDetail> teamDetails() {
+        return teamRepository.findAllWithComponents().stream().map(ReleaseDetail.TeamDetail::from).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ObjectNode> render(String releaseId, View view) {
+        Optional<Release> release = view.teams() ? releaseRepository.findWithTeamsById(releaseId)
+                : releaseRepository.findById(releaseId);
+        if (release.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, List<String>> links = view.linksNeeded()
+                ? componentIds(userStoryRepository.findComponentLinksByReleaseIds(List.of(releaseId)))
+                : Map.of();
+        return Optional.of(release(release.get(), view, links));
+    }
+
+    @Transactional(readOnly = true)
+    public ArrayNode renderAll(View view) {
+        List<Release> releases = view.teams() ? releaseRepository.findAllWithTeams() : releaseRepository.findAll();
+        Map<String, List<String>> links = view.linksNeeded()
+                ? componentIds(userStoryRepository.findAllComponentLinks())
+                : Map.of();
+        ArrayNode documents = objectMapper.createArrayNode();
+        releases.forEach(release -> documents.add(release(release, view, links)));
+        return documents;
+    }
+
+    private ObjectNode release(Release release, View view, Map<String, List<String>> links) {
+        ObjectNode node = object(release, view.releaseFields(), RELEASE_FIELDS);
+        if (view.teams()) {
+            ArrayNode teams = node.putArray("teams");
+            for (Team team : release.getTeams()) {
+                ObjectNode teamNode = object(team, view.teamFields(), TEAM_FIELDS);
+                if (view.components()) {
+                    ArrayNode components = teamNode.putArray("components");
+                    team.getComponents().forEach(component -> components.add(object(component, view.componentFields(), COMPONENT_FIELDS)));
+                }
+                if (view.userStories()) {
+                    ArrayNode stories = teamNode.putArray("userStories");
+                    for (UserStory story : team.getUserStories()) {
+                        ObjectNode storyNode = object(story, view.userStoryFields(), USER_STORY_FIELDS);
+                        if (view.userStoryFields().contains(COMPONENT_IDS)) {
+                            ArrayNode ids = storyNode.putArray(COMPONENT_IDS);
+                            links.getOrDefault(story.getId(), List.of()).forEach(ids::add);
+                        }
+                        stories.add(storyNode);
+                    }
+                }
+                teams.add(teamNode);
+            }
+        }
+        return node;
+    }
+
+    private <T> ObjectNode object(T entity, Set<String> selected, Map<String, Function<T, Object>> fields) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (String field : selected) {
+            node.set(field, objectMapper.valueToTree(fields.get(field).apply(entity)));
+        }
+        return node;
+    }
+
+    // Rows of [storyId, componentId]
+    private static Map<String, List<String>> componentIds(List<Object[]> rows) {
+        Map<String, List<String>> links = new HashMap<>();
+        for (Object[] row : rows) {
+            links.computeIfAbsent((String) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return links;
+    }
+
+    private static <T> String known(String field, String prefix, Map<String, Function<T, Object>> fields) {
+        String name = field.substring(prefix.length());
+        if (!fields.containsKey(name)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown field '" + field + "', expected one of " + fields.keySet().stream().map(f -> prefix + f).toList());
+        }
+        return name;
+    }
+
+    // Ids first, then the listed fields in a stable order
+    private static <T> Set<String> selected(Set<String> requested, Map<String, Function<T, Object>> fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.keySet()) {
+            if (field.equals("id") || requested.isEmpty() || requested.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected;
+    }
+
+    private static <T> Map<String, Function<T, Object>> fields(Map<String, Function<T, Object>> attributes, Function<T, Object> id) {
+        Map<String, Function<T, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", id);
+        attributes.keySet().stream().sorted().forEach(name -> fields.put(name, attributes.get(name)));
+        return fields;
+    }
+
+    private static Set<String> split(String list) {
+        Set<String> values = new LinkedHashSet<>();
+        if (list != null) {
+            for (String value : list.split(",")) {
+                if (!value.isBlank()) {
+                    values.add(value.trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    /** Attributes to render per type, and which associations to load. */
+    public record View(Set<String> releaseFields, Set<String> teamFields, Set<String> componentFields,
+                       Set<String> userStoryFields, boolean teams, boolean components, boolean userStories) {
+
+        boolean linksNeeded() {
+            return userStories && userStoryFields.contains(COMPONENT_IDS);
+        }
+    }
+}
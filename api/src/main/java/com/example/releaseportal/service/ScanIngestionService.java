@@ -0,0 +1,223 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.BulkScanResult;
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.dto.ScanOutcome;
+import com.example.releaseportal.dto.ScanResultRecord;
+import com.example.releaseportal.model.ScanStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies scan results reported by CI pipelines in bulk.
+ * <p>
+ * The request body is an array of {@link ScanResultRecord}s in JSON, Smile or CBOR that is parsed incrementally,
+ * so the array is never held in memory as a whole. Records are applied in chunks, each in its
+ * own transaction: one query reads the current scan columns of the chunk's components, one
+ * JDBC batch writes the changed rows, and readiness, revisions and change events are updated
+ * once per team and release rather than once per record.
+ */
+@Service
+@Slf4j
+public class ScanIngestionService {
+
+    private static final Map<String, Integer> SCAN_COLUMNS = Map.of("sonarQube", 0, "nexusIq", 1, "checkmarx", 2);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadinessService readinessService;
+    private final ReleaseChangePublisher releaseChanges;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ScanIngestionService(NamedParameterJdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ReadinessService readinessService,
+                                ReleaseChangePublisher releaseChanges,
+                                ObjectMapper objectMapper,
+                                @Value("${scan-ingestion.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readinessService = readinessService;
+        this.releaseChanges = releaseChanges;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Applies every record up to the end of the array or the first one that cannot be read. A body that
+     * breaks off part way keeps what was applied before the break, and the result says where it stopped.
+     */
+    public BulkScanResult ingest(InputStream body) throws IOException {
+        return ingest(body, objectMapper);
+    }
+
+    /** As {@link #ingest(InputStream)}, reading the body with {@code format}'s parser (JSON, Smile or CBOR). */
+    public BulkScanResult ingest(InputStream body, ObjectMapper format) throws IOException {
+        BulkScanResult result = new BulkScanResult();
+        List<ScanResultRecord> chunk = new ArrayList<>(chunkSize);
+        String error = null;
+        try (JsonParser parser = format.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected an array of scan results");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(parser.readValueAs(ScanResultRecord.class));
+                if (chunk.size() == chunkSize) {
+                    applyChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                error = "Expected a scan result object";
+            }
+        } catch (JsonProcessingException e) {
+            error = e.getOriginalMessage();
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, result);
+        }
+        if (error != null) {
+            result.stop(error);
+            log.warn("Bulk scan ingestion stopped at record {}: {}", result.getStoppedAt(), error);
+        }
+        log.info("Bulk scan ingestion: {} received, {} updated, {} unchanged, {} rejected",
+                result.getReceived(), result.getUpdated(), result.getUnchanged(), result.getRejected());
+        return result;
+    }
+
+    private void applyChunk(List<ScanResultRecord> records, BulkScanResult result) {
+        int firstIndex = result.getReceived();
+        List<ScanOutcome> outcomes = transactionTemplate.execute(status -> applyInTransaction(records, firstIndex));
+        outcomes.forEach(result::add);
+    }
+
+    private List<ScanOutcome> applyInTransaction(List<ScanResultRecord> records, int firstIndex) {
+        Map<String, ComponentScans> components = loadComponents(records);
+        Map<String, ReadinessDelta> teamDeltas = new HashMap<>();
+        Map<String, List<ReleaseChangeEvent>> releaseEvents = new LinkedHashMap<>();
+        List<ScanOutcome> outcomes = new ArrayList<>(records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            ScanResultRecord record = records.get(i);
+            Integer column = SCAN_COLUMNS.get(record.getScanType());
+            ScanStatus status = parseStatus(record.getStatus());
+            if (record.getComponentId() == null || column == null || status == null) {
+                outcomes.add(new ScanOutcome(firstIndex + i, record.getComponentId(), ScanOutcome.INVALID));
+                continue;
+            }
+            ComponentScans component = components.get(record.getComponentId());
+            if (component == null) {
+                outcomes.add(new ScanOutcome(firstIndex + i, record.getComponentId(), ScanOutcome.NOT_FOUND));
+                continue;
+            }
+            ScanStatus previous = component.statuses[column];
+            if (status == previous) {
+                outcomes.add(new ScanOutcome(firstIndex + i, record.getComponentId(), ScanOutcome.UNCHANGED));
+                continue;
+            }
+            component.statuses[column] = status;
+            component.changed = true;
+            teamDeltas.computeIfAbsent(component.teamId, k -> new ReadinessDelta())
+                    .scan(previous, -1).scan(status, 1);
+            if (component.releaseId != null) {
+                releaseEvents.computeIfAbsent(component.releaseId, k -> new ArrayList<>()).add(ReleaseChangeEvent.updated(
+                        ReleaseChangeEvent.COMPONENT, component.id, record.getScanType(), status));
+            }
+            outcomes.add(new ScanOutcome(firstIndex + i, record.getComponentId(), ScanOutcome.UPDATED));
+        }
+
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        for (ComponentScans component : components.values()) {
+            if (component.changed) {
+                updates.add(new MapSqlParameterSource()
+                        .addValue("id", component.id)
+                        .addValue("sonarQube", label(component.statuses[0]))
+                        .addValue("nexusIq", label(component.statuses[1]))
+                        .addValue("checkmarx", label(component.statuses[2])));
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update component set sonar_qube = :sonarQube, nexus_iq = :nexusIq, "
+                    + "checkmarx = :checkmarx, lock_version = lock_version + 1 where id = :id",
+                    updates.toArray(MapSqlParameterSource[]::new));
+        }
+        teamDeltas.forEach(readinessService::applyToTeam);
+        releaseEvents.forEach((releaseId, events) ->
+                releaseChanges.publish(releaseId, events.toArray(ReleaseChangeEvent[]::new)));
+        return outcomes;
+    }
+
+    private Map<String, ComponentScans> loadComponents(List<ScanResultRecord> records) {
+        Set<String> ids = new HashSet<>();
+        for (ScanResultRecord record : records) {
+            if (record.getComponentId() != null) {
+                ids.add(record.getComponentId());
+            }
+        }
+        Map<String, ComponentScans> components = new HashMap<>();
+        if (ids.isEmpty()) {
+            return components;
+        }
+        jdbcTemplate.query("select c.id, c.team_id, t.release_id, c.sonar_qube, c.nexus_iq, c.checkmarx "
+                        + "from component c left join team t on t.id = c.team_id where c.id in (:ids) for update",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    ComponentScans component = new ComponentScans(rs.getString(1), rs.getString(2), rs.getString(3),
+                            new ScanStatus[] { columnStatus(rs.getString(4)), columnStatus(rs.getString(5)), columnStatus(rs.getString(6)) });
+                    components.put(component.id, component);
+                });
+        return components;
+    }
+
+    private static ScanStatus parseStatus(String value) {
+        try {
+            return ScanStatus.fromLabel(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static ScanStatus columnStatus(String label) {
+        return label == null ? null : ScanStatus.fromLabel(label);
+    }
+
+    private static String label(ScanStatus status) {
+        return status == null ? null : status.getLabel();
+    }
+
+    private static final class ComponentScans {
+        private final String id;
+        private final String teamId;
+        private final String releaseId;
+        private final ScanStatus[] statuses;
+        private boolean changed;
+
+        private ComponentScans(String id, String teamId, String releaseId, ScanStatus[] statuses) {
+            this.id = id;
+            this.teamId = teamId;
+            this.releaseId = releaseId;
+            this.statuses = statuses;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ComponentSearchCriteria;
+import com.example.releaseportal.dto.ComponentSearchResult;
+import com.example.releaseportal.dto.ComponentUsageCriteria;
+import com.example.releaseportal.dto.ComponentUsageReport;
+import com.example.releaseportal.dto.ReleaseSearchCriteria;
+import com.example.releaseportal.dto.ReleaseSummary;
+import com.example.releaseportal.dto.SearchPage;
+import com.example.releaseportal.dto.UserStorySearchCriteria;
+import com.example.releaseportal.dto.UserStorySearchResult;
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.Team;
+import com.example.releaseportal.model.UserStory;
+import com.example.releaseportal.repository.ComponentRepository;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side filtered, sorted and paginated search over releases, components and user stories.
+ * <p>
+ * Filters translate to predicates on the indexed status and date columns, so only the requested
+ * page is read. Sorting is limited to a whitelist of columns per entity, always followed by the
+ * id so that pages are stable when sort values tie. A user story text query is answered from
+ * {@link UserStoryTextIndex} and ordered by relevance instead; component names and versions are
+ * looked up in {@link ComponentVersionIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final Set<String> RELEASE_SORTS = Set.of("name", "version", "releaseDate", "status");
+    private static final Set<String> COMPONENT_SORTS = Set.of("name", "version", "sonarQube", "nexusIq", "checkmarx");
+    static final Set<String> USER_STORY_SORTS = Set.of("id", "qaStatus");
+    static final int MAX_TEXT_MATCHES = 1000;
+    private static final int MAX_USAGE_COMPONENTS = 5000;
+
+    private final ReleaseRepository releaseRepository;
+    private final ComponentRepository componentRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final UserStoryTextIndex userStoryTextIndex;
+    private final ComponentVersionIndex componentVersionIndex;
+
+    @Transactional(readOnly = true)
+    public SearchPage<ReleaseSummary> searchReleases(ReleaseSearchCriteria criteria, Pageable pageable) {
+        Specification<Release> spec = (root, query, cb) -> cb.conjunction();
+        if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("status").in(criteria.getStatus()));
+        }
+        if (criteria.getOverallAppOwnerSignedOff() != null) {
+            spec = spec.and(equal("overallAppOwnerSignedOff", criteria.getOverallAppOwnerSignedOff()));
+        }
+        // Release dates are stored as ISO-8601 strings, which compare in date order
+        if (criteria.getReleasedFrom() != null) {
+            String from = criteria.getReleasedFrom().toString();
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("releaseDate"), from));
+        }
+        if (criteria.getReleasedTo() != null) {
+            String to = criteria.getReleasedTo().toString();
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("releaseDate"), to));
+        }
+        Page<Release> page = releaseRepository.findAll(spec, sorted(pageable, RELEASE_SORTS));
+        List<String> ids = page.getContent().stream().map(Release::getId).toList();
+        // Second query joins the readiness aggregates for just this page, then restores the page order
+        Map<String, ReleaseSummary> summaries = ids.isEmpty() ? Map.of()
+                : releaseRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(ReleaseSummary::getId, Function.identity()));
+        return SearchPage.of(page, ids.stream().map(summaries::get).toList());
+    }
+
+    @Transactional(readOnly = true)
+    public SearchPage<ComponentSearchResult> searchComponents(ComponentSearchCriteria criteria, Pageable pageable) {
+        Specification<Component> spec = scanFilters(criteria.getSonarQube(), criteria.getNexusIq(),
+                criteria.getCheckmarx(), criteria.getAnyScan());
+        if (criteria.getTeamId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("team").get("id"), criteria.getTeamId()));
+        }
+        if (criteria.getReleaseId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("team").get("release").get("id"), criteria.getReleaseId()));
+        }
+        return SearchPage.of(componentRepository.findAll(spec, sorted(pageable, COMPONENT_SORTS)), ComponentSearchResult::from);
+    }
+
+    @Transactional(readOnly = true)
+    public SearchPage<UserStorySearchResult> searchUserStories(UserStorySearchCriteria criteria, Pageable pageable) {
+        Specification<UserStory> spec = (root, query, cb) -> cb.conjunction();
+        if (criteria.getQaStatus() != null && !criteria.getQaStatus().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("qaStatus").in(criteria.getQaStatus()));
+        }
+        if (criteria.getTeamId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("team").get("id"), criteria.getTeamId()));
+        }
+        if (criteria.getReleaseId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("team").get("release").get("id"), criteria.getReleaseId()));
+        }
+        if (criteria.getComponentId() != null) {
+            // A story links each component at most once, so the join cannot duplicate rows
+            spec = spec.and((root, query, cb) -> cb.equal(root.join("components").get("id"), criteria.getComponentId()));
+        }
+        if (criteria.getQ() != null && !criteria.getQ().isBlank()) {
+            List<String> terms = UserStoryTextIndex.tokenize(criteria.getQ());
+            if (terms.isEmpty()) {
+                return SearchPage.of(Page.empty(sorted(pageable, USER_STORY_SORTS)), List.of());
+            }
+            if (userStoryTextIndex.isReady()) {
+                return rankedUserStories(criteria, spec, pageable);
+            }
+            // Index still being built: unranked match on the description column instead
+            Specification<UserStory> anyTerm = Specification.anyOf(terms.stream()
+                    .map(term -> (Specification<UserStory>) (root, query, cb) ->
+                            cb.like(cb.lower(root.get("description")), "%" + term + "%"))
+                    .toList());
+            spec = spec.and(anyTerm);
+        }
+        return SearchPage.of(userStoryRepository.findAll(spec, sorted(pageable, USER_STORY_SORTS)), UserStorySearchResult::from);
+    }
+
+    // Ranks by relevance from the text index, then applies the remaining filters to the matched ids only
+    private SearchPage<UserStorySearchResult> rankedUserStories(UserStorySearchCriteria criteria,
+                                                                Specification<UserStory> filters, Pageable pageable) {
+        // One more than is ranked, to tell a result that fills the cap from one that was cut off
+        List<UserStoryTextIndex.Match> matches = userStoryTextIndex.search(criteria.getQ(), MAX_TEXT_MATCHES + 1);
+        boolean truncated = matches.size() > MAX_TEXT_MATCHES;
+        if (truncated) {
+            matches = matches.subList(0, MAX_TEXT_MATCHES);
+        }
+        boolean filtered = (criteria.getQaStatus() != null && !criteria.getQaStatus().isEmpty())
+                || criteria.getTeamId() != null || criteria.getReleaseId() != null || criteria.getComponentId() != null;
+        if (filtered && !matches.isEmpty()) {
+            List<String> ids = matches.stream().map(UserStoryTextIndex.Match::storyId).toList();
+            Set<String> allowed = userStoryRepository.findAll(filters.and(idIn(ids))).stream()
+                    .map(UserStory::getId)
+                    .collect(Collectors.toSet());
+            matches = matches.stream().filter(match -> allowed.contains(match.storyId())).toList();
+        }
+
+        Pageable page = sorted(pageable, USER_STORY_SORTS);
+        int from = (int) Math.min(page.getOffset(), matches.size());
+        List<UserStoryTextIndex.Match> pageMatches = matches.subList(from, Math.min(from + page.getPageSize(), matches.size()));
+        Map<String, UserStory> stories = pageMatches.isEmpty() ? Map.of()
+                : userStoryRepository.findAll(idIn(pageMatches.stream().map(UserStoryTextIndex.Match::storyId).toList()), Pageable.unpaged())
+                        .stream()
+                        .collect(Collectors.toMap(UserStory::getId, Function.identity()));
+        List<UserStorySearchResult> items = new ArrayList<>();
+        for (UserStoryTextIndex.Match match : pageMatches) {
+            UserStory story = stories.get(match.storyId());
+            if (story == null) {
+                // Deleted together with its team or release, which publishes no per-story event
+                userStoryTextIndex.remove(match.storyId());
+            } else {
+                items.add(UserStorySearchResult.from(story, match.score()));
+            }
+        }
+        return SearchPage.of(new PageImpl<>(items, page, matches.size()), items, truncated);
+    }
+
+    /**
+     * Components matching a name and version filter and/or scan statuses, grouped by the release and team
+     * that ship them. Names and versions are looked up in {@link ComponentVersionIndex}, scan statuses on
+     * their indexed columns, so no release graph is scanned.
+     */
+    @Transactional(readOnly = true)
+    public ComponentUsageReport findComponentUsages(ComponentUsageCriteria criteria) {
+        boolean named = criteria.getName() != null && !criteria.getName().isBlank();
+        boolean scanFiltered = criteria.getSonarQube() != null || criteria.getNexusIq() != null
+                || criteria.getCheckmarx() != null || criteria.getAnyScan() != null;
+        ComponentVersionIndex.VersionFilter versions = ComponentVersionIndex.VersionFilter.of(
+                criteria.getVersion(), criteria.getMinVersion(), criteria.getMaxVersion());
+        if (!named && !scanFiltered) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give a component name, a scan status or both");
+        }
+        if (!named && !versions.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Version filters need a component name");
+        }
+        Specification<Component> spec = scanFilters(criteria.getSonarQube(), criteria.getNexusIq(),
+                criteria.getCheckmarx(), criteria.getAnyScan());
+        List<String> indexedIds = null;
+        if (named) {
+            if (componentVersionIndex.isReady()) {
+                indexedIds = componentVersionIndex.find(criteria.getName(), versions);
+                if (indexedIds.isEmpty()) {
+                    return new ComponentUsageReport();
+                }
+                spec = spec.and(idIn(indexedIds));
+            } else {
+                // Index still being built: match the name column and check versions here instead
+                String name = ComponentVersionIndex.key(criteria.getName());
+                spec = spec.and((root, query, cb) -> cb.equal(cb.lower(root.get("name")), name));
+            }
+        }
+        int limit = Math.max(1, Math.min(criteria.getLimit(), MAX_USAGE_COMPONENTS));
+        Page<Component> page = componentRepository.findAll(spec, PageRequest.of(0, limit, Sort.by("name", "version", "id")));
+        List<Component> components = page.getContent();
+        if (named && indexedIds == null) {
+            components = components.stream()
+                    .filter(component -> versions.matches(ComponentVersionIndex.ComponentVersion.parse(component.getVersion())))
+                    .toList();
+        }
+        return usageReport(components, page.hasNext());
+    }
+
+    private ComponentUsageReport usageReport(List<Component> components, boolean truncated) {
+        Map<String, List<ComponentUsageReport.LinkedUserStory>> stories = new HashMap<>();
+        if (!components.isEmpty()) {
+            for (Object[] row : userStoryRepository.findLinksByComponentIds(components.stream().map(Component::getId).toList())) {
+                stories.computeIfAbsent((String) row[0], id -> new ArrayList<>())
+                        .add(new ComponentUsageReport.LinkedUserStory((String) row[1], (String) row[2], (QaStatus) row[3]));
+            }
+        }
+        // Releases and teams in order of first appearance; a team without a release is grouped under a null release
+        Map<String, ComponentUsageReport.ReleaseUsage> releases = new LinkedHashMap<>();
+        Map<String, ComponentUsageReport.TeamUsage> teams = new HashMap<>();
+        for (Component component : components) {
+            Team team = component.getTeam();
+            if (team == null) {
+                continue;
+            }
+            ComponentUsageReport.TeamUsage teamUsage = teams.computeIfAbsent(team.getId(), id -> {
+                Release release = team.getRelease();
+                ComponentUsageReport.TeamUsage created = ComponentUsageReport.TeamUsage.from(team);
+                releases.computeIfAbsent(release == null ? null : release.getId(),
+                        releaseId -> ComponentUsageReport.ReleaseUsage.from(release)).getTeams().add(created);
+                return created;
+            });
+            teamUsage.getComponents().add(ComponentUsageReport.ComponentUsage.from(component,
+                    stories.getOrDefault(component.getId(), List.of())));
+        }
+        ComponentUsageReport report = new ComponentUsageReport();
+        report.getReleases().addAll(releases.values());
+        report.getReleases().sort(Comparator.comparing(ComponentUsageReport.ReleaseUsage::getReleaseDate,
+                        Comparator.nullsLast(Comparator.<String>reverseOrder()))
+                .thenComparing(ComponentUsageReport.ReleaseUsage::getId, Comparator.nullsLast(Comparator.<String>naturalOrder())));
+        report.setComponents(components.size());
+        report.setTruncated(truncated);
+        return report;
+    }
+
+    private static Specification<Component> scanFilters(ScanStatus sonarQube, ScanStatus nexusIq,
+                                                        ScanStatus checkmarx, ScanStatus anyScan) {
+        Specification<Component> spec = (root, query, cb) -> cb.conjunction();
+        if (sonarQube != null) {
+            spec = spec.and(equal("sonarQube", sonarQube));
+        }
+        if (nexusIq != null) {
+            spec = spec.and(equal("nexusIq", nexusIq));
+        }
+        if (checkmarx != null) {
+            spec = spec.and(equal("checkmarx", checkmarx));
+        }
+        if (anyScan != null) {
+            spec = spec.and(Specification.<Component>where(equal("sonarQube", anyScan))
+                    .or(equal("nexusIq", anyScan))
+                    .or(equal("checkmarx", anyScan)));
+        }
+        return spec;
+    }
+
+    private static <T> Specification<T> idIn(Collection<String> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    private static <T> Specification<T> equal(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    // The requested sort, then the id unless the sort already names it
+    static Pageable sorted(Pageable pageable, Set<String> allowed) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Cannot sort by '" + order.getProperty() + "', expected one of " + allowed);
+            }
+        }
+        int size = Math.max(1, Math.min(pageable.getPageSize(), ReleaseSummaryService.MAX_PAGE_SIZE));
+        Sort sort = pageable.getSort().getOrderFor("id") != null ? pageable.getSort() : pageable.getSort().and(Sort.by("id"));
+        return PageRequest.of(pageable.getPageNumber(), size, sort);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over user story descriptions, ranked with BM25.
+ * <p>
+ * The index is built from the database on a background thread after startup, so it never delays
+ * readiness; until it is ready {@link #isReady()} is false and callers fall back to a plain
+ * database scan. Committed story creates, description edits and deletes are applied incrementally
+ * from the release change events. Stories removed together with their team or release produce no
+ * story event; callers report ids they could no longer load through {@link #remove}.
+ */
+@Service
+@Slf4j
+public class UserStoryTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "i", "in", "is", "it", "my", "of",
+            "on", "or", "should", "so", "that", "the", "to", "with", "we", "will", "can");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held for a whole rebuild, so overlapping rebuilds run one after the other
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private Index index = new Index();
+    // Changes committed while a rebuild is running, replayed onto the new index before it is swapped in
+    private List<Consumer<Index>> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public UserStoryTextIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Matching story ids with their scores, best first, at most {@code limit} of them. */
+    public List<Match> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String storyId, String description) {
+        apply(target -> target.put(storyId, description));
+    }
+
+    public void remove(String storyId) {
+        apply(target -> target.remove(storyId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChange(ReleaseChangeEvent event) {
+        if (!ReleaseChangeEvent.USER_STORY.equals(event.getEntityType())) {
+            return;
+        }
+        switch (event.getAction()) {
+            case ReleaseChangeEvent.CREATED -> {
+                JsonNode story = (JsonNode) event.getValue();
+                put(event.getEntityId(), story == null ? null : story.path("description").asText(null));
+            }
+            case ReleaseChangeEvent.UPDATED -> {
+                if ("description".equals(event.getField())) {
+                    put(event.getEntityId(), (String) event.getValue());
+                }
+            }
+            case ReleaseChangeEvent.DELETED -> remove(event.getEntityId());
+            default -> {
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "user-story-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Reads every description from the database into a fresh index and swaps it in. */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildExclusively();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildExclusively() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index rebuilt = new Index();
+        try {
+            jdbcTemplate.query("select id, description from user_story",
+                    rs -> {
+                        rebuilt.put(rs.getString(1), rs.getString(2));
+                    });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("User story index rebuild failed; text search keeps using the database", e);
+            return;
+        }
+        int documents;
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            index = rebuilt;
+            documents = rebuilt.lengths.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} user stories in {} ms", documents, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Lower-cased words of two or more characters, stop words dropped and plural "s" trimmed. */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() < 2 || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            terms.add(word);
+        }
+        return terms;
+    }
+
+    public record Match(String storyId, double score) {
+    }
+
+    private static final class Index {
+        private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+        private final Map<String, List<String>> documentTerms = new HashMap<>();
+        private final Map<String, Integer> lengths = new HashMap<>();
+        private long totalLength;
+
+        void put(String id, String description) {
+            remove(id);
+            List<String> terms = tokenize(description);
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : terms) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+            frequencies.forEach((term, count) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(id, count));
+            documentTerms.put(id, new ArrayList<>(frequencies.keySet()));
+            lengths.put(id, terms.size());
+            totalLength += terms.size();
+        }
+
+        void remove(String id) {
+            List<String> terms = documentTerms.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<String, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= lengths.remove(id);
+        }
+
+        List<Match> search(List<String> terms, int limit) {
+            int documents = lengths.size();
+            if (documents == 0 || terms.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documents);
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, frequency) -> {
+                    double norm = K1 * (1 - B + B * lengths.get(id) / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> new Match(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+    }
+}
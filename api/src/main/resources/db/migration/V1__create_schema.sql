@@ -0,0 +1,142 @@
+-- Schema of the release graph, its derived readiness aggregates, change history and notification outbox.
+-- Entities are validated against it at startup (spring.jpa.hibernate.ddl-auto=validate); later changes go
+-- into new V<n>__*.sql files, never into an applied one. Versions are shared with db/seed, where V2 is taken.
+
+create table release (
+    id varchar(255) not null,
+    name varchar(255),
+    version varchar(255),
+    release_date varchar(255),
+    status varchar(16),
+    overall_app_owner_signed_off varchar(16),
+    lock_version bigint default 0 not null,
+    revision bigint default 0 not null,
+    primary key (id)
+);
+
+create table team (
+    id varchar(255) not null,
+    release_id varchar(255),
+    name varchar(255),
+    team_dl varchar(255),
+    product_owner varchar(255),
+    qa_signed_off varchar(16),
+    app_owner_signed_off varchar(16),
+    lock_version bigint default 0 not null,
+    primary key (id),
+    constraint fk_team_release foreign key (release_id) references release
+);
+
+create table component (
+    id varchar(255) not null,
+    team_id varchar(255),
+    name varchar(255),
+    version varchar(255),
+    sonar_qube varchar(16),
+    nexus_iq varchar(16),
+    checkmarx varchar(16),
+    lock_version bigint default 0 not null,
+    primary key (id),
+    constraint fk_component_team foreign key (team_id) references team
+);
+
+create table user_story (
+    id varchar(255) not null,
+    team_id varchar(255),
+    description varchar(1024),
+    qa_status varchar(16),
+    lock_version bigint default 0 not null,
+    primary key (id),
+    constraint fk_user_story_team foreign key (team_id) references team
+);
+
+create table user_story_component (
+    user_story_id varchar(255) not null,
+    component_id varchar(255) not null,
+    constraint fk_user_story_component_story foreign key (user_story_id) references user_story,
+    constraint fk_user_story_component_component foreign key (component_id) references component
+);
+
+create table release_readiness (
+    release_id varchar(255) not null,
+    overall_app_owner_signed_off varchar(255),
+    team_count bigint not null,
+    teams_qa_signed_off bigint not null,
+    teams_app_owner_signed_off bigint not null,
+    scans_passed bigint not null,
+    scans_failed bigint not null,
+    scans_pending bigint not null,
+    qa_passed bigint not null,
+    qa_failed bigint not null,
+    qa_in_progress bigint not null,
+    qa_pending bigint not null,
+    primary key (release_id)
+);
+
+create table team_readiness (
+    team_id varchar(255) not null,
+    release_id varchar(255),
+    qa_signed_off varchar(255),
+    app_owner_signed_off varchar(255),
+    scans_passed bigint not null,
+    scans_failed bigint not null,
+    scans_pending bigint not null,
+    qa_passed bigint not null,
+    qa_failed bigint not null,
+    qa_in_progress bigint not null,
+    qa_pending bigint not null,
+    primary key (team_id)
+);
+
+create table release_change (
+    id bigint generated by default as identity,
+    release_id varchar(255) not null,
+    revision bigint not null,
+    changed_at timestamp(6) with time zone not null,
+    changes clob not null,
+    primary key (id)
+);
+
+create table release_snapshot (
+    id bigint generated by default as identity,
+    release_id varchar(255) not null,
+    last_change_id bigint not null,
+    revision bigint not null,
+    as_of timestamp(6) with time zone not null,
+    state clob not null,
+    primary key (id)
+);
+
+create table notification_outbox (
+    id bigint generated by default as identity,
+    release_id varchar(255),
+    recipient varchar(255),
+    kind varchar(255),
+    subject varchar(255),
+    body varchar(2048),
+    status varchar(255),
+    attempts integer not null,
+    created_at timestamp(6) with time zone,
+    next_attempt_at timestamp(6) with time zone,
+    sent_at timestamp(6) with time zone,
+    last_error varchar(1024),
+    primary key (id)
+);
+
+create index idx_release_status on release (status);
+create index idx_release_date on release (release_date);
+create index idx_release_overall_signoff on release (overall_app_owner_signed_off);
+-- Startup resumes the revision clock from max(revision); indexed so that stays a single lookup
+create index idx_release_revision on release (revision);
+create index idx_team_qa_signoff on team (qa_signed_off);
+create index idx_team_app_owner_signoff on team (app_owner_signed_off);
+create index idx_component_sonar_qube on component (sonar_qube);
+create index idx_component_nexus_iq on component (nexus_iq);
+create index idx_component_checkmarx on component (checkmarx);
+create index idx_user_story_qa_status on user_story (qa_status);
+create index idx_user_story_component_component on user_story_component (component_id);
+create index idx_team_readiness_release on team_readiness (release_id);
+create index idx_release_change_release on release_change (release_id, id);
+create index idx_release_snapshot_release on release_snapshot (release_id, id);
+create index idx_outbox_due on notification_outbox (status, next_attempt_at);
+create index idx_outbox_dedupe on notification_outbox (release_id, recipient, kind);
@@ -0,0 +1,10 @@
+-- At most one pending notification per release, kind and recipient. The key is set while a row is pending and
+-- cleared when it is sent or given up on; the unique index ignores nulls, so settled rows never collide.
+alter table notification_outbox add column pending_key varchar(767);
+
+-- Rows queued twice before the index existed keep the key on their oldest copy only
+update notification_outbox n set pending_key = release_id || '|' || kind || '|' || recipient
+where status = 'Pending' and id = (select min(o.id) from notification_outbox o
+    where o.status = 'Pending' and o.release_id = n.release_id and o.kind = n.kind and o.recipient = n.recipient);
+
+create unique index uk_outbox_pending on notification_outbox (pending_key);
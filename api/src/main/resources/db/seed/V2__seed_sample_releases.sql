@@ -1,5 +1,8 @@
+-- Sample releases, applied once per database like any other migration. Readiness aggregates and history
+-- baselines for these rows are built at startup. A fresh database starts empty when classpath:db/seed is
+-- left out of spring.flyway.locations.
+
 -- Insert Releases
--- Note: Hibernate converts camelCase to snake_case, so overallAppOwnerSignedOff becomes overall_app_owner_signed_off
 INSERT INTO release (id, name, version, release_date, status, overall_app_owner_signed_off) VALUES
 ('q1-2024-aurora', 'Project Aurora', '2.1.0', '2024-03-30', 'In Progress', 'Pending'),
 ('q4-2023-nebula', 'Project Nebula', '1.9.5', '2023-12-15', 'Completed', 'Completed'),
@@ -0,0 +1,79 @@
+package com.example.releaseportal.cli;
+
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.TeamRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReleaseImportRunnerTest {
+
+    @Autowired
+    private ReleaseImportRunner runner;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void importsEachFileGzippedOrNot() throws Exception {
+        String plain = "runner-plain-" + System.nanoTime();
+        String gzipped = "runner-gzip-" + System.nanoTime();
+        Path plainFile = Files.writeString(directory.resolve("plain.ndjson"), graph(plain));
+        Path gzippedFile = directory.resolve("gzipped.ndjson.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzippedFile))) {
+            out.write(graph(gzipped).getBytes(StandardCharsets.UTF_8));
+        }
+
+        runner.run(new DefaultApplicationArguments("--import=" + plainFile, "--import=" + gzippedFile,
+                "--import.keep-running=true"));
+
+        assertThat(releaseRepository.findById(plain)).isPresent();
+        assertThat(teamRepository.findById(gzipped + "-team")).isPresent();
+    }
+
+    @Test
+    void stopsAtTheFirstFileThatFails() throws Exception {
+        String broken = "runner-broken-" + System.nanoTime();
+        String after = "runner-after-" + System.nanoTime();
+        Path brokenFile = Files.writeString(directory.resolve("broken.ndjson"), graph(broken) + "{\"type\":\"team\",\"id\":");
+        Path afterFile = Files.writeString(directory.resolve("after.ndjson"), graph(after));
+
+        runner.run(new DefaultApplicationArguments("--import=" + brokenFile, "--import=" + afterFile,
+                "--import.keep-running=true"));
+
+        // The chunk holding the broken record is never written, and the next file is never started
+        assertThat(releaseRepository.findById(broken)).isEmpty();
+        assertThat(releaseRepository.findById(after)).isEmpty();
+    }
+
+    @Test
+    void doesNothingWithoutAnImportOption() throws Exception {
+        long releases = releaseRepository.count();
+
+        runner.run(new DefaultApplicationArguments("--import.keep-running=true"));
+
+        assertThat(releaseRepository.count()).isEqualTo(releases);
+    }
+
+    private static String graph(String id) {
+        return "{\"type\":\"release\",\"id\":\"" + id + "\",\"name\":\"Runner\",\"version\":\"1.0.0\"}\n"
+                + "{\"type\":\"team\",\"id\":\"" + id + "-team\",\"releaseId\":\"" + id + "\",\"name\":\"Runner Team\"}\n";
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.releaseportal.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ResponseCompressionFilterTest {
+
+    private static final int MIN_SIZE = 2048;
+
+    private final ResponseCompressionFilter filter =
+            new ResponseCompressionFilter(List.of("application/json", "application/x-ndjson", "text/csv"), MIN_SIZE);
+
+    @Test
+    void aBodyBelowTheMinimumSizeKeepsItsLength() throws Exception {
+        byte[] body = json(100);
+
+        MockHttpServletResponse response = filter(request("gzip, br"), ok(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(body.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void largeJsonIsBrotliEncodedAndDecodesToTheSameBytes() throws Exception {
+        assumeTrue(Brotli4jLoader.isAvailable());
+        byte[] body = json(20_000);
+
+        MockHttpServletResponse response = filter(request("gzip, br"), ok(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getContentAsByteArray().length).isLessThan(body.length);
+        assertThat(decode(response)).isEqualTo(body);
+    }
+
+    @Test
+    void largeJsonIsGzipEncodedAndDecodesToTheSameBytes() throws Exception {
+        byte[] body = json(20_000);
+
+        MockHttpServletResponse response = filter(request("gzip"), ok(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        // Unknown until the encoder is done; the container then sends the body chunked
+        assertThat(response.getContentLengthLong()).isNotPositive();
+        assertThat(decode(response)).isEqualTo(body);
+    }
+
+    @Test
+    void aCodingWithQZeroIsNotUsed() throws Exception {
+        byte[] body = json(20_000);
+
+        MockHttpServletResponse refused = filter(request("gzip;q=0"), ok(MediaType.APPLICATION_JSON_VALUE, body));
+        MockHttpServletResponse fallback = filter(request("br;q=0, gzip;q=0.5"), ok(MediaType.APPLICATION_JSON_VALUE, body));
+
+        assertThat(refused.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(refused.getContentAsByteArray()).isEqualTo(body);
+        assertThat(fallback.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void otherMediaTypesAreSentAsTheyAre() throws Exception {
+        byte[] body = new byte[20_000];
+
+        MockHttpServletResponse response = filter(request("gzip"), ok(MediaType.APPLICATION_OCTET_STREAM_VALUE, body));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void noContentAndNotModifiedHaveNoEncoding() throws Exception {
+        MockHttpServletResponse noContent = filter(request("gzip"), (request, response) -> {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        });
+        MockHttpServletResponse notModified = filter(request("gzip"), (request, response) -> {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, "\"r-7\"");
+            response.flushBuffer();
+        });
+
+        assertThat(noContent.getStatus()).isEqualTo(204);
+        assertThat(noContent.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(noContent.getContentLength()).isZero();
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void aCompressedBodyGetsItsOwnStrongTag() throws Exception {
+        byte[] body = json(20_000);
+        Servlet tagged = (request, response) -> {
+            response.setHeader(HttpHeaders.ETAG, "\"r-7\"");
+            ok(MediaType.APPLICATION_JSON_VALUE, body).service(request, response);
+        };
+
+        MockHttpServletResponse gzip = filter(request("gzip"), tagged);
+        MockHttpServletResponse identity = filter(request(null), tagged);
+
+        assertThat(gzip.getHeader(HttpHeaders.ETAG)).isEqualTo("\"r-7-gzip\"");
+        assertThat(identity.getHeader(HttpHeaders.ETAG)).isEqualTo("\"r-7\"");
+    }
+
+    @Test
+    void theCodingSuffixIsRemovedFromPreconditionsAndKeptOnNotModified() throws Exception {
+        MockHttpServletRequest request = request("gzip");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"r-7-gzip\"");
+        request.addHeader(HttpHeaders.IF_MATCH, "\"r-6-br\", \"r-7-gzip\"");
+        List<String> seen = new ArrayList<>();
+
+        MockHttpServletResponse response = filter(request, (req, res) -> {
+            seen.add(req.getHeader(HttpHeaders.IF_NONE_MATCH));
+            seen.add(req.getHeaders(HttpHeaders.IF_MATCH).nextElement());
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            res.setHeader(HttpHeaders.ETAG, "\"r-7\"");
+        });
+
+        assertThat(seen).containsExactly("\"r-7\"", "\"r-6\", \"r-7\"");
+        // The cache holds the gzip body under its own tag, and keeps it
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"r-7-gzip\"");
+    }
+
+    @Test
+    void anEventStreamIsWrittenThroughAsItIsFlushed() throws Exception {
+        MockHttpServletResponse container = new MockHttpServletResponse();
+        AtomicReference<String> beforeCompletion = new AtomicReference<>();
+
+        filter(request("gzip, br"), (request, response) -> {
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+            response.getOutputStream().write("data: first\n\n".getBytes(StandardCharsets.UTF_8));
+            response.getOutputStream().flush();
+            beforeCompletion.set(container.getContentAsString());
+        }, container);
+
+        assertThat(container.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(beforeCompletion.get()).isEqualTo("data: first\n\n");
+    }
+
+    @Test
+    void writeListenersAreHandedToTheContainerStream() throws Exception {
+        AtomicReference<WriteListener> registered = new AtomicReference<>();
+        MockHttpServletResponse container = new MockHttpServletResponse() {
+            private final ServletOutputStream out = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return false;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    registered.set(listener);
+                }
+
+                @Override
+                public void write(int b) {
+                }
+            };
+
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return out;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+        boolean[] ready = new boolean[1];
+
+        filter(request("gzip"), (request, response) -> {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ServletOutputStream out = response.getOutputStream();
+            out.setWriteListener(listener);
+            ready[0] = out.isReady();
+        }, container);
+
+        assertThat(registered.get()).isSameAs(listener);
+        assertThat(ready[0]).isFalse();
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, Servlet servlet) throws Exception {
+        return filter(request, servlet, new MockHttpServletResponse());
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, Servlet servlet, MockHttpServletResponse response)
+            throws Exception {
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                servlet.service(req, res);
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/releases");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    // Writes the body in small pieces, as a streaming serializer does, without declaring its length
+    private static Servlet ok(String contentType, byte[] body) {
+        return (request, response) -> {
+            response.setContentType(contentType);
+            ServletOutputStream out = response.getOutputStream();
+            for (int from = 0; from < body.length; from += 512) {
+                out.write(body, from, Math.min(512, body.length - from));
+            }
+        };
+    }
+
+    private static byte[] json(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; json.length() < size - 40; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":\"r-").append(i).append("\",\"status\":\"In Progress\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] decode(MockHttpServletResponse response) throws IOException {
+        InputStream raw = new ByteArrayInputStream(response.getContentAsByteArray());
+        try (InputStream in = "br".equals(response.getHeader(HttpHeaders.CONTENT_ENCODING))
+                ? new BrotliInputStream(raw) : new GZIPInputStream(raw)) {
+            return in.readAllBytes();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Servlet {
+        void service(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.releaseportal.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCountFilterTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(SqlStatementCounter.wrap(
+            new DriverManagerDataSource("jdbc:h2:mem:statement-count-filter;DB_CLOSE_DELAY=-1")));
+
+    // Runs two queries while rendering the body, as a lazy load during serialization would
+    private final HttpServlet servlet = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+            response.getWriter().write("{\"ok\":true}");
+            response.getWriter().flush();
+            jdbcTemplate.queryForObject("select 2", Integer.class);
+        }
+    };
+
+    @Test
+    void theHeaderCountsStatementsRunWhileTheBodyIsWritten() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/api/releases"));
+
+        assertThat(response.getHeader(SqlStatementCountFilter.HEADER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+    }
+
+    @Test
+    void streamedResponsesAreNotBuffered() throws Exception {
+        MockHttpServletRequest events = new MockHttpServletRequest("GET", "/api/releases/r1/events");
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/releases/export");
+        MockHttpServletRequest sse = new MockHttpServletRequest("GET", "/api/releases/r1");
+        sse.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        assertThat(filter(events).getHeader(SqlStatementCountFilter.HEADER)).isNull();
+        assertThat(filter(export).getHeader(SqlStatementCountFilter.HEADER)).isNull();
+        assertThat(filter(sse).getHeader(SqlStatementCountFilter.HEADER)).isNull();
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new SqlStatementCountFilter().doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.releaseportal.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTable() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:statement-counter;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(SqlStatementCounter.wrap(dataSource));
+        jdbcTemplate.execute("create table if not exists item (id int primary key)");
+        jdbcTemplate.execute("delete from item");
+    }
+
+    @Test
+    void everyExecutedStatementCounts() {
+        long before = SqlStatementCounter.current();
+
+        jdbcTemplate.update("insert into item (id) values (?)", 1);
+        jdbcTemplate.queryForObject("select count(*) from item", Integer.class);
+        jdbcTemplate.queryForList("select id from item where id = ?", Integer.class, 1);
+
+        assertThat(SqlStatementCounter.current() - before).isEqualTo(3);
+    }
+
+    @Test
+    void aBatchCountsOnce() {
+        long before = SqlStatementCounter.current();
+
+        jdbcTemplate.batchUpdate("insert into item (id) values (?)", List.of(new Object[] {1}, new Object[] {2}, new Object[] {3}));
+
+        assertThat(SqlStatementCounter.current() - before).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from item", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void statementsOnOtherThreadsAreNotCounted() {
+        long before = SqlStatementCounter.current();
+
+        CompletableFuture.runAsync(() -> jdbcTemplate.queryForObject("select count(*) from item", Integer.class)).join();
+
+        assertThat(SqlStatementCounter.current()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.releaseportal.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base of the tests that drive the API. Each test builds its own releases through {@link #createRelease},
+ * so it works on rows no other test touches and leaves the sample releases alone.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+abstract class ApiTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    /** A release with one team, component and user story, the story linked to the component. */
+    protected Graph createRelease(String name) throws Exception {
+        return createRelease(name, 1, 1, 1);
+    }
+
+    /**
+     * A release with the given number of teams, each with its own components and user stories; every story
+     * is linked to the first two components of its team. The ids returned are those of the first team.
+     */
+    protected Graph createRelease(String name, int teams, int componentsPerTeam, int storiesPerTeam) throws Exception {
+        String releaseId = create("/api/releases",
+                Map.of("name", name, "version", "1.0.0", "releaseDate", "2030-01-01")).get("id").asText();
+        Graph first = null;
+        for (int t = 0; t < teams; t++) {
+            String teamId = create("/api/releases/" + releaseId + "/teams", Map.of("name", name + " Team " + t,
+                    "teamDl", "team" + t + "@example.com", "productOwner", "Owner")).get("id").asText();
+            String teamUrl = "/api/releases/" + releaseId + "/teams/" + teamId;
+            List<String> componentIds = new ArrayList<>();
+            for (int c = 0; c < componentsPerTeam; c++) {
+                componentIds.add(create(teamUrl + "/components",
+                        Map.of("name", name + " Service " + c, "version", "1." + c + ".0")).get("id").asText());
+            }
+            List<String> linked = componentIds.subList(0, Math.min(2, componentIds.size()));
+            String storyId = null;
+            for (int s = 0; s < storiesPerTeam; s++) {
+                String id = create(teamUrl + "/user-stories",
+                        Map.of("description", name + " story " + s, "componentIds", linked)).get("id").asText();
+                storyId = storyId == null ? id : storyId;
+            }
+            if (first == null) {
+                first = new Graph(releaseId, teamId, componentIds.isEmpty() ? null : componentIds.get(0), storyId);
+            }
+        }
+        return first != null ? first : new Graph(releaseId, null, null, null);
+    }
+
+    /** POSTs a JSON body that must be accepted, returning the created row. */
+    protected JsonNode create(String url, Object body) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    /** Sends a JSON body that must be accepted. */
+    protected void write(MockHttpServletRequestBuilder request, String json) throws Exception {
+        mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(json)).andExpect(status().isOk());
+    }
+
+    protected record Graph(String releaseId, String teamId, String componentId, String storyId) {
+
+        String releaseUrl() {
+            return "/api/releases/" + releaseId;
+        }
+
+        String teamUrl() {
+            return releaseUrl() + "/teams/" + teamId;
+        }
+
+        String componentUrl() {
+            return teamUrl() + "/components/" + componentId;
+        }
+
+        String storyUrl() {
+            return teamUrl() + "/user-stories/" + storyId;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.service.ComponentVersionIndex;
+import com.example.releaseportal.service.UserStoryTextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CascadingDeleteTest extends ApiTest {
+
+    @Autowired
+    private UserStoryTextIndex userStoryTextIndex;
+
+    @Autowired
+    private ComponentVersionIndex componentVersionIndex;
+
+    // Waits out a rebuild still running in the background, which would answer from the previous index
+    @BeforeEach
+    void rebuildIndexes() {
+        userStoryTextIndex.rebuild();
+        componentVersionIndex.rebuild();
+    }
+
+    @Test
+    void deletingATeamDropsItsStoriesAndComponentsFromTheIndexes() throws Exception {
+        Graph graph = createRelease("Marigold", 2, 1, 2);
+        assertThat(storiesMatching("marigold")).hasSize(4);
+        assertThat(componentsNamed("Marigold Service 0")).hasSize(2);
+
+        mockMvc.perform(delete(graph.teamUrl())).andExpect(status().isNoContent());
+
+        assertThat(storiesMatching("marigold")).hasSize(2).doesNotContain(graph.storyId());
+        // Components are named after the release and numbered per team, so each name is shared by both teams
+        assertThat(componentsNamed("Marigold Service 0")).hasSize(1).doesNotContain(graph.componentId());
+    }
+
+    @Test
+    void deletingAReleaseDropsAllOfItsStoriesAndComponentsFromTheIndexes() throws Exception {
+        Graph graph = createRelease("Larkspur", 2, 1, 2);
+        assertThat(storiesMatching("larkspur")).hasSize(4);
+        assertThat(componentsNamed("Larkspur Service 0")).hasSize(2);
+
+        mockMvc.perform(delete(graph.releaseUrl())).andExpect(status().isNoContent());
+
+        assertThat(storiesMatching("larkspur")).isEmpty();
+        assertThat(componentsNamed("Larkspur Service 0")).isEmpty();
+    }
+
+    private List<String> storiesMatching(String term) {
+        return userStoryTextIndex.search(term, 100).stream().map(UserStoryTextIndex.Match::storyId).toList();
+    }
+
+    private List<String> componentsNamed(String name) {
+        return componentVersionIndex.find(name, ComponentVersionIndex.VersionFilter.of(null, null, null));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.config.BinaryEncodings;
+import com.example.releaseportal.dto.BulkScanResult;
+import com.example.releaseportal.dto.ScanOutcome;
+import com.example.releaseportal.dto.ScanResultRecord;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.repository.ComponentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EncodingsTest extends ApiTest {
+
+    @Autowired
+    private BinaryEncodings binaryEncodings;
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Test
+    void theStreamedExportIsCompressedAcrossTheAsyncDispatch() throws Exception {
+        createRelease("Bergamot", 2, 2, 2);
+        String plain = exportBody(null).getContentAsString(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse gzip = exportBody("gzip");
+
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(plain);
+        assertThat(plain).contains("Bergamot");
+    }
+
+    @Test
+    void anEventStreamIsNeitherCompressedNorHeldBack() throws Exception {
+        Graph graph = createRelease("Chervil");
+        MockHttpServletResponse stream = mockMvc.perform(get(graph.releaseUrl() + "/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        write(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}");
+
+        // Arrives while the stream is still open, in plain text
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!stream.getContentAsString().contains(graph.teamId())) {
+            assertThat(System.nanoTime()).as("event for %s", graph.teamId()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        assertThat(stream.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void aCompressedReleaseTagWorksForIfNoneMatchAndIfMatch() throws Exception {
+        // Large enough to pass the minimum compressed size
+        Graph graph = createRelease("Sorrel", 4, 4, 4);
+        MockHttpServletResponse first = mockMvc.perform(get(graph.releaseUrl()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).endsWith("-gzip\"");
+
+        mockMvc.perform(get(graph.releaseUrl())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(put(graph.teamUrl() + "/qa-signoff")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"qaSignedOff\":\"Completed\"}"))
+                .andExpect(status().isOk());
+        // The same tag is stale now
+        mockMvc.perform(put(graph.teamUrl() + "/qa-signoff")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"qaSignedOff\":\"Pending\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void scanResultsCanBePostedAsSmile() throws Exception {
+        Graph graph = createRelease("Lovage");
+        ScanResultRecord scan = new ScanResultRecord();
+        scan.setComponentId(graph.componentId());
+        scan.setScanType("checkmarx");
+        scan.setStatus("Failed");
+
+        String response = mockMvc.perform(post("/api/components/scans")
+                        .contentType(BinaryEncodings.SMILE)
+                        .content(binaryEncodings.smile().writeValueAsBytes(List.of(scan))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        BulkScanResult result = objectMapper.readValue(response, BulkScanResult.class);
+        assertThat(result.getOutcomes()).extracting(ScanOutcome::getOutcome).containsExactly(ScanOutcome.UPDATED);
+        assertThat(componentRepository.findById(graph.componentId()).orElseThrow().getCheckmarx()).isEqualTo(ScanStatus.FAILED);
+    }
+
+    private MockHttpServletResponse exportBody(String acceptEncoding) throws Exception {
+        MvcResult started = mockMvc.perform(acceptEncoding == null ? get("/api/releases/export")
+                        : get("/api/releases/export").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
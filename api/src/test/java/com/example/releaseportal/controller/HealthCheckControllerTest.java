@@ -0,0 +1,41 @@
+package com.example.releaseportal.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HealthCheckControllerTest {
+
+    @Test
+    void upWhenAConnectionValidates() {
+        HealthCheckController controller = new HealthCheckController(
+                new DriverManagerDataSource("jdbc:h2:mem:health-check;DB_CLOSE_DELAY=-1"));
+
+        ResponseEntity<String> health = controller.checkHealth();
+
+        assertThat(health.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(health.getBody()).isEqualTo("UP");
+    }
+
+    @Test
+    void downWhenNoConnectionCanBeBorrowed() {
+        HealthCheckController controller = new HealthCheckController(new DelegatingDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("Connection is not available, request timed out after 30000ms");
+            }
+        });
+
+        ResponseEntity<String> health = controller.checkHealth();
+
+        assertThat(health.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(health.getBody()).isEqualTo("DOWN");
+    }
+}
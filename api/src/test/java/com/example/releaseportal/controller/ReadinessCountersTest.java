@@ -0,0 +1,77 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.dto.ReadinessReport;
+import com.example.releaseportal.model.TeamReadiness;
+import com.example.releaseportal.service.ReadinessService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReadinessCountersTest extends ApiTest {
+
+    @Autowired
+    private ReadinessService readinessService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Every hook applies a delta; after any sequence of writes the counters must equal a rebuild from the rows
+    @Test
+    void deltasAddUpToARecompute() throws Exception {
+        Graph graph = createRelease("Readiness Deltas");
+
+        write(put(graph.componentUrl() + "/scan"), "{\"scanType\":\"sonarQube\",\"status\":\"Passed\"}");
+        write(put(graph.componentUrl() + "/scan"), "{\"scanType\":\"nexusIq\",\"status\":\"Failed\"}");
+        write(patch(graph.componentUrl()), "{\"checkmarx\":\"Passed\",\"nexusIq\":\"Passed\"}");
+        write(post(graph.teamUrl() + "/components"), "{\"name\":\"Readiness Extra\",\"version\":\"1.0.0\"}");
+        write(put(graph.storyUrl() + "/qa-status"), "{\"qaStatus\":\"In Progress\"}");
+        write(patch(graph.storyUrl()), "{\"qaStatus\":\"Passed\"}");
+        write(post(graph.teamUrl() + "/user-stories"), "{\"description\":\"Readiness extra story\"}");
+        write(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}");
+        write(patch(graph.teamUrl()), "{\"appOwnerSignedOff\":\"Completed\"}");
+        write(post(graph.releaseUrl() + "/teams"),
+                "{\"name\":\"Readiness Second\",\"teamDl\":\"second@example.com\",\"productOwner\":\"Owner\"}");
+        mockMvc.perform(delete(graph.componentUrl())).andExpect(status().isNoContent());
+
+        ReadinessReport incremental = readinessService.getReadiness(graph.releaseId());
+        transactionTemplate.executeWithoutResult(status -> readinessService.recompute(List.of(graph.releaseId())));
+        ReadinessReport recomputed = readinessService.getReadiness(graph.releaseId());
+
+        assertThat(incremental.getRelease()).isEqualTo(recomputed.getRelease());
+        assertThat(sorted(incremental.getTeams())).isEqualTo(sorted(recomputed.getTeams()));
+        assertThat(incremental.getRelease().getTeamCount()).isEqualTo(2);
+        assertThat(incremental.getRelease().getTeamsQaSignedOff()).isEqualTo(1);
+        assertThat(incremental.getRelease().getQaPassed()).isEqualTo(1);
+        assertThat(incremental.getRelease().getQaPending()).isEqualTo(1);
+        assertThat(incremental.getRelease().getScansPending()).isEqualTo(3);
+    }
+
+    @Test
+    void removingATeamTakesItsCountersAlong() throws Exception {
+        Graph graph = createRelease("Readiness Removal");
+        write(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}");
+
+        mockMvc.perform(delete(graph.teamUrl())).andExpect(status().isNoContent());
+
+        ReadinessReport report = readinessService.getReadiness(graph.releaseId());
+        assertThat(report.getTeams()).isEmpty();
+        assertThat(report.getRelease().getTeamCount()).isZero();
+        assertThat(report.getRelease().getTeamsQaSignedOff()).isZero();
+        assertThat(report.getRelease().getScansPending()).isZero();
+        assertThat(report.getRelease().getQaPending()).isZero();
+    }
+
+    private static List<TeamReadiness> sorted(List<TeamReadiness> teams) {
+        return teams.stream().sorted(Comparator.comparing(TeamReadiness::getTeamId)).toList();
+    }
+}
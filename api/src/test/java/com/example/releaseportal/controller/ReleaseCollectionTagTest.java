@@ -0,0 +1,56 @@
+package com.example.releaseportal.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReleaseCollectionTagTest extends ApiTest {
+
+    @Test
+    void collectionTagChangesWithEveryKindOfWrite() throws Exception {
+        String initial = collectionTag();
+        assertThat(collectionTag()).isEqualTo(initial);
+
+        Graph graph = createRelease("Collection Tag");
+        String created = collectionTag();
+        assertThat(created).isNotEqualTo(initial);
+
+        write(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}");
+        String childChanged = collectionTag();
+        assertThat(childChanged).isNotEqualTo(created);
+
+        mockMvc.perform(delete(graph.releaseUrl())).andExpect(status().isNoContent());
+        // Back to the releases of the initial state, none of which changed in between, so the same tag is correct
+        String deleted = collectionTag();
+        assertThat(deleted).isNotIn(created, childChanged);
+
+        mockMvc.perform(post("/api/releases/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"type\":\"release\",\"id\":\"collection-tag-" + System.nanoTime() + "\",\"name\":\"Imported\"}\n"))
+                .andExpect(status().isOk());
+        assertThat(collectionTag()).isNotIn(initial, created, childChanged);
+    }
+
+    // The conditional check is a single aggregate query, however many releases there are
+    @Test
+    void unchangedCollectionIsOneStatement() throws Exception {
+        String tag = collectionTag();
+
+        mockMvc.perform(get("/api/releases").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("X-SQL-Statement-Count", "1"));
+    }
+
+    private String collectionTag() throws Exception {
+        return mockMvc.perform(get("/api/releases").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.config.SqlStatementCountFilter;
+import com.example.releaseportal.config.SqlStatementCounter;
+import com.example.releaseportal.service.ReleaseExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Holds the number of SQL statements of every {@link ReleaseController} endpoint, read from the
+ * {@value SqlStatementCountFilter#HEADER} header, to what the request asks for rather than how much
+ * data is behind it. Each request runs against a release with one team, component and story and
+ * against one with three teams of three components and three stories each; collection reads run
+ * before and after another such release is added. A lazy association loaded per row instead of per
+ * batch shows up as a difference and fails the build, whatever state other tests left behind.
+ */
+class ReleaseControllerSqlCountTest extends ApiTest {
+
+    @Autowired
+    private ReleaseExportService releaseExportService;
+
+    private Graph small;
+    private Graph large;
+
+    @BeforeEach
+    void createReleases() throws Exception {
+        small = createRelease("Statements Small " + System.nanoTime());
+        large = createRelease("Statements Large " + System.nanoTime(), 3, 3, 3);
+    }
+
+    // Reads of the whole collection
+
+    @Test
+    void listReleases() throws Exception {
+        assertFlatAsDataGrows(() -> get("/api/releases"));
+        assertFlatAsDataGrows(() -> get("/api/releases").param("fields", "name,status").param("include", "teams"));
+        assertFlatAsDataGrows(() -> get("/api/releases").param("include", "teams,components,userStories"));
+        assertFlatAsDataGrows(() -> get("/api/releases").param("view", "summary").param("limit", "200"));
+        assertFlatAsDataGrows(() -> get("/api/teams"));
+    }
+
+    // The conditional check is one aggregate lookup, whatever the collection holds
+    @Test
+    void listUnchangedReleases() throws Exception {
+        String etag = mockMvc.perform(get("/api/releases")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(statements(get("/api/releases").header(HttpHeaders.IF_NONE_MATCH, etag))).isEqualTo(1);
+    }
+
+    @Test
+    void searches() throws Exception {
+        assertFlat(graph -> get("/api/releases/search").param("name", graph.releaseId()));
+        assertFlat(graph -> get("/api/components/search").param("releaseId", graph.releaseId()));
+        assertFlat(graph -> get("/api/user-stories/search").param("releaseId", graph.releaseId()));
+        assertFlatAsDataGrows(() -> get("/api/components/where-used").param("name", "Statements").param("minVersion", "1.0.0"));
+        assertFlatAsDataGrows(() -> get("/api/user-stories/search").param("q", "story"));
+    }
+
+    // Streamed bodies are written on an async thread, so the export is run here directly
+    @Test
+    void export() throws Exception {
+        long before = SqlStatementCounter.current();
+        releaseExportService.writeNdjson(new ByteArrayOutputStream());
+        long first = SqlStatementCounter.current() - before;
+        createRelease("Statements Export " + System.nanoTime(), 3, 3, 3);
+
+        before = SqlStatementCounter.current();
+        releaseExportService.writeNdjson(new ByteArrayOutputStream());
+        assertThat(SqlStatementCounter.current() - before).isEqualTo(first);
+    }
+
+    // Reads of one release
+
+    @Test
+    void releaseDetail() throws Exception {
+        // The first read fills the detail cache, the second is served from it
+        assertFlat(graph -> get(graph.releaseUrl()));
+        assertFlat(graph -> get(graph.releaseUrl()));
+        assertFlat(graph -> get(graph.releaseUrl()).param("include", "teams,components,userStories"));
+        assertFlat(graph -> get(graph.releaseUrl()).param("fields", "name"));
+    }
+
+    @Test
+    void unchangedReleaseDetail() throws Exception {
+        String etag = mockMvc.perform(get(large.releaseUrl())).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(statements(get(large.releaseUrl()).header(HttpHeaders.IF_NONE_MATCH, etag))).isEqualTo(1);
+    }
+
+    @Test
+    void releaseAsOfAndReadiness() throws Exception {
+        assertFlat(graph -> get(graph.releaseUrl()).param("asOf", Instant.now().toString()));
+        assertFlat(graph -> get(graph.releaseUrl() + "/readiness"));
+    }
+
+    // Event streams carry no header, so their statements are counted on the calling thread
+    @Test
+    void eventStream() throws Exception {
+        long smallCount = streamedStatements(get(small.releaseUrl() + "/events").accept(MediaType.TEXT_EVENT_STREAM));
+        long largeCount = streamedStatements(get(large.releaseUrl() + "/events").accept(MediaType.TEXT_EVENT_STREAM));
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    // Writes
+
+    @Test
+    void releaseWrites() throws Exception {
+        assertFlat(graph -> json(put(graph.releaseUrl()), "{\"name\":\"Renamed\",\"version\":\"1.0.1\",\"releaseDate\":\"2030-01-02\"}"));
+        assertFlat(graph -> json(patch(graph.releaseUrl()), "{\"status\":\"Blocked\"}"));
+        assertFlat(graph -> json(put(graph.releaseUrl() + "/overall-signoff"), "{\"overallAppOwnerSignedOff\":\"Completed\"}"));
+        assertFlat(graph -> post(graph.releaseUrl() + "/notify"));
+        assertFlat(graph -> delete(graph.releaseUrl()));
+    }
+
+    @Test
+    void createRelease() throws Exception {
+        Supplier<MockHttpServletRequestBuilder> create = () -> json(post("/api/releases"),
+                "{\"name\":\"Statements Created\",\"version\":\"1.0.0\",\"releaseDate\":\"2030-02-01\"}");
+        assertThat(statements(create.get())).isEqualTo(statements(create.get()));
+    }
+
+    @Test
+    void teamWrites() throws Exception {
+        assertFlat(graph -> json(post(graph.releaseUrl() + "/teams"),
+                "{\"name\":\"Added Team\",\"teamDl\":\"added@example.com\",\"productOwner\":\"Owner\"}"));
+        assertFlat(graph -> json(put(graph.teamUrl()),
+                "{\"name\":\"Renamed Team\",\"teamDl\":\"renamed@example.com\",\"productOwner\":\"Owner\"}"));
+        assertFlat(graph -> json(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}"));
+        assertFlat(graph -> json(put(graph.teamUrl() + "/appowner-signoff"), "{\"appOwnerSignedOff\":\"Completed\"}"));
+        assertFlat(graph -> json(patch(graph.teamUrl()), "{\"qaSignedOff\":\"Pending\"}"));
+        assertFlat(graph -> delete(graph.teamUrl()));
+    }
+
+    @Test
+    void componentWrites() throws Exception {
+        assertFlat(graph -> json(post(graph.teamUrl() + "/components"), "{\"name\":\"Added Service\",\"version\":\"1.0.0\"}"));
+        assertFlat(graph -> json(put(graph.componentUrl()), "{\"name\":\"Renamed Service\",\"version\":\"1.0.1\"}"));
+        assertFlat(graph -> json(put(graph.componentUrl() + "/scan"), "{\"scanType\":\"sonarQube\",\"status\":\"Passed\"}"));
+        assertFlat(graph -> json(patch(graph.componentUrl()), "{\"nexusIq\":\"Failed\"}"));
+        assertFlat(graph -> json(post("/api/components/scans"),
+                "[{\"componentId\":\"" + graph.componentId() + "\",\"scanType\":\"checkmarx\",\"status\":\"Passed\"}]"));
+        assertFlat(graph -> delete(graph.componentUrl()));
+    }
+
+    @Test
+    void userStoryWrites() throws Exception {
+        assertFlat(graph -> json(post(graph.teamUrl() + "/user-stories"),
+                "{\"description\":\"Added story\",\"componentIds\":[\"" + graph.componentId() + "\"]}"));
+        assertFlat(graph -> json(put(graph.storyUrl()), "{\"description\":\"Reworded story\"}"));
+        assertFlat(graph -> json(put(graph.storyUrl() + "/qa-status"), "{\"qaStatus\":\"Passed\"}"));
+        assertFlat(graph -> json(patch(graph.storyUrl()), "{\"qaStatus\":\"Failed\"}"));
+        assertFlat(graph -> delete(graph.storyUrl()));
+    }
+
+    // A bigger file costs more rows per batch, not more statements
+    @Test
+    void importGraph() throws Exception {
+        assertThat(statements(importOf(1))).isEqualTo(statements(importOf(3)));
+    }
+
+    private MockHttpServletRequestBuilder importOf(int teams) {
+        String releaseId = "statements-import-" + System.nanoTime();
+        StringBuilder ndjson = new StringBuilder("{\"type\":\"release\",\"id\":\"" + releaseId + "\",\"name\":\"Imported\"}\n");
+        for (int t = 0; t < teams; t++) {
+            String teamId = releaseId + "-team-" + t;
+            ndjson.append("{\"type\":\"team\",\"id\":\"").append(teamId).append("\",\"releaseId\":\"").append(releaseId).append("\"}\n");
+            for (int i = 0; i < 3; i++) {
+                String componentId = teamId + "-component-" + i;
+                String storyId = teamId + "-story-" + i;
+                ndjson.append("{\"type\":\"component\",\"id\":\"").append(componentId).append("\",\"teamId\":\"").append(teamId)
+                        .append("\",\"name\":\"Imported Service\",\"version\":\"1.0.").append(i).append("\"}\n");
+                ndjson.append("{\"type\":\"userStory\",\"id\":\"").append(storyId).append("\",\"teamId\":\"").append(teamId)
+                        .append("\",\"description\":\"Imported story\"}\n");
+                ndjson.append("{\"type\":\"storyComponent\",\"userStoryId\":\"").append(storyId)
+                        .append("\",\"componentId\":\"").append(componentId).append("\"}\n");
+            }
+        }
+        return post("/api/releases/import").contentType("application/x-ndjson").content(ndjson.toString());
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    // The same request against the small and the large release
+    private void assertFlat(Function<Graph, MockHttpServletRequestBuilder> request) throws Exception {
+        long smallCount = statements(request.apply(small));
+        long largeCount = statements(request.apply(large));
+        assertThat(largeCount).as("%s with three times the teams, components and stories",
+                request.apply(large).buildRequest(mockMvc.getDispatcherServlet().getServletContext()).getRequestURI())
+                .isEqualTo(smallCount);
+    }
+
+    private void assertFlatAsDataGrows(Supplier<MockHttpServletRequestBuilder> request) throws Exception {
+        long before = statements(request.get());
+        createRelease("Statements Grown " + System.nanoTime(), 3, 3, 3);
+        assertThat(statements(request.get())).as("%s after adding a release",
+                request.get().buildRequest(mockMvc.getDispatcherServlet().getServletContext()).getRequestURI())
+                .isEqualTo(before);
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String described = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertThat(result.getResponse().getStatus()).as(described).isBetween(200, 304);
+        return Long.parseLong(result.getResponse().getHeader(SqlStatementCountFilter.HEADER));
+    }
+
+    private long streamedStatements(MockHttpServletRequestBuilder stream) throws Exception {
+        long before = SqlStatementCounter.current();
+        mockMvc.perform(stream).andExpect(request().asyncStarted());
+        return SqlStatementCounter.current() - before;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.service.ReleaseDetailCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReleaseDetailCacheTest extends ApiTest {
+
+    @Autowired
+    private ReleaseDetailCache releaseDetailCache;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    // Reads at the revision cached before the change: an entry that survived would be served as it is
+    @Test
+    void teamChangeEvictsTheOwningRelease() throws Exception {
+        Graph graph = createRelease("Cache Team");
+        long before = cache(graph.releaseId());
+
+        write(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}");
+
+        ReleaseDetail detail = releaseDetailCache.get(graph.releaseId(), before).orElseThrow();
+        assertThat(detail.getTeams().get(0).getQaSignedOff()).isEqualTo(SignOffStatus.COMPLETED);
+        assertThat(releaseRepository.findRevisionById(graph.releaseId()).orElseThrow()).isGreaterThan(before);
+    }
+
+    @Test
+    void componentChangeEvictsTheOwningRelease() throws Exception {
+        Graph graph = createRelease("Cache Component");
+        long before = cache(graph.releaseId());
+
+        write(put(graph.componentUrl() + "/scan"), "{\"scanType\":\"checkmarx\",\"status\":\"Failed\"}");
+
+        ReleaseDetail detail = releaseDetailCache.get(graph.releaseId(), before).orElseThrow();
+        assertThat(detail.getTeams().get(0).getComponents().get(0).getCheckmarx()).isEqualTo(ScanStatus.FAILED);
+    }
+
+    @Test
+    void changeAddressedThroughAnotherReleaseLeavesBothEntries() throws Exception {
+        Graph owner = createRelease("Cache Owner");
+        Graph other = createRelease("Cache Other");
+        long ownerRevision = cache(owner.releaseId());
+        long otherRevision = cache(other.releaseId());
+
+        mockMvc.perform(put(other.releaseUrl() + "/teams/" + owner.teamId() + "/qa-signoff")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"qaSignedOff\":\"Completed\"}"))
+                .andExpect(status().isNotFound());
+
+        assertThat(releaseRepository.findRevisionById(owner.releaseId())).contains(ownerRevision);
+        assertThat(releaseRepository.findRevisionById(other.releaseId())).contains(otherRevision);
+        assertThat(releaseDetailCache.get(owner.releaseId(), ownerRevision).orElseThrow()
+                .getTeams().get(0).getQaSignedOff()).isEqualTo(SignOffStatus.PENDING);
+    }
+
+    private long cache(String releaseId) {
+        long revision = releaseRepository.findRevisionById(releaseId).orElseThrow();
+        releaseDetailCache.get(releaseId, revision).orElseThrow();
+        return revision;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.releaseportal.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReleaseEventStreamTest extends ApiTest {
+
+    @Test
+    void childChangeReachesOnlyTheOwningReleasesSubscribers() throws Exception {
+        Graph owner = createRelease("Stream Owner");
+        Graph other = createRelease("Stream Other");
+        MockHttpServletResponse ownerStream = subscribe(owner.releaseId());
+        MockHttpServletResponse otherStream = subscribe(other.releaseId());
+
+        // Addressed through a release that does not own the team
+        signOff(other.releaseUrl() + "/teams/" + owner.teamId()).andExpect(status().isNotFound());
+        signOff(owner.teamUrl()).andExpect(status().isOk());
+        // Events reach a subscriber in order, so once this one arrives nothing earlier is still in flight
+        signOff(other.teamUrl()).andExpect(status().isOk());
+
+        awaitContent(ownerStream, owner.teamId());
+        awaitContent(otherStream, other.teamId());
+        assertThat(ownerStream.getContentAsString()).doesNotContain(other.teamId());
+        assertThat(otherStream.getContentAsString()).doesNotContain(owner.teamId());
+    }
+
+    private MockHttpServletResponse subscribe(String releaseId) throws Exception {
+        return mockMvc.perform(get("/api/releases/{id}/events", releaseId).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private ResultActions signOff(String teamUrl) throws Exception {
+        return mockMvc.perform(put(teamUrl + "/qa-signoff")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"qaSignedOff\":\"Completed\"}"));
+    }
+
+    private static void awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!stream.getContentAsString().contains(expected)) {
+            assertThat(System.nanoTime()).as("event for %s", expected).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.releaseportal.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReleaseHistoryTest extends ApiTest {
+
+    @Test
+    void deletedReleaseKeepsItsHistory() throws Exception {
+        Graph graph = createRelease("History Delete");
+        Instant beforeDelete = Instant.now();
+        Thread.sleep(5);
+
+        mockMvc.perform(delete(graph.releaseUrl())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get(graph.releaseUrl()).param("asOf", beforeDelete.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(graph.releaseUrl()).param("asOf", Instant.now().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pastStateMatchesTheLiveDetailWithoutLockVersions() throws Exception {
+        Graph graph = createRelease("History Shape");
+        write(put(graph.teamUrl() + "/qa-signoff"), "{\"qaSignedOff\":\"Completed\"}");
+        Thread.sleep(5);
+
+        JsonNode live = read(get(graph.releaseUrl()));
+        JsonNode past = read(get(graph.releaseUrl()).param("asOf", Instant.now().toString()));
+
+        assertThat(past.findValues("lockVersion")).isEmpty();
+        assertThat(live.findValues("lockVersion")).isNotEmpty();
+        assertThat(past).isEqualTo(withoutLockVersions(live));
+    }
+
+    private JsonNode read(RequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static JsonNode withoutLockVersions(JsonNode node) {
+        JsonNode copy = node.deepCopy();
+        removeLockVersions(copy);
+        return copy;
+    }
+
+    private static void removeLockVersions(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.remove("lockVersion");
+        }
+        node.forEach(ReleaseHistoryTest::removeLockVersions);
+    }
+}
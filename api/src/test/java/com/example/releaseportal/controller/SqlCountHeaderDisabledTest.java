@@ -0,0 +1,31 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.config.SqlStatementCountFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// As in the prod profile
+@TestPropertySource(properties = "observability.sql-count-header.enabled=false")
+class SqlCountHeaderDisabledTest extends ApiTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void noHeaderAndNoCountingDataSource() throws Exception {
+        Graph graph = createRelease("Yarrow");
+
+        mockMvc.perform(get(graph.releaseUrl()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SqlStatementCountFilter.HEADER));
+        assertThat(dataSource.getClass().getName()).doesNotContain("SqlStatementCounter");
+    }
+}
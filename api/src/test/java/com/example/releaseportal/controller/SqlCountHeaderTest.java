@@ -0,0 +1,37 @@
+package com.example.releaseportal.controller;
+
+import com.example.releaseportal.config.SqlStatementCountFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SqlCountHeaderTest extends ApiTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void apiResponsesCarryTheStatementCount() throws Exception {
+        Graph graph = createRelease("Tansy");
+
+        String count = mockMvc.perform(get(graph.releaseUrl()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatementCountFilter.HEADER);
+
+        assertThat(Long.parseLong(count)).isPositive();
+        assertThat(dataSource.getClass().getName()).contains("SqlStatementCounter");
+    }
+
+    @Test
+    void pathsOutsideTheApiAreNotCounted() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SqlStatementCountFilter.HEADER));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.service.ComponentVersionIndex.ComponentVersion;
+import com.example.releaseportal.service.ComponentVersionIndex.VersionFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentVersionIndexTest {
+
+    // Components are put directly, so the database is never read
+    private final ComponentVersionIndex index = new ComponentVersionIndex(null);
+
+    @Test
+    void parseSplitsOnSeparatorsAndLowercases() {
+        ComponentVersion version = ComponentVersion.parse(" 1.2-RC1+build_7 ");
+
+        assertThat(version.raw()).isEqualTo("1.2-RC1+build_7");
+        assertThat(version.segments()).containsExactly("1", "2", "rc1", "build", "7");
+        assertThat(ComponentVersion.parse("1..2").segments()).containsExactly("1", "2");
+        assertThat(ComponentVersion.parse(null)).isEqualTo(new ComponentVersion("", List.of()));
+    }
+
+    @Test
+    void versionsSortNumericallyWithPrefixesAndQualifiersFirst() {
+        List<ComponentVersion> versions = new ArrayList<>(parseAll("1.10", "1.2.3", "1.2.0", "1.2-rc1", "1.2", "1.9", "1.2-beta"));
+        Collections.shuffle(versions, new Random(7));
+        Collections.sort(versions);
+
+        assertThat(versions).extracting(ComponentVersion::raw)
+                .containsExactly("1.2", "1.2-beta", "1.2-rc1", "1.2.0", "1.2.3", "1.9", "1.10");
+    }
+
+    @Test
+    void equalVersionsSpelledDifferentlyStayDistinct() {
+        ComponentVersion padded = ComponentVersion.parse("1.02");
+        ComponentVersion plain = ComponentVersion.parse("1.2");
+
+        assertThat(ComponentVersion.compareSegments(padded.segments(), plain.segments())).isZero();
+        assertThat(padded.compareTo(plain)).isNotZero();
+        assertThat(ComponentVersion.compareSegments(List.of("007"), List.of("10"))).isNegative();
+    }
+
+    @Test
+    void filterParsesExactPrefixAndRange() {
+        assertThat(VersionFilter.of(null, " ", "").isEmpty()).isTrue();
+        assertThat(VersionFilter.of("*", null, null).prefix()).isEmpty();
+        assertThat(VersionFilter.of("X", null, null).prefix()).isEmpty();
+        assertThat(VersionFilter.of("1.2.x", null, null).prefix()).containsExactly("1", "2");
+        assertThat(VersionFilter.of("1.2.X", null, null).prefix()).containsExactly("1", "2");
+        assertThat(VersionFilter.of("1.2.*", null, null).prefix()).containsExactly("1", "2");
+
+        VersionFilter exact = VersionFilter.of(" 1.2 ", "1.0", "2.0");
+        assertThat(exact.exact()).isEqualTo(ComponentVersion.parse("1.2"));
+        assertThat(exact.prefix()).isNull();
+        assertThat(exact.min().raw()).isEqualTo("1.0");
+        assertThat(exact.max().raw()).isEqualTo("2.0");
+        assertThat(exact.isEmpty()).isFalse();
+    }
+
+    @Test
+    void filterMatchesExactPrefixAndInclusiveRange() {
+        VersionFilter exact = VersionFilter.of("1.2", null, null);
+        assertThat(exact.matches(ComponentVersion.parse("1.02"))).isTrue();
+        assertThat(exact.matches(ComponentVersion.parse("1.2.0"))).isFalse();
+
+        VersionFilter prefix = VersionFilter.of("1.2.x", null, null);
+        assertThat(prefix.matches(ComponentVersion.parse("1.2"))).isTrue();
+        assertThat(prefix.matches(ComponentVersion.parse("1.2.9-rc1"))).isTrue();
+        assertThat(prefix.matches(ComponentVersion.parse("1.20"))).isFalse();
+
+        VersionFilter range = VersionFilter.of(null, "1.2", "1.4");
+        assertThat(range.matches(ComponentVersion.parse("1.2"))).isTrue();
+        assertThat(range.matches(ComponentVersion.parse("1.4"))).isTrue();
+        assertThat(range.matches(ComponentVersion.parse("1.3.7"))).isTrue();
+        // A longer version sorts after its prefix, so 1.4.1 is past a maximum of 1.4
+        assertThat(range.matches(ComponentVersion.parse("1.4.1"))).isFalse();
+        assertThat(range.matches(ComponentVersion.parse("1.1.9"))).isFalse();
+
+        assertThat(VersionFilter.of(null, null, null).matches(ComponentVersion.parse(null))).isTrue();
+    }
+
+    @Test
+    void keyIgnoresCaseAndSurroundingSpace() {
+        assertThat(ComponentVersionIndex.key("  Payments-API ")).isEqualTo("payments-api");
+    }
+
+    @Test
+    void findReturnsMatchingIdsInVersionOrder() {
+        index.put("c-110", "Payments", "1.10");
+        index.put("c-123", "payments", "1.2.3");
+        index.put("c-120", "PAYMENTS", "1.2.0");
+        index.put("c-12", "Payments", "1.2");
+        index.put("c-102", "Payments", "1.02");
+        index.put("c-2", "Payments", "2.0");
+        index.put("o-12", "Orders", "1.2");
+
+        assertThat(index.find(" payments", VersionFilter.of(null, null, null)))
+                .containsExactly("c-102", "c-12", "c-120", "c-123", "c-110", "c-2");
+        assertThat(index.find("Payments", VersionFilter.of("1.2", null, null))).containsExactly("c-102", "c-12");
+        assertThat(index.find("Payments", VersionFilter.of("1.2.x", null, null))).containsExactly("c-102", "c-12", "c-120", "c-123");
+        assertThat(index.find("Payments", VersionFilter.of(null, "1.2.1", "1.10"))).containsExactly("c-123", "c-110");
+        assertThat(index.find("Payments", VersionFilter.of("1.x", "1.3", null))).containsExactly("c-110");
+        assertThat(index.find("Payments", VersionFilter.of("3.x", null, null))).isEmpty();
+        assertThat(index.find("Billing", VersionFilter.of(null, null, null))).isEmpty();
+    }
+
+    @Test
+    void putMovesAndRemoveDropsAComponent() {
+        index.put("c-1", "Payments", "1.0");
+        index.put("c-2", "Payments", "1.0");
+
+        index.put("c-1", "Orders", "2.0");
+        index.remove("c-2");
+        index.remove("unknown");
+
+        assertThat(index.find("Payments", VersionFilter.of(null, null, null))).isEmpty();
+        assertThat(index.find("Orders", VersionFilter.of("2.0", null, null))).containsExactly("c-1");
+    }
+
+    // The ordered scan with its start and stop points must agree with testing every version on its own
+    @Test
+    void findAgreesWithMatchingEveryVersion() {
+        Random random = new Random(19);
+        Map<String, ComponentVersion> versions = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            String version = randomVersion(random);
+            versions.put("c-" + i, ComponentVersion.parse(version));
+            index.put("c-" + i, "Payments", version);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            String version = switch (random.nextInt(4)) {
+                case 0 -> null;
+                case 1 -> randomVersion(random);
+                case 2 -> randomVersion(random) + ".x";
+                default -> "*";
+            };
+            VersionFilter filter = VersionFilter.of(version,
+                    random.nextBoolean() ? randomVersion(random) : null,
+                    random.nextBoolean() ? randomVersion(random) : null);
+
+            List<String> expected = versions.entrySet().stream()
+                    .filter(entry -> filter.matches(entry.getValue()))
+                    .sorted(Map.Entry.<String, ComponentVersion>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(index.find("Payments", filter)).as("filter %s", filter).isEqualTo(expected);
+        }
+    }
+
+    private static String randomVersion(Random random) {
+        int segments = 1 + random.nextInt(3);
+        StringBuilder version = new StringBuilder();
+        for (int i = 0; i < segments; i++) {
+            if (i > 0) {
+                version.append(random.nextBoolean() ? '.' : '-');
+            }
+            int pick = random.nextInt(10);
+            version.append(pick == 0 ? "rc1" : pick == 1 ? "0" + random.nextInt(3) : String.valueOf(random.nextInt(4)));
+        }
+        return version.toString();
+    }
+
+    private static List<ComponentVersion> parseAll(String... versions) {
+        return Arrays.stream(versions).map(ComponentVersion::parse).toList();
+    }
+}
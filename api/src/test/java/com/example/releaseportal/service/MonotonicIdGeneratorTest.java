@@ -0,0 +1,155 @@
+package com.example.releaseportal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonotonicIdGeneratorTest {
+
+    private static final String CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final long EPOCH_MILLIS = 1_700_000_000_000L;
+
+    @Test
+    void encodesTheExtremes() {
+        assertThat(MonotonicIdGenerator.encode(0, 0)).isEqualTo("0".repeat(26));
+        // 26 characters hold 130 bits, so the two spare leading bits leave 7 as the highest first character
+        assertThat(MonotonicIdGenerator.encode(-1, -1)).isEqualTo("7" + "Z".repeat(25));
+        assertThat(MonotonicIdGenerator.encode(0, 31)).isEqualTo("0".repeat(25) + "Z");
+        assertThat(MonotonicIdGenerator.encode(0, 32)).isEqualTo("0".repeat(24) + "10");
+    }
+
+    @Test
+    void carriesBitsAcrossTheHalves() {
+        // 2^64 = 16 * 32^12: the thirteenth digit from the right is G (16)
+        assertThat(MonotonicIdGenerator.encode(1, 0)).isEqualTo("0".repeat(13) + "G" + "0".repeat(12));
+        // The low half's top bit shares a character with the high half's lowest bit
+        assertThat(MonotonicIdGenerator.encode(0, Long.MIN_VALUE)).isEqualTo("0".repeat(13) + "8" + "0".repeat(12));
+    }
+
+    @Test
+    void encodingIsUnsignedBase32OfTheWholeValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            long high = random.nextLong();
+            long low = random.nextLong();
+            assertThat(decode(MonotonicIdGenerator.encode(high, low))).isEqualTo(value(high, low));
+        }
+    }
+
+    @Test
+    void idsCarryTimestampSequenceAndNode() {
+        MonotonicIdGenerator ids = new MonotonicIdGenerator(0x1234L, () -> EPOCH_MILLIS);
+
+        BigInteger first = decode(ids.nextId());
+        BigInteger second = decode(ids.nextId());
+
+        assertThat(first.shiftRight(80).longValueExact()).isEqualTo(EPOCH_MILLIS);
+        assertThat(first.shiftRight(64).longValue() & 0xFFFF).isZero();
+        assertThat(second.shiftRight(64).longValue() & 0xFFFF).isEqualTo(1);
+        assertThat(first.longValue()).isEqualTo(0x1234L);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsTheNextMillisecond() {
+        MonotonicIdGenerator ids = new MonotonicIdGenerator(7L, () -> EPOCH_MILLIS);
+        String previous = ids.nextId();
+        for (int i = 1; i < 65_536; i++) {
+            String next = ids.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+        assertThat(millis(previous)).isEqualTo(EPOCH_MILLIS);
+        assertThat(sequence(previous)).isEqualTo(0xFFFF);
+
+        String rolledOver = ids.nextId();
+
+        assertThat(rolledOver).isGreaterThan(previous);
+        assertThat(millis(rolledOver)).isEqualTo(EPOCH_MILLIS + 1);
+        assertThat(sequence(rolledOver)).isZero();
+    }
+
+    @Test
+    void clockStepBackwardsKeepsIdsIncreasing() {
+        AtomicLong clock = new AtomicLong(EPOCH_MILLIS);
+        MonotonicIdGenerator ids = new MonotonicIdGenerator(7L, clock::get);
+        String before = ids.nextId();
+
+        clock.set(EPOCH_MILLIS - 5_000);
+        String afterStep = ids.nextId();
+        clock.set(EPOCH_MILLIS + 10);
+        String caughtUp = ids.nextId();
+
+        assertThat(afterStep).isGreaterThan(before);
+        assertThat(millis(afterStep)).isEqualTo(EPOCH_MILLIS);
+        assertThat(sequence(afterStep)).isEqualTo(1);
+        assertThat(caughtUp).isGreaterThan(afterStep);
+        assertThat(millis(caughtUp)).isEqualTo(EPOCH_MILLIS + 10);
+        assertThat(sequence(caughtUp)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverShareAnId() throws Exception {
+        MonotonicIdGenerator ids = new MonotonicIdGenerator(7L, () -> EPOCH_MILLIS);
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        seen.add(ids.nextId());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(seen).hasSize(200_000);
+    }
+
+    @Test
+    void nodesKeepTheirIdsApart() {
+        Set<String> seen = new HashSet<>();
+        for (long node = 1; node <= 3; node++) {
+            MonotonicIdGenerator ids = new MonotonicIdGenerator(node, () -> EPOCH_MILLIS);
+            for (int i = 0; i < 100; i++) {
+                assertThat(seen.add(ids.nextId())).isTrue();
+            }
+        }
+    }
+
+    private static long millis(String id) {
+        return decode(id).shiftRight(80).longValueExact();
+    }
+
+    private static long sequence(String id) {
+        return decode(id).shiftRight(64).longValue() & 0xFFFF;
+    }
+
+    private static BigInteger decode(String id) {
+        BigInteger value = BigInteger.ZERO;
+        for (char c : id.toCharArray()) {
+            value = value.shiftLeft(5).or(BigInteger.valueOf(CROCKFORD.indexOf(c)));
+        }
+        return value;
+    }
+
+    private static BigInteger value(long high, long low) {
+        return new BigInteger(Long.toUnsignedString(high)).shiftLeft(64).or(new BigInteger(Long.toUnsignedString(low)));
+    }
+}
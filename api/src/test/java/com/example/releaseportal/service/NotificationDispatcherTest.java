@@ -0,0 +1,96 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.model.OutboundNotification;
+import com.example.releaseportal.repository.OutboundNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private OutboundNotificationRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void settledRowsPastTheRetentionAreDeleted() {
+        Instant old = Instant.now().minus(Duration.ofDays(8));
+        Instant recent = Instant.now().minus(Duration.ofHours(1));
+        Long oldSent = save(OutboundNotification.SENT, old);
+        Long oldFailed = save(OutboundNotification.FAILED, old);
+        Long recentSent = save(OutboundNotification.SENT, recent);
+        Long oldPending = save(OutboundNotification.PENDING, old);
+
+        dispatcher.purgeSettled();
+
+        assertThat(outboxRepository.existsById(oldSent)).isFalse();
+        assertThat(outboxRepository.existsById(oldFailed)).isFalse();
+        assertThat(outboxRepository.existsById(recentSent)).isTrue();
+        // Still to be delivered, however long it has waited
+        assertThat(outboxRepository.existsById(oldPending)).isTrue();
+    }
+
+    @Test
+    void aDueRowIsClaimedByOneDispatcherOnly() {
+        // Due an hour from now, so the scheduled dispatch does not take it first; the claims run as of two hours from now
+        Instant later = Instant.now().plus(Duration.ofHours(2));
+        OutboundNotification notification = notification(OutboundNotification.PENDING, Instant.now());
+        notification.setRecipient("claimed@example.com");
+        notification.setNextAttemptAt(Instant.now().plus(Duration.ofHours(1)));
+        Long id = outboxRepository.save(notification).getId();
+        Instant leaseUntil = later.plus(Duration.ofMinutes(5));
+
+        Integer first = transactionTemplate.execute(status -> outboxRepository.claim(id, later, leaseUntil));
+        Integer second = transactionTemplate.execute(status -> outboxRepository.claim(id, later, leaseUntil));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        // Due again once the lease runs out, should the claiming dispatcher die before settling the row
+        Integer afterLease = transactionTemplate.execute(status -> outboxRepository.claim(id, leaseUntil.plusSeconds(1), leaseUntil.plusSeconds(2)));
+        assertThat(afterLease).isEqualTo(1);
+    }
+
+    @Test
+    void aRecipientHasOnePendingNotificationPerReleaseAndKind() {
+        String key = OutboundNotification.pendingKey("retention-test", "approval", "twice@example.com");
+        OutboundNotification first = notification(OutboundNotification.PENDING, Instant.now());
+        first.setPendingKey(key);
+        outboxRepository.save(first);
+        OutboundNotification second = notification(OutboundNotification.PENDING, Instant.now());
+        second.setPendingKey(key);
+
+        assertThatThrownBy(() -> outboxRepository.save(second)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private Long save(String status, Instant createdAt) {
+        return outboxRepository.save(notification(status, createdAt)).getId();
+    }
+
+    private static OutboundNotification notification(String status, Instant createdAt) {
+        OutboundNotification notification = new OutboundNotification();
+        notification.setReleaseId("retention-test");
+        notification.setKind("approval");
+        notification.setRecipient(status.toLowerCase() + "@example.com");
+        notification.setSubject("Retention");
+        notification.setBody("Retention");
+        notification.setStatus(status);
+        notification.setCreatedAt(createdAt);
+        // Never due, so the scheduled dispatch leaves the pending row alone
+        notification.setNextAttemptAt(Instant.now().plus(Duration.ofDays(365)));
+        return notification;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ComponentPatchRequest;
+import com.example.releaseportal.dto.PatchedComponent;
+import com.example.releaseportal.dto.ReadinessReport;
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.dto.ReleasePatchRequest;
+import com.example.releaseportal.dto.TeamPatchRequest;
+import com.example.releaseportal.dto.UserStoryPatchRequest;
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.repository.ComponentRepository;
+import com.example.releaseportal.repository.ReleaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@RecordApplicationEvents
+class PartialUpdateServiceTest {
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
+    @Autowired
+    private ReleaseImportService releaseImportService;
+
+    @Autowired
+    private ReadinessService readinessService;
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private String releaseId;
+    private String teamId;
+    private String componentId;
+    private String storyId;
+
+    // A release with one team, one component with every scan pending and one pending story
+    @BeforeEach
+    void importRelease() throws Exception {
+        releaseId = "patch-" + System.nanoTime();
+        teamId = releaseId + "-team";
+        componentId = releaseId + "-component";
+        storyId = releaseId + "-story";
+        String ndjson = String.join("\n",
+                "{\"type\":\"release\",\"id\":\"" + releaseId + "\",\"name\":\"Patch\",\"version\":\"1.0.0\",\"status\":\"In Progress\","
+                        + "\"overallAppOwnerSignedOff\":\"Pending\"}",
+                "{\"type\":\"team\",\"id\":\"" + teamId + "\",\"releaseId\":\"" + releaseId + "\",\"name\":\"Patch Team\","
+                        + "\"qaSignedOff\":\"Pending\",\"appOwnerSignedOff\":\"Pending\"}",
+                "{\"type\":\"component\",\"id\":\"" + componentId + "\",\"teamId\":\"" + teamId + "\",\"name\":\"Gateway\","
+                        + "\"version\":\"2.1.0\",\"sonarQube\":\"Pending\",\"nexusIq\":\"Pending\",\"checkmarx\":\"Pending\"}",
+                "{\"type\":\"userStory\",\"id\":\"" + storyId + "\",\"teamId\":\"" + teamId + "\",\"description\":\"Patch story\","
+                        + "\"qaStatus\":\"Pending\"}");
+        releaseImportService.importGraph(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void onlyTheSuppliedFieldsChange() {
+        ComponentPatchRequest patch = new ComponentPatchRequest();
+        patch.setNexusIq("Failed");
+
+        PartialUpdateService.Patched<PatchedComponent> result =
+                partialUpdateService.patchComponent(releaseId, teamId, componentId, null, patch);
+
+        Component stored = componentRepository.findById(componentId).orElseThrow();
+        assertThat(stored.getName()).isEqualTo("Gateway");
+        assertThat(stored.getVersion()).isEqualTo("2.1.0");
+        assertThat(stored.getSonarQube()).isEqualTo(ScanStatus.PENDING);
+        assertThat(stored.getNexusIq()).isEqualTo(ScanStatus.FAILED);
+        assertThat(stored.getCheckmarx()).isEqualTo(ScanStatus.PENDING);
+        assertThat(stored.getLockVersion()).isEqualTo(result.row().getLockVersion());
+        assertThat(result.revision()).isEqualTo(releaseRepository.findRevisionById(releaseId).orElseThrow());
+    }
+
+    @Test
+    void readinessDeltasAndChangeEventsAreEmitted() {
+        ComponentPatchRequest scans = new ComponentPatchRequest();
+        scans.setSonarQube("Passed");
+        scans.setCheckmarx("Failed");
+        UserStoryPatchRequest qa = new UserStoryPatchRequest();
+        qa.setQaStatus("Passed");
+        TeamPatchRequest signOff = new TeamPatchRequest();
+        signOff.setQaSignedOff("Completed");
+
+        partialUpdateService.patchComponent(releaseId, teamId, componentId, null, scans);
+        partialUpdateService.patchUserStory(releaseId, teamId, storyId, null, qa);
+        partialUpdateService.patchTeam(releaseId, teamId, null, signOff);
+
+        ReadinessReport readiness = readinessService.getReadiness(releaseId);
+        assertThat(readiness.getRelease().getScansPassed()).isEqualTo(1);
+        assertThat(readiness.getRelease().getScansFailed()).isEqualTo(1);
+        assertThat(readiness.getRelease().getScansPending()).isEqualTo(1);
+        assertThat(readiness.getRelease().getQaPassed()).isEqualTo(1);
+        assertThat(readiness.getRelease().getQaPending()).isZero();
+        assertThat(readiness.getRelease().getTeamsQaSignedOff()).isEqualTo(1);
+        assertThat(events.stream(ReleaseChangeEvent.class).filter(event -> releaseId.equals(event.getReleaseId())))
+                .extracting(ReleaseChangeEvent::getEntityId, ReleaseChangeEvent::getField)
+                .containsExactly(
+                        tuple(componentId, "sonarQube"),
+                        tuple(componentId, "checkmarx"),
+                        tuple(storyId, "qaStatus"),
+                        tuple(teamId, "qaSignedOff"));
+    }
+
+    @Test
+    void aStaleIfMatchIsRejected() {
+        String tag = "\"" + ReleaseRevisionService.tag(releaseRepository.findRevisionById(releaseId).orElseThrow()) + "\"";
+        ReleasePatchRequest rename = new ReleasePatchRequest();
+        rename.setName("Renamed");
+        partialUpdateService.patchRelease(releaseId, tag, rename);
+
+        ReleasePatchRequest block = new ReleasePatchRequest();
+        block.setStatus("Blocked");
+        assertStatus(() -> partialUpdateService.patchRelease(releaseId, tag, block), HttpStatus.PRECONDITION_FAILED);
+        UserStoryPatchRequest qa = new UserStoryPatchRequest();
+        qa.setQaStatus("Failed");
+        assertStatus(() -> partialUpdateService.patchUserStory(releaseId, teamId, storyId, tag, qa), HttpStatus.PRECONDITION_FAILED);
+
+        assertThat(releaseRepository.findById(releaseId).orElseThrow().getName()).isEqualTo("Renamed");
+        assertThat(readinessService.getReadiness(releaseId).getRelease().getQaFailed()).isZero();
+    }
+
+    @Test
+    void aMissingOrForeignRowIsNotFound() {
+        UserStoryPatchRequest qa = new UserStoryPatchRequest();
+        qa.setQaStatus("Passed");
+        TeamPatchRequest signOff = new TeamPatchRequest();
+        signOff.setQaSignedOff("Completed");
+
+        assertStatus(() -> partialUpdateService.patchUserStory(releaseId, teamId, "no-such-story", null, qa), HttpStatus.NOT_FOUND);
+        assertStatus(() -> partialUpdateService.patchTeam("no-such-release", teamId, null, signOff), HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void aWriteBasedOnAnOlderLockVersionIsRejected() {
+        ComponentPatchRequest first = new ComponentPatchRequest();
+        first.setSonarQube("Passed");
+        first.setLockVersion(componentRepository.findById(componentId).orElseThrow().getLockVersion());
+        partialUpdateService.patchComponent(releaseId, teamId, componentId, null, first);
+
+        // Read the same version as the first writer, so it lost the race
+        ComponentPatchRequest second = new ComponentPatchRequest();
+        second.setSonarQube("Failed");
+        second.setLockVersion(first.getLockVersion());
+        assertStatus(() -> partialUpdateService.patchComponent(releaseId, teamId, componentId, null, second), HttpStatus.CONFLICT);
+
+        assertThat(componentRepository.findById(componentId).orElseThrow().getSonarQube()).isEqualTo(ScanStatus.PASSED);
+    }
+
+    private static void assertStatus(Runnable patch, HttpStatus expected) {
+        assertThatThrownBy(patch::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(expected));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.model.QaStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.model.SignOffStatus;
+import com.example.releaseportal.model.TeamReadiness;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadinessDeltaTest {
+
+    @Test
+    void scanChangeMovesOneCountBetweenStatuses() {
+        ReadinessDelta delta = new ReadinessDelta().scan(ScanStatus.PENDING, -1).scan(ScanStatus.FAILED, 1);
+
+        assertThat(delta.getScansPending()).isEqualTo(-1);
+        assertThat(delta.getScansFailed()).isEqualTo(1);
+        assertThat(delta.getScansPassed()).isZero();
+    }
+
+    @Test
+    void unchangedStatusCancelsOut() {
+        ReadinessDelta delta = new ReadinessDelta()
+                .scan(ScanStatus.PASSED, -1).scan(ScanStatus.PASSED, 1)
+                .qa(QaStatus.IN_PROGRESS, -1).qa(QaStatus.IN_PROGRESS, 1)
+                .qaSignOff(SignOffStatus.COMPLETED, -1).qaSignOff(SignOffStatus.COMPLETED, 1);
+
+        assertThat(delta).isEqualTo(new ReadinessDelta());
+    }
+
+    @Test
+    void qaChangeMovesOneCountBetweenStatuses() {
+        ReadinessDelta delta = new ReadinessDelta().qa(QaStatus.IN_PROGRESS, -1).qa(QaStatus.PASSED, 1);
+
+        assertThat(delta.getQaInProgress()).isEqualTo(-1);
+        assertThat(delta.getQaPassed()).isEqualTo(1);
+        assertThat(delta.getQaPending()).isZero();
+        assertThat(delta.getQaFailed()).isZero();
+    }
+
+    @Test
+    void missingStatusCountsNothing() {
+        ReadinessDelta delta = new ReadinessDelta().scan(null, 1).qa(null, 1).qaSignOff(null, 1).appOwnerSignOff(null, 1);
+
+        assertThat(delta).isEqualTo(new ReadinessDelta());
+    }
+
+    @Test
+    void onlyCompletedSignOffsAreCounted() {
+        ReadinessDelta signed = new ReadinessDelta()
+                .qaSignOff(SignOffStatus.PENDING, -1).qaSignOff(SignOffStatus.COMPLETED, 1)
+                .appOwnerSignOff(SignOffStatus.PENDING, -1).appOwnerSignOff(SignOffStatus.COMPLETED, 1);
+        ReadinessDelta withdrawn = new ReadinessDelta()
+                .qaSignOff(SignOffStatus.COMPLETED, -1).qaSignOff(SignOffStatus.PENDING, 1);
+
+        assertThat(signed.getTeamsQaSignedOff()).isEqualTo(1);
+        assertThat(signed.getTeamsAppOwnerSignedOff()).isEqualTo(1);
+        assertThat(withdrawn.getTeamsQaSignedOff()).isEqualTo(-1);
+        assertThat(withdrawn.getTeamsAppOwnerSignedOff()).isZero();
+    }
+
+    @Test
+    void removingATeamSubtractsEveryOneOfItsCounters() {
+        TeamReadiness team = new TeamReadiness();
+        team.countScan(ScanStatus.PASSED, 4);
+        team.countScan(ScanStatus.FAILED, 1);
+        team.countScan(ScanStatus.PENDING, 1);
+        team.countQa(QaStatus.PASSED, 3);
+        team.countQa(QaStatus.FAILED, 2);
+        team.countQa(QaStatus.IN_PROGRESS, 1);
+        team.countQa(QaStatus.PENDING, 5);
+        team.setQaSignedOff(SignOffStatus.COMPLETED);
+        team.setAppOwnerSignedOff(SignOffStatus.PENDING);
+
+        ReadinessDelta removing = ReadinessDelta.removing(team);
+
+        ReadinessDelta net = new ReadinessDelta();
+        net.add(team);
+        net.add(removing);
+        assertThat(net).isEqualTo(new ReadinessDelta());
+        assertThat(removing.getScansPassed()).isEqualTo(-4);
+        assertThat(removing.getQaPending()).isEqualTo(-5);
+        assertThat(removing.getTeamCount()).isEqualTo(-1);
+        assertThat(removing.getTeamsQaSignedOff()).isEqualTo(-1);
+        assertThat(removing.getTeamsAppOwnerSignedOff()).isZero();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.config.BinaryEncodings;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReleaseExportServiceTest {
+
+    @Autowired
+    private ReleaseExportService releaseExportService;
+
+    @Autowired
+    private ReleaseImportService releaseImportService;
+
+    @Autowired
+    private BinaryEncodings binaryEncodings;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String id;
+
+    // A release with a team, two components and a story linked to both; the description needs CSV quoting
+    @BeforeEach
+    void importRelease() throws Exception {
+        id = "export-" + System.nanoTime();
+        importNdjson(String.join("\n",
+                "{\"type\":\"release\",\"id\":\"" + id + "\",\"name\":\"Export\",\"version\":\"1.0.0\",\"releaseDate\":\"2030-01-01\"}",
+                "{\"type\":\"team\",\"id\":\"" + id + "-team\",\"releaseId\":\"" + id + "\",\"name\":\"Export Team\","
+                        + "\"teamDl\":\"export@example.com\",\"qaSignedOff\":\"Completed\"}",
+                "{\"type\":\"component\",\"id\":\"" + id + "-a\",\"teamId\":\"" + id + "-team\",\"name\":\"A\",\"version\":\"1.0.0\","
+                        + "\"sonarQube\":\"Passed\"}",
+                "{\"type\":\"component\",\"id\":\"" + id + "-b\",\"teamId\":\"" + id + "-team\",\"name\":\"B\",\"version\":\"2.0.0\"}",
+                "{\"type\":\"userStory\",\"id\":\"" + id + "-story\",\"teamId\":\"" + id + "-team\","
+                        + "\"description\":\"Says \\\"hi\\\", twice\",\"qaStatus\":\"Passed\"}",
+                "{\"type\":\"storyComponent\",\"userStoryId\":\"" + id + "-story\",\"componentId\":\"" + id + "-a\"}",
+                "{\"type\":\"storyComponent\",\"userStoryId\":\"" + id + "-story\",\"componentId\":\"" + id + "-b\"}"));
+    }
+
+    @Test
+    void recordsComeParentsFirst() throws Exception {
+        List<JsonNode> records = records(id);
+
+        assertThat(records).extracting(record -> record.get("type").asText())
+                .containsExactly("release", "team", "component", "component", "userStory", "storyComponent", "storyComponent");
+        assertThat(records.get(2).get("releaseId").asText()).isEqualTo(id);
+        assertThat(records.get(2).get("sonarQube").asText()).isEqualTo("Passed");
+    }
+
+    @Test
+    void anExportImportsBackAsTheSameGraph() throws Exception {
+        String copy = id.replace("export-", "copy-");
+        StringBuilder renamed = new StringBuilder();
+        for (JsonNode record : records(id)) {
+            renamed.append(objectMapper.writeValueAsString(record).replace(id, copy)).append('\n');
+        }
+
+        importNdjson(renamed.toString());
+
+        List<String> original = new ArrayList<>();
+        for (JsonNode record : records(id)) {
+            original.add(objectMapper.writeValueAsString(record).replace(id, copy));
+        }
+        List<String> reimported = new ArrayList<>();
+        for (JsonNode record : records(copy)) {
+            reimported.add(objectMapper.writeValueAsString(record));
+        }
+        assertThat(reimported).isEqualTo(original);
+    }
+
+    @Test
+    void smileCarriesTheSameRecordsAsNdjson() throws Exception {
+        ByteArrayOutputStream smile = new ByteArrayOutputStream();
+        long written = releaseExportService.writeBinary(smile, binaryEncodings.smile());
+
+        List<JsonNode> decoded = new ArrayList<>();
+        try (MappingIterator<JsonNode> values = binaryEncodings.smile().readerFor(JsonNode.class)
+                .readValues(new ByteArrayInputStream(smile.toByteArray()))) {
+            values.forEachRemaining(record -> {
+                if (record.toString().contains(id)) {
+                    decoded.add(record);
+                }
+            });
+        }
+
+        assertThat(decoded).isEqualTo(records(id));
+        assertThat(written).isEqualTo(ndjsonLines().size());
+    }
+
+    @Test
+    void csvHasOneRowPerRecordUnderASharedHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        releaseExportService.writeCsv(out);
+        List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\r\n"));
+
+        assertThat(lines.get(0)).startsWith("type,id,name,version,releaseDate");
+        List<String> rows = lines.stream().filter(line -> line.contains(id)).toList();
+        assertThat(rows).hasSize(7);
+        assertThat(rows).anySatisfy(row -> assertThat(row).contains("\"Says \"\"hi\"\", twice\""));
+    }
+
+    private List<JsonNode> records(String prefix) throws Exception {
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : ndjsonLines()) {
+            if (line.contains(prefix)) {
+                records.add(objectMapper.readTree(line));
+            }
+        }
+        return records;
+    }
+
+    private List<String> ndjsonLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        releaseExportService.writeNdjson(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private void importNdjson(String ndjson) throws Exception {
+        releaseImportService.importGraph(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.ReleaseChangeEvent;
+import com.example.releaseportal.repository.ReleaseChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ReleaseHistoryServiceTest {
+
+    @Autowired
+    private ReleaseChangePublisher releaseChanges;
+
+    @Autowired
+    private ReleaseChangeRepository changeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void publishingForAnUnknownReleaseFailsAndRecordsNothing() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> releaseChanges.publish("no-such-release",
+                ReleaseChangeEvent.updated(ReleaseChangeEvent.RELEASE, "no-such-release", "name", "Ghost"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+
+        assertThat(changeRepository.countByReleaseIdAndIdGreaterThan("no-such-release", 0)).isZero();
+    }
+}
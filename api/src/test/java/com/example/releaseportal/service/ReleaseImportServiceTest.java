@@ -0,0 +1,185 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.config.BinaryEncodings;
+import com.example.releaseportal.dto.ImportRecord;
+import com.example.releaseportal.dto.ImportResult;
+import com.example.releaseportal.model.UserStory;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.UserStoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ReleaseImportServiceTest {
+
+    @Autowired
+    private ReleaseImportService releaseImportService;
+
+    @Autowired
+    private BinaryEncodings binaryEncodings;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private ReadinessService readinessService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReleaseRevisionService releaseRevisionService;
+
+    @Autowired
+    private ReleaseDetailCache releaseDetailCache;
+
+    @Autowired
+    private UserStoryTextIndex userStoryTextIndex;
+
+    @Autowired
+    private ComponentVersionIndex componentVersionIndex;
+
+    @Autowired
+    private ReleaseHistoryService releaseHistoryService;
+
+    @Test
+    void aStreamedGraphLandsWithItsLinks() throws Exception {
+        String id = "import-" + System.nanoTime();
+
+        ImportResult result = releaseImportService.importGraph(ndjson(graph(id)));
+
+        assertThat(result.getReleases()).isEqualTo(1);
+        assertThat(result.getTeams()).isEqualTo(1);
+        assertThat(result.getComponents()).isEqualTo(2);
+        assertThat(result.getUserStories()).isEqualTo(1);
+        assertThat(result.getStoryComponents()).isEqualTo(2);
+        assertThat(result.getRecords()).isEqualTo(7);
+        assertThat(releaseRepository.findById(id)).isPresent();
+        transactionTemplate.executeWithoutResult(status -> {
+            UserStory story = userStoryRepository.findById(id + "-story").orElseThrow();
+            assertThat(story.getTeam().getId()).isEqualTo(id + "-team");
+            assertThat(story.getComponents()).extracting(c -> c.getId()).containsExactlyInAnyOrder(id + "-a", id + "-b");
+        });
+        // Derived state is refreshed once the records are in
+        assertThat(readinessService.getReadiness(id).getRelease().getScansPending()).isEqualTo(5);
+        assertThat(readinessService.getReadiness(id).getRelease().getScansPassed()).isEqualTo(1);
+    }
+
+    @Test
+    void smileRecordsAreReadWithTheSmileMapper() throws Exception {
+        String id = "import-smile-" + System.nanoTime();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (ImportRecord record : graph(id)) {
+            body.write(binaryEncodings.smile().writeValueAsBytes(record));
+        }
+
+        ImportResult result = releaseImportService.importGraph(new ByteArrayInputStream(body.toByteArray()),
+                binaryEncodings.smile(), soFar -> { });
+
+        assertThat(result.getRecords()).isEqualTo(7);
+        assertThat(userStoryRepository.findById(id + "-story")).isPresent();
+    }
+
+    @Test
+    void progressIsReportedAfterEveryCommittedChunk() throws Exception {
+        String id = "import-chunks-" + System.nanoTime();
+        List<Long> reported = new ArrayList<>();
+
+        inChunksOf(3).importGraph(ndjson(graph(id)), objectMapper, soFar -> reported.add(soFar.getRecords()));
+
+        // Two full chunks, then the final total once the last partial chunk is in
+        assertThat(reported).containsExactly(3L, 6L, 7L);
+    }
+
+    @Test
+    void aMalformedRecordKeepsTheChunksCommittedBeforeIt() {
+        String id = "import-broken-" + System.nanoTime();
+        String body = String.join("\n",
+                "{\"type\":\"release\",\"id\":\"" + id + "\",\"name\":\"Broken\",\"version\":\"1.0.0\"}",
+                "{\"type\":\"team\",\"id\":\"" + id + "-team\",\"releaseId\":\"" + id + "\",\"name\":\"Broken Team\"}",
+                "{\"type\":\"component\",\"id\":");
+
+        assertThatThrownBy(() -> inChunksOf(2).importGraph(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                objectMapper, soFar -> { }))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(releaseRepository.findById(id)).isPresent();
+    }
+
+    private ReleaseImportService inChunksOf(int chunkSize) {
+        return new ReleaseImportService(jdbcTemplate, namedJdbcTemplate, transactionTemplate, objectMapper,
+                readinessService, releaseRevisionService, releaseDetailCache, userStoryTextIndex,
+                componentVersionIndex, releaseHistoryService, chunkSize, chunkSize);
+    }
+
+    private ByteArrayInputStream ndjson(List<ImportRecord> records) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (ImportRecord record : records) {
+            body.append(objectMapper.writeValueAsString(record)).append('\n');
+        }
+        return new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A release with one team, two components and a story linked to both, parents first as the export writes them
+    private static List<ImportRecord> graph(String id) {
+        ImportRecord release = record("release", id);
+        release.setName("Imported");
+        release.setVersion("1.0.0");
+        ImportRecord team = record("team", id + "-team");
+        team.setReleaseId(id);
+        team.setName("Imported Team");
+        ImportRecord a = record("component", id + "-a");
+        a.setTeamId(team.getId());
+        a.setName("A");
+        a.setSonarQube("Passed");
+        ImportRecord b = record("component", id + "-b");
+        b.setTeamId(team.getId());
+        b.setName("B");
+        ImportRecord story = record("userStory", id + "-story");
+        story.setTeamId(team.getId());
+        story.setDescription("Imported story");
+        return List.of(release, team, a, b, story, link(story.getId(), a.getId()), link(story.getId(), b.getId()));
+    }
+
+    private static ImportRecord link(String storyId, String componentId) {
+        ImportRecord link = record("storyComponent", null);
+        link.setUserStoryId(storyId);
+        link.setComponentId(componentId);
+        return link;
+    }
+
+    private static ImportRecord record(String type, String id) {
+        ImportRecord record = new ImportRecord();
+        record.setType(type);
+        record.setId(id);
+        return record;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.config.SqlStatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ReleaseViewServiceTest {
+
+    @Autowired
+    private ReleaseViewService releaseViewService;
+
+    @Autowired
+    private ReleaseImportService releaseImportService;
+
+    private String id;
+
+    // A release with two teams, each with two components and a story linked to both
+    @BeforeEach
+    void importRelease() throws Exception {
+        id = "view-" + System.nanoTime();
+        List<String> lines = new ArrayList<>();
+        lines.add("{\"type\":\"release\",\"id\":\"" + id + "\",\"name\":\"View\",\"version\":\"1.0.0\"}");
+        for (String team : List.of("-t1", "-t2")) {
+            lines.add("{\"type\":\"team\",\"id\":\"" + id + team + "\",\"releaseId\":\"" + id + "\",\"name\":\"Team" + team + "\"}");
+            for (String component : List.of("-a", "-b")) {
+                lines.add("{\"type\":\"component\",\"id\":\"" + id + team + component + "\",\"teamId\":\"" + id + team
+                        + "\",\"name\":\"C" + component + "\",\"version\":\"1.0.0\"}");
+            }
+            lines.add("{\"type\":\"userStory\",\"id\":\"" + id + team + "-s\",\"teamId\":\"" + id + team + "\",\"description\":\"S\"}");
+            for (String component : List.of("-a", "-b")) {
+                lines.add("{\"type\":\"storyComponent\",\"userStoryId\":\"" + id + team + "-s\",\"componentId\":\""
+                        + id + team + component + "\"}");
+            }
+        }
+        releaseImportService.importGraph(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void withoutIncludeOnlyTheReleaseRowIsRead() {
+        Rendered rendered = render("name,status", null);
+
+        assertThat(fieldNames(rendered.document())).containsExactly("id", "name", "status");
+        assertThat(rendered.statements()).isEqualTo(1);
+    }
+
+    @Test
+    void includeTeamsLoadsTeamsButNotTheirChildren() {
+        Rendered rendered = render("name,team.name", "teams");
+
+        JsonNode team = rendered.document().get("teams").get(0);
+        assertThat(rendered.document().get("teams")).hasSize(2);
+        assertThat(fieldNames(team)).containsExactly("id", "name");
+        // Teams come in with the release through the entity graph
+        assertThat(rendered.statements()).isEqualTo(1);
+    }
+
+    @Test
+    void eachIncludedAssociationCostsOneQueryWhateverTheNumberOfTeams() {
+        Rendered rendered = render("name,component.name,userStory.componentIds", "components,userStories");
+
+        JsonNode team = rendered.document().get("teams").get(0);
+        assertThat(fieldNames(team.get("components").get(0))).containsExactly("id", "name");
+        assertThat(fieldNames(team.get("userStories").get(0))).containsExactly("id", "componentIds");
+        assertThat(team.get("userStories").get(0).get("componentIds")).hasSize(2);
+        // Release with teams, then components, stories and story links once each for both teams
+        assertThat(rendered.statements()).isEqualTo(4);
+    }
+
+    @Test
+    void storyLinksAreOnlyReadWhenComponentIdsAreRequested() {
+        Rendered rendered = render("userStory.description", "userStories");
+
+        JsonNode story = rendered.document().get("teams").get(0).get("userStories").get(0);
+        assertThat(fieldNames(story)).containsExactly("id", "description");
+        assertThat(rendered.document().get("teams").get(0).has("components")).isFalse();
+        assertThat(rendered.statements()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownFieldsAndIncludesAreRejected() {
+        assertThatThrownBy(() -> releaseViewService.parse("team.colour", null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> releaseViewService.parse(null, "owners"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private Rendered render(String fields, String include) {
+        ReleaseViewService.View view = releaseViewService.parse(fields, include);
+        long before = SqlStatementCounter.current();
+        ObjectNode document = releaseViewService.render(id, view).orElseThrow();
+        return new Rendered(document, SqlStatementCounter.current() - before);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private record Rendered(ObjectNode document, long statements) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.BulkScanResult;
+import com.example.releaseportal.dto.ScanOutcome;
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.repository.ComponentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ScanIngestionServiceTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReadinessService readinessService;
+
+    @Autowired
+    private ReleaseChangePublisher releaseChanges;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReleaseImportService releaseImportService;
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    private ScanIngestionService scanIngestionService;
+
+    private String first;
+    private String second;
+
+    // Chunks of two, so a body of three records commits one chunk before it reaches the third
+    @BeforeEach
+    void setUp() throws Exception {
+        scanIngestionService = new ScanIngestionService(jdbcTemplate, transactionTemplate, readinessService,
+                releaseChanges, objectMapper, 2);
+        String releaseId = "scans-" + System.nanoTime();
+        String teamId = releaseId + "-team";
+        first = releaseId + "-first";
+        second = releaseId + "-second";
+        String ndjson = String.join("\n",
+                "{\"type\":\"release\",\"id\":\"" + releaseId + "\",\"name\":\"Scans\",\"version\":\"1.0.0\"}",
+                "{\"type\":\"team\",\"id\":\"" + teamId + "\",\"releaseId\":\"" + releaseId + "\",\"name\":\"Scans Team\"}",
+                "{\"type\":\"component\",\"id\":\"" + first + "\",\"teamId\":\"" + teamId + "\",\"name\":\"First\",\"version\":\"1.0.0\","
+                        + "\"sonarQube\":\"Pending\",\"nexusIq\":\"Pending\",\"checkmarx\":\"Pending\"}",
+                "{\"type\":\"component\",\"id\":\"" + second + "\",\"teamId\":\"" + teamId + "\",\"name\":\"Second\",\"version\":\"1.0.0\","
+                        + "\"sonarQube\":\"Pending\",\"nexusIq\":\"Pending\",\"checkmarx\":\"Pending\"}");
+        releaseImportService.importGraph(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void aCompleteBodyIsAppliedInFull() throws Exception {
+        BulkScanResult result = ingest("["
+                + scan(first, "sonarQube", "Passed") + ","
+                + scan(second, "sonarQube", "Failed") + ","
+                + scan(first, "sonarQube", "Passed") + ","
+                + scan("no-such-component", "nexusIq", "Passed") + "]");
+
+        assertThat(result.getError()).isNull();
+        assertThat(result.getStoppedAt()).isNull();
+        assertThat(result.getOutcomes()).extracting(ScanOutcome::getOutcome)
+                .containsExactly(ScanOutcome.UPDATED, ScanOutcome.UPDATED, ScanOutcome.UNCHANGED, ScanOutcome.NOT_FOUND);
+        assertThat(component(second).getSonarQube()).isEqualTo(ScanStatus.FAILED);
+    }
+
+    @Test
+    void aMalformedRecordKeepsTheOutcomesOfTheRecordsBeforeIt() throws Exception {
+        BulkScanResult result = ingest("["
+                + scan(first, "sonarQube", "Passed") + ","
+                + scan(second, "nexusIq", "Failed") + ","
+                + scan(first, "checkmarx", "Passed") + ","
+                + "{\"componentId\": oops}," + scan(second, "checkmarx", "Passed") + "]");
+
+        assertThat(result.getError()).isNotBlank();
+        assertThat(result.getStoppedAt()).isEqualTo(3);
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getOutcomes()).extracting(ScanOutcome::getIndex).containsExactly(0, 1, 2);
+        assertThat(result.getOutcomes()).extracting(ScanOutcome::getOutcome).containsOnly(ScanOutcome.UPDATED);
+        // The first two were committed as a chunk; the third was read before the break and applied with it
+        assertThat(component(first).getSonarQube()).isEqualTo(ScanStatus.PASSED);
+        assertThat(component(second).getNexusIq()).isEqualTo(ScanStatus.FAILED);
+        assertThat(component(first).getCheckmarx()).isEqualTo(ScanStatus.PASSED);
+        assertThat(component(second).getCheckmarx()).isEqualTo(ScanStatus.PENDING);
+    }
+
+    @Test
+    void anElementThatIsNotARecordStopsTheIngest() throws Exception {
+        BulkScanResult result = ingest("[" + scan(first, "sonarQube", "Failed") + ", 42, " + scan(second, "sonarQube", "Failed") + "]");
+
+        assertThat(result.getError()).isNotBlank();
+        assertThat(result.getStoppedAt()).isEqualTo(1);
+        assertThat(component(first).getSonarQube()).isEqualTo(ScanStatus.FAILED);
+        assertThat(component(second).getSonarQube()).isEqualTo(ScanStatus.PENDING);
+    }
+
+    private BulkScanResult ingest(String json) throws Exception {
+        return scanIngestionService.ingest(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Component component(String id) {
+        return componentRepository.findById(id).orElseThrow();
+    }
+
+    private static String scan(String componentId, String scanType, String status) {
+        return "{\"componentId\":\"" + componentId + "\",\"scanType\":\"" + scanType + "\",\"status\":\"" + status + "\"}";
+    }
+}
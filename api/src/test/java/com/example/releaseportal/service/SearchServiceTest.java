@@ -0,0 +1,71 @@
+package com.example.releaseportal.service;
+
+import com.example.releaseportal.dto.SearchPage;
+import com.example.releaseportal.dto.UserStorySearchCriteria;
+import com.example.releaseportal.dto.UserStorySearchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SearchServiceTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ReleaseImportService releaseImportService;
+
+    @Autowired
+    private UserStoryTextIndex userStoryTextIndex;
+
+    @Test
+    void idSortIsNotRepeatedAsTheTiebreaker() {
+        Pageable page = SearchService.sorted(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")), SearchService.USER_STORY_SORTS);
+
+        assertThat(page.getSort()).containsExactly(Sort.Order.desc("id"));
+    }
+
+    @Test
+    void otherSortsEndWithTheId() {
+        Pageable page = SearchService.sorted(PageRequest.of(0, 10, Sort.by("qaStatus")), SearchService.USER_STORY_SORTS);
+
+        assertThat(page.getSort()).containsExactly(Sort.Order.asc("qaStatus"), Sort.Order.asc("id"));
+    }
+
+    @Test
+    void textMatchesBeyondTheCapAreFlagged() throws Exception {
+        StringBuilder ndjson = new StringBuilder()
+                .append("{\"type\":\"release\",\"id\":\"search-cap\",\"name\":\"Search Cap\"}\n")
+                .append("{\"type\":\"team\",\"id\":\"search-cap-team\",\"releaseId\":\"search-cap\",\"name\":\"Cap Team\"}\n");
+        for (int i = 0; i <= SearchService.MAX_TEXT_MATCHES; i++) {
+            ndjson.append("{\"type\":\"userStory\",\"id\":\"search-cap-").append(i)
+                    .append("\",\"teamId\":\"search-cap-team\",\"description\":\"zephyrine story ").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"type\":\"userStory\",\"id\":\"search-cap-lone\",\"teamId\":\"search-cap-team\",\"description\":\"quillwort story\"}\n");
+        releaseImportService.importGraph(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        userStoryTextIndex.rebuild();
+
+        SearchPage<UserStorySearchResult> capped = search("zephyrine");
+        SearchPage<UserStorySearchResult> single = search("quillwort");
+
+        assertThat(capped.isTruncated()).isTrue();
+        assertThat(capped.getTotalElements()).isEqualTo(SearchService.MAX_TEXT_MATCHES);
+        assertThat(single.isTruncated()).isFalse();
+        assertThat(single.getTotalElements()).isEqualTo(1);
+    }
+
+    private SearchPage<UserStorySearchResult> search(String q) {
+        UserStorySearchCriteria criteria = new UserStorySearchCriteria();
+        criteria.setQ(q);
+        return searchService.searchUserStories(criteria, PageRequest.of(0, 20));
+    }
+}
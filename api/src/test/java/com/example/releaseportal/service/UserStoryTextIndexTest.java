@@ -0,0 +1,104 @@
+package com.example.releaseportal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UserStoryTextIndexTest {
+
+    // Stories are put directly, so the database is never read
+    private final UserStoryTextIndex index = new UserStoryTextIndex(null);
+
+    @Test
+    void tokenizeDropsStopWordsShortWordsAndPlurals() {
+        assertThat(UserStoryTextIndex.tokenize("As a user I can export the Reports, and access 2 logs"))
+                .containsExactly("user", "export", "report", "access", "log");
+        assertThat(UserStoryTextIndex.tokenize("bus pass")).containsExactly("bus", "pass");
+        assertThat(UserStoryTextIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void scoresFollowBm25() {
+        index.put("S-1", "login page");
+        index.put("S-2", "login login audit");
+        index.put("S-3", "export report");
+
+        List<UserStoryTextIndex.Match> matches = index.search("login", 10);
+
+        double averageLength = 7 / 3.0;
+        double idf = Math.log(1 + (3 - 2 + 0.5) / (2 + 0.5));
+        assertThat(matches).extracting(UserStoryTextIndex.Match::storyId).containsExactly("S-2", "S-1");
+        assertThat(matches.get(0).score()).isCloseTo(bm25(idf, 2, 3, averageLength), within(1e-9));
+        assertThat(matches.get(1).score()).isCloseTo(bm25(idf, 1, 2, averageLength), within(1e-9));
+    }
+
+    @Test
+    void rareTermsOutweighCommonOnes() {
+        index.put("S-1", "checkout payment");
+        index.put("S-2", "checkout refund");
+        index.put("S-3", "checkout basket");
+        index.put("S-4", "checkout invoice");
+
+        List<UserStoryTextIndex.Match> matches = index.search("checkout refund", 10);
+
+        assertThat(matches.get(0).storyId()).isEqualTo("S-2");
+        assertThat(matches).hasSize(4);
+    }
+
+    @Test
+    void shorterDescriptionsRankHigherForTheSameFrequency() {
+        index.put("S-1", "search filter by status release team component version");
+        index.put("S-2", "search filter");
+        index.put("S-3", "unrelated story");
+
+        assertThat(index.search("search", 10)).extracting(UserStoryTextIndex.Match::storyId).containsExactly("S-2", "S-1");
+    }
+
+    @Test
+    void tiesAreOrderedByIdAndCutAtTheLimit() {
+        index.put("S-3", "deploy pipeline");
+        index.put("S-1", "deploy pipeline");
+        index.put("S-2", "deploy pipeline");
+        index.put("S-4", "other work");
+
+        assertThat(index.search("deploy", 2)).extracting(UserStoryTextIndex.Match::storyId).containsExactly("S-1", "S-2");
+    }
+
+    @Test
+    void repeatedQueryTermsCountOnce() {
+        index.put("S-1", "audit trail");
+        index.put("S-2", "other work");
+
+        assertThat(index.search("audit audit audits", 10).get(0).score())
+                .isCloseTo(index.search("audit", 10).get(0).score(), within(1e-9));
+    }
+
+    @Test
+    void editsAndRemovalsChangeTheRanking() {
+        index.put("S-1", "password reset");
+        index.put("S-2", "password policy");
+        index.put("S-3", "other work");
+
+        index.put("S-1", "profile picture");
+        index.remove("S-2");
+
+        assertThat(index.search("password", 10)).isEmpty();
+        assertThat(index.search("picture", 10)).extracting(UserStoryTextIndex.Match::storyId).containsExactly("S-1");
+    }
+
+    @Test
+    void queriesWithoutTermsOrDocumentsMatchNothing() {
+        assertThat(index.search("login", 10)).isEmpty();
+        index.put("S-1", "login page");
+        assertThat(index.search("the and of", 10)).isEmpty();
+        assertThat(index.search("unknown", 10)).isEmpty();
+    }
+
+    private static double bm25(double idf, int frequency, int length, double averageLength) {
+        double norm = 1.2 * (1 - 0.75 + 0.75 * length / averageLength);
+        return idf * frequency * (1.2 + 1) / (frequency + norm);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.releaseportal.benchmarks;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.example.releaseportal.config.BinaryEncodings;
+import com.example.releaseportal.config.ResponseCompressionFilter;
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of each response encoding of one release detail: plain JSON, JSON compressed the way
+ * {@link ResponseCompressionFilter} does it, and the Smile and CBOR forms from {@link BinaryEncodings}.
+ * The bytes on the wire per encoding are printed once per trial. Release size follows the dataset
+ * shape, e.g. {@code -p teamsPerRelease=20 -p storiesPerTeam=200} for a large release.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"json", "json-gzip", "json-brotli", "smile", "cbor"})
+    public String encoding;
+
+    private ObjectMapper mapper;
+    private ReleaseDetail detail;
+
+    @Setup(Level.Trial)
+    public void setUp(PortalState portal) throws IOException {
+        BinaryEncodings encodings = portal.bean(BinaryEncodings.class);
+        mapper = switch (encoding) {
+            case "smile" -> encodings.smile();
+            case "cbor" -> encodings.cbor();
+            default -> portal.bean(ObjectMapper.class);
+        };
+        if (encoding.equals("json-brotli")) {
+            Brotli4jLoader.ensureAvailability();
+        }
+        ReleaseRepository releaseRepository = portal.bean(ReleaseRepository.class);
+        detail = portal.readOnlyTransaction.execute(status ->
+                ReleaseDetail.from(releaseRepository.findWithTeamsById(SyntheticDataset.releaseId(0)).orElseThrow()));
+        ObjectMapper json = portal.bean(ObjectMapper.class);
+        byte[] plain = json.writeValueAsBytes(detail);
+        byte[] encoded = encode();
+        // Every encoding must carry the same document, or the comparison is meaningless
+        if (!mapper.readTree(uncompressed(encoded)).equals(json.readTree(plain))) {
+            throw new IllegalStateException(encoding + " does not round-trip the release detail");
+        }
+        System.out.printf("%n%s: %d bytes on the wire (JSON: %d bytes)%n", encoding, encoded.length, plain.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out = switch (encoding) {
+            case "json-gzip" -> new GZIPOutputStream(bytes, 8192, true);
+            case "json-brotli" -> new BrotliOutputStream(bytes, new Encoder.Parameters().setQuality(ResponseCompressionFilter.BROTLI_QUALITY));
+            default -> bytes;
+        };
+        // Closes the stream, which finishes the compressed forms
+        mapper.writeValue(out, detail);
+        return bytes.toByteArray();
+    }
+
+    private byte[] uncompressed(byte[] encoded) throws IOException {
+        return switch (encoding) {
+            case "json-gzip" -> new GZIPInputStream(new ByteArrayInputStream(encoded)).readAllBytes();
+            case "json-brotli" -> Decoder.decompress(encoded).getDecompressedData();
+            default -> encoded;
+        };
+    }
+}
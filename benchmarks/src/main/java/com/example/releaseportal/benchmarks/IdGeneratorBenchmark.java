@@ -0,0 +1,43 @@
+package com.example.releaseportal.benchmarks;
+
+import com.example.releaseportal.service.IdGenerator;
+import com.example.releaseportal.service.MonotonicIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation alone and with every thread contending on the shared timestamp/sequence counter.
+ * Needs no application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator ids = new MonotonicIdGenerator(1L);
+
+    @Benchmark
+    @Threads(1)
+    public String nextIdSingleThread() {
+        return ids.nextId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String nextIdContended() {
+        return ids.nextId();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.releaseportal.benchmarks;
+
+import com.example.releaseportal.ReleasePortalApplication;
+import com.example.releaseportal.dto.ImportResult;
+import com.example.releaseportal.service.ReleaseImportService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application context, without the web server, over a private in-memory database loaded with a
+ * {@link SyntheticDataset} of the configured shape. One context is started per trial, so every
+ * {@code @Param} combination measures a freshly loaded database.
+ */
+@State(Scope.Benchmark)
+public class PortalState {
+
+    @Param("100")
+    public int releases;
+
+    @Param("5")
+    public int teamsPerRelease;
+
+    @Param("3")
+    public int componentsPerTeam;
+
+    @Param("20")
+    public int storiesPerTeam;
+
+    public ConfigurableApplicationContext context;
+    public SyntheticDataset dataset;
+    public TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(ReleasePortalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                        "spring.main.banner-mode=off",
+                        "observability.sql-count-header.enabled=false",
+                        "logging.level.root=WARN",
+                        "spring.jpa.show-sql=false")
+                .run();
+        dataset = new SyntheticDataset(releases, teamsPerRelease, componentsPerTeam, storiesPerTeam);
+        Path file = Files.createTempFile("release-portal-bench", ".ndjson");
+        try {
+            dataset.writeNdjson(file);
+            try (InputStream in = Files.newInputStream(file)) {
+                ImportResult result = bean(ReleaseImportService.class).importGraph(in);
+                System.out.printf("%nLoaded %d records in %d ms%n", result.getRecords(), result.getElapsedMillis());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        readOnlyTransaction = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public String randomReleaseId() {
+        return SyntheticDataset.releaseId(ThreadLocalRandom.current().nextInt(releases));
+    }
+
+    public ComponentRef randomComponent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int release = random.nextInt(releases);
+        return new ComponentRef(SyntheticDataset.releaseId(release),
+                SyntheticDataset.componentId(release, random.nextInt(teamsPerRelease), random.nextInt(componentsPerTeam)));
+    }
+
+    public record ComponentRef(String releaseId, String componentId) {
+    }
+}
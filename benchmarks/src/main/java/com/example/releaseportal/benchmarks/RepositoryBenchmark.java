@@ -0,0 +1,100 @@
+package com.example.releaseportal.benchmarks;
+
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.Team;
+import com.example.releaseportal.model.UserStory;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.example.releaseportal.repository.UserStoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the repositories behind the release endpoints. Each call runs in its own read-only
+ * transaction, as it would under a request; the graph benchmarks touch every collection so lazy
+ * loading is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private ReleaseRepository releaseRepository;
+    private UserStoryRepository userStoryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(PortalState portal) {
+        releaseRepository = portal.bean(ReleaseRepository.class);
+        userStoryRepository = portal.bean(UserStoryRepository.class);
+    }
+
+    @Benchmark
+    public Release findById(PortalState portal) {
+        return portal.readOnlyTransaction.execute(status ->
+                releaseRepository.findById(portal.randomReleaseId()).orElseThrow());
+    }
+
+    @Benchmark
+    public void findByIdWithGraph(PortalState portal, Blackhole blackhole) {
+        portal.readOnlyTransaction.executeWithoutResult(status ->
+                blackhole.consume(touch(releaseRepository.findById(portal.randomReleaseId()).orElseThrow())));
+    }
+
+    @Benchmark
+    public void findWithTeamsByIdWithGraph(PortalState portal, Blackhole blackhole) {
+        portal.readOnlyTransaction.executeWithoutResult(status ->
+                blackhole.consume(touch(releaseRepository.findWithTeamsById(portal.randomReleaseId()).orElseThrow())));
+    }
+
+    @Benchmark
+    public List<Release> findAll(PortalState portal) {
+        return portal.readOnlyTransaction.execute(status -> releaseRepository.findAll());
+    }
+
+    @Benchmark
+    public void findAllWithGraph(PortalState portal, Blackhole blackhole) {
+        portal.readOnlyTransaction.executeWithoutResult(status ->
+                releaseRepository.findAll().forEach(release -> blackhole.consume(touch(release))));
+    }
+
+    @Benchmark
+    public void findAllWithTeamsWithGraph(PortalState portal, Blackhole blackhole) {
+        portal.readOnlyTransaction.executeWithoutResult(status ->
+                releaseRepository.findAllWithTeams().forEach(release -> blackhole.consume(touch(release))));
+    }
+
+    @Benchmark
+    public int findByComponentsId(PortalState portal) {
+        String componentId = portal.randomComponent().componentId();
+        Integer found = portal.readOnlyTransaction.execute(status ->
+                userStoryRepository.findByComponents_Id(componentId).size());
+        return found == null ? 0 : found;
+    }
+
+    // Initializes the lazy collections the release JSON renders; returns the number of elements seen
+    static int touch(Release release) {
+        int elements = 0;
+        for (Team team : release.getTeams()) {
+            elements += 1 + team.getComponents().size();
+            for (UserStory story : team.getUserStories()) {
+                elements += 1 + story.getComponents().size();
+            }
+        }
+        return elements;
+    }
+}
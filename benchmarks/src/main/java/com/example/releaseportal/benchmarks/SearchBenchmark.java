@@ -0,0 +1,103 @@
+package com.example.releaseportal.benchmarks;
+
+import com.example.releaseportal.dto.ComponentSearchCriteria;
+import com.example.releaseportal.dto.ComponentSearchResult;
+import com.example.releaseportal.dto.ComponentUsageCriteria;
+import com.example.releaseportal.dto.ComponentUsageReport;
+import com.example.releaseportal.dto.ReleaseSearchCriteria;
+import com.example.releaseportal.dto.ReleaseSummary;
+import com.example.releaseportal.dto.SearchPage;
+import com.example.releaseportal.dto.UserStorySearchCriteria;
+import com.example.releaseportal.dto.UserStorySearchResult;
+import com.example.releaseportal.model.ReleaseStatus;
+import com.example.releaseportal.model.ScanStatus;
+import com.example.releaseportal.service.ComponentVersionIndex;
+import com.example.releaseportal.service.SearchService;
+import com.example.releaseportal.service.UserStoryTextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-page searches as the search endpoints run them. Run with several dataset sizes, e.g.
+ * {@code -p releases=100,1000}, to see how each query scales with the table sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final Pageable RELEASE_PAGE = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "releaseDate"));
+    private static final Pageable COMPONENT_PAGE = PageRequest.of(0, 50, Sort.by("name"));
+    private static final Pageable STORY_PAGE = PageRequest.of(0, 50, Sort.by("id"));
+
+    private SearchService searchService;
+    private ReleaseSearchCriteria inProgressReleases;
+    private ComponentSearchCriteria failedComponents;
+    private UserStorySearchCriteria textQuery;
+    private ComponentUsageCriteria componentVersionRange;
+
+    @Setup(Level.Trial)
+    public void setUp(PortalState portal) throws InterruptedException {
+        searchService = portal.bean(SearchService.class);
+        inProgressReleases = new ReleaseSearchCriteria();
+        inProgressReleases.setStatus(List.of(ReleaseStatus.IN_PROGRESS));
+        inProgressReleases.setReleasedFrom(LocalDate.of(2022, 1, 1));
+        failedComponents = new ComponentSearchCriteria();
+        failedComponents.setAnyScan(ScanStatus.FAILED);
+        textQuery = new UserStorySearchCriteria();
+        textQuery.setQ("refund gateway");
+        componentVersionRange = new ComponentUsageCriteria();
+        componentVersionRange.setName("component-0");
+        componentVersionRange.setVersion("1.5.x");
+        // Build the text index now instead of racing the background rebuild the import started
+        UserStoryTextIndex index = portal.bean(UserStoryTextIndex.class);
+        index.rebuild();
+        if (!index.isReady()) {
+            throw new IllegalStateException("User story index did not build");
+        }
+        ComponentVersionIndex versionIndex = portal.bean(ComponentVersionIndex.class);
+        versionIndex.rebuild();
+        if (!versionIndex.isReady()) {
+            throw new IllegalStateException("Component version index did not build");
+        }
+    }
+
+    @Benchmark
+    public SearchPage<ReleaseSummary> releasesByStatusAndDate() {
+        return searchService.searchReleases(inProgressReleases, RELEASE_PAGE);
+    }
+
+    @Benchmark
+    public SearchPage<ComponentSearchResult> componentsWithAnyFailedScan() {
+        return searchService.searchComponents(failedComponents, COMPONENT_PAGE);
+    }
+
+    @Benchmark
+    public ComponentUsageReport releasesShippingComponentVersionRange() {
+        return searchService.findComponentUsages(componentVersionRange);
+    }
+
+    @Benchmark
+    public SearchPage<UserStorySearchResult> userStoriesByText() {
+        return searchService.searchUserStories(textQuery, STORY_PAGE);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.releaseportal.benchmarks;
+
+import com.example.releaseportal.dto.ReleaseDetail;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.repository.ReleaseRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one release graph with the application's {@link ObjectMapper}: the
+ * {@code Release} entity as {@code GET /api/releases} renders it, and the {@link ReleaseDetail}
+ * copy served by {@code GET /api/releases/{id}}. The graph is loaded once, so only serialization
+ * (and, for the detail, the copy) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Release release;
+    private ReleaseDetail detail;
+    private List<Release> allReleases;
+
+    @Setup(Level.Trial)
+    public void setUp(PortalState portal) throws IOException {
+        objectMapper = portal.bean(ObjectMapper.class);
+        ReleaseRepository releaseRepository = portal.bean(ReleaseRepository.class);
+        release = portal.readOnlyTransaction.execute(status -> {
+            Release loaded = releaseRepository.findWithTeamsById(SyntheticDataset.releaseId(0)).orElseThrow();
+            RepositoryBenchmark.touch(loaded);
+            return loaded;
+        });
+        allReleases = portal.readOnlyTransaction.execute(status -> {
+            List<Release> loaded = releaseRepository.findAllWithTeams();
+            loaded.forEach(RepositoryBenchmark::touch);
+            return loaded;
+        });
+        detail = ReleaseDetail.from(release);
+        // Both shapes must render the same document, or the comparison is meaningless
+        if (!objectMapper.readTree(objectMapper.writeValueAsBytes(release))
+                .equals(objectMapper.readTree(objectMapper.writeValueAsBytes(detail)))) {
+            throw new IllegalStateException("Release entity and ReleaseDetail serialize differently");
+        }
+    }
+
+    @Benchmark
+    public byte[] releaseEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(release);
+    }
+
+    @Benchmark
+    public byte[] releaseDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] releaseDetailIncludingCopy() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ReleaseDetail.from(release));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] allReleaseEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(allReleases);
+    }
+}
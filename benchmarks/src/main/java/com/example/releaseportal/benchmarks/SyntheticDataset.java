@@ -0,0 +1,206 @@
+package com.example.releaseportal.benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deterministic release graph of configurable shape, written in the NDJSON record format read by
+ * the bulk import: releases x teams per release x components per team x user stories per team,
+ * each story linked to one component of its team.
+ * <p>
+ * Ids follow a fixed scheme ({@code bench-r3-t1-c2}, {@code BENCH-r3-t1-s7}) so benchmarks can pick
+ * existing entities without querying for them. Statuses and descriptions are drawn from a seeded
+ * random source, so the same shape always yields the same data.
+ */
+public final class SyntheticDataset {
+
+    private static final String[] SCAN_STATUSES = {"Pending", "Passed", "Failed"};
+    private static final String[] QA_STATUSES = {"Pending", "In Progress", "Passed", "Failed"};
+    private static final String[] WORDS = {"payment", "login", "refund", "gateway", "invoice", "report", "export",
+            "audit", "search", "cache", "email", "notify", "checkout", "cart", "profile", "billing", "session",
+            "upload", "schedule", "dashboard"};
+
+    private final int releases;
+    private final int teamsPerRelease;
+    private final int componentsPerTeam;
+    private final int storiesPerTeam;
+    private final long seed;
+
+    public SyntheticDataset(int releases, int teamsPerRelease, int componentsPerTeam, int storiesPerTeam) {
+        this(releases, teamsPerRelease, componentsPerTeam, storiesPerTeam, 42L);
+    }
+
+    public SyntheticDataset(int releases, int teamsPerRelease, int componentsPerTeam, int storiesPerTeam, long seed) {
+        if (releases < 1 || teamsPerRelease < 1 || componentsPerTeam < 1 || storiesPerTeam < 0) {
+            throw new IllegalArgumentException("Dataset needs at least one release, team and component");
+        }
+        this.releases = releases;
+        this.teamsPerRelease = teamsPerRelease;
+        this.componentsPerTeam = componentsPerTeam;
+        this.storiesPerTeam = storiesPerTeam;
+        this.seed = seed;
+    }
+
+    public int releases() {
+        return releases;
+    }
+
+    public int teamsPerRelease() {
+        return teamsPerRelease;
+    }
+
+    public int componentsPerTeam() {
+        return componentsPerTeam;
+    }
+
+    public int storiesPerTeam() {
+        return storiesPerTeam;
+    }
+
+    public long records() {
+        long teams = (long) releases * teamsPerRelease;
+        return releases + teams + teams * componentsPerTeam + 2 * teams * storiesPerTeam;
+    }
+
+    public static String releaseId(int release) {
+        return "bench-r" + release;
+    }
+
+    public static String teamId(int release, int team) {
+        return releaseId(release) + "-t" + team;
+    }
+
+    public static String componentId(int release, int team, int component) {
+        return teamId(release, team) + "-c" + component;
+    }
+
+    public static String userStoryId(int release, int team, int story) {
+        return "BENCH-r" + release + "-t" + team + "-s" + story;
+    }
+
+    /** Writes every record, parents before children, and returns how many were written. */
+    public long writeNdjson(OutputStream out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long written = 0;
+        try (JsonGenerator json = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            for (int r = 0; r < releases; r++) {
+                json.writeStartObject();
+                json.writeStringField("type", "release");
+                json.writeStringField("id", releaseId(r));
+                json.writeStringField("name", "Benchmark Release " + r);
+                json.writeStringField("version", (1 + r / 100) + "." + (r % 100) + ".0");
+                json.writeStringField("releaseDate", String.format("%04d-%02d-%02d", 2020 + r % 8, 1 + r % 12, 1 + r % 28));
+                json.writeStringField("status", r % 10 == 0 ? "Completed" : "In Progress");
+                json.writeStringField("overallAppOwnerSignedOff", r % 10 == 0 ? "Completed" : "Pending");
+                written += end(json);
+            }
+            for (int r = 0; r < releases; r++) {
+                for (int t = 0; t < teamsPerRelease; t++) {
+                    json.writeStartObject();
+                    json.writeStringField("type", "team");
+                    json.writeStringField("id", teamId(r, t));
+                    json.writeStringField("releaseId", releaseId(r));
+                    json.writeStringField("name", "Team " + t);
+                    json.writeStringField("teamDl", "team" + t + "@example.com");
+                    json.writeStringField("productOwner", "Owner " + t);
+                    json.writeStringField("qaSignedOff", random.nextInt(4) == 0 ? "Completed" : "Pending");
+                    json.writeStringField("appOwnerSignedOff", random.nextInt(4) == 0 ? "Completed" : "Pending");
+                    written += end(json);
+                }
+            }
+            for (int r = 0; r < releases; r++) {
+                for (int t = 0; t < teamsPerRelease; t++) {
+                    for (int c = 0; c < componentsPerTeam; c++) {
+                        json.writeStartObject();
+                        json.writeStringField("type", "component");
+                        json.writeStringField("id", componentId(r, t, c));
+                        json.writeStringField("teamId", teamId(r, t));
+                        json.writeStringField("name", "component-" + c);
+                        json.writeStringField("version", "1." + random.nextInt(20) + "." + random.nextInt(10));
+                        json.writeStringField("sonarQube", SCAN_STATUSES[random.nextInt(SCAN_STATUSES.length)]);
+                        json.writeStringField("nexusIq", SCAN_STATUSES[random.nextInt(SCAN_STATUSES.length)]);
+                        json.writeStringField("checkmarx", SCAN_STATUSES[random.nextInt(SCAN_STATUSES.length)]);
+                        written += end(json);
+                    }
+                }
+            }
+            for (int r = 0; r < releases; r++) {
+                for (int t = 0; t < teamsPerRelease; t++) {
+                    for (int s = 0; s < storiesPerTeam; s++) {
+                        json.writeStartObject();
+                        json.writeStringField("type", "userStory");
+                        json.writeStringField("id", userStoryId(r, t, s));
+                        json.writeStringField("teamId", teamId(r, t));
+                        json.writeStringField("description", description(random));
+                        json.writeStringField("qaStatus", QA_STATUSES[random.nextInt(QA_STATUSES.length)]);
+                        written += end(json);
+                    }
+                }
+            }
+            for (int r = 0; r < releases; r++) {
+                for (int t = 0; t < teamsPerRelease; t++) {
+                    for (int s = 0; s < storiesPerTeam; s++) {
+                        json.writeStartObject();
+                        json.writeStringField("type", "storyComponent");
+                        json.writeStringField("userStoryId", userStoryId(r, t, s));
+                        json.writeStringField("componentId", componentId(r, t, s % componentsPerTeam));
+                        written += end(json);
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    /** Writes the dataset to {@code file}, gzip-compressed when the name ends in {@code .gz}. */
+    public long writeNdjson(Path file) throws IOException {
+        try (OutputStream out = open(file)) {
+            return writeNdjson(out);
+        }
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPOutputStream(out, 64 * 1024) : out;
+    }
+
+    private static int end(JsonGenerator json) throws IOException {
+        json.writeEndObject();
+        json.writeRaw('\n');
+        return 1;
+    }
+
+    private static String description(SplittableRandom random) {
+        StringBuilder text = new StringBuilder("As a user I want to");
+        int words = 3 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            text.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes a dataset file for the bulk import:
+     * {@code <file> <releases> <teamsPerRelease> <componentsPerTeam> <storiesPerTeam>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: SyntheticDataset <file> <releases> <teamsPerRelease> <componentsPerTeam> <storiesPerTeam>");
+            System.exit(2);
+        }
+        SyntheticDataset dataset = new SyntheticDataset(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+        long written = dataset.writeNdjson(Path.of(args[0]));
+        System.out.println("Wrote " + written + " records to " + args[0]);
+    }
+}
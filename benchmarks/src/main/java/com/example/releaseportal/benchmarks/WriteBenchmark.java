@@ -0,0 +1,87 @@
+package com.example.releaseportal.benchmarks;
+
+import com.example.releaseportal.controller.ReleaseController;
+import com.example.releaseportal.dto.CreateReleaseRequest;
+import com.example.releaseportal.dto.UpdateReleaseRequest;
+import com.example.releaseportal.model.Component;
+import com.example.releaseportal.model.Release;
+import com.example.releaseportal.model.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create and update paths through the transactional controller methods, so readiness maintenance,
+ * revision bumps and change events are measured together with the entity write. HTTP binding and
+ * response rendering are left out; the load harness covers those.
+ * <p>
+ * {@link #createRelease} adds a release on every call, so the table grows over the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    private static final String[] SCAN_TYPES = {"sonarQube", "nexusIq", "checkmarx"};
+    private static final String[] SCAN_STATUSES = {"Pending", "Passed", "Failed"};
+    private static final String[] SIGN_OFF_STATUSES = {"Pending", "Completed"};
+
+    private ReleaseController controller;
+
+    @Setup(Level.Trial)
+    public void setUp(PortalState portal) {
+        controller = portal.bean(ReleaseController.class);
+    }
+
+    @Benchmark
+    public Release createRelease() {
+        CreateReleaseRequest request = new CreateReleaseRequest();
+        request.setName("Benchmark Created");
+        request.setVersion("9.9.9");
+        request.setReleaseDate("2030-01-01");
+        return controller.createRelease(request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Release> updateRelease(PortalState portal) {
+        UpdateReleaseRequest request = new UpdateReleaseRequest();
+        request.setName("Benchmark Updated");
+        request.setVersion("2." + ThreadLocalRandom.current().nextInt(100) + ".0");
+        request.setReleaseDate("2031-06-15");
+        return controller.updateRelease(portal.randomReleaseId(), null, request);
+    }
+
+    @Benchmark
+    public Component updateComponentScan(PortalState portal) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PortalState.ComponentRef component = portal.randomComponent();
+        return controller.updateComponentScan(component.releaseId(), component.componentId(), Map.of(
+                "scanType", SCAN_TYPES[random.nextInt(SCAN_TYPES.length)],
+                "status", SCAN_STATUSES[random.nextInt(SCAN_STATUSES.length)]));
+    }
+
+    @Benchmark
+    public ResponseEntity<Team> updateQaSignOff(PortalState portal) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int release = random.nextInt(portal.releases);
+        String teamId = SyntheticDataset.teamId(release, random.nextInt(portal.teamsPerRelease));
+        return controller.updateQASignOff(SyntheticDataset.releaseId(release), teamId, null,
+                Map.of("qaSignedOff", SIGN_OFF_STATUSES[random.nextInt(SIGN_OFF_STATUSES.length)]));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.releaseportal.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-operation latency histograms and failure counts of a load test run. Written as one
+ * HdrHistogram percentile distribution per operation ({@code <operation>.hgrm}, in milliseconds,
+ * readable by the HdrHistogram plotter) and a {@code summary.json} with throughput and the
+ * headline percentiles.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Duration measured;
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, Long>> failures = new EnumMap<>(Operation.class);
+
+    LatencyReport(Duration measured) {
+        this.measured = measured;
+    }
+
+    void add(LoadTest.UserResult user) {
+        user.latencies.forEach((operation, histogram) -> latencies
+                .computeIfAbsent(operation, k -> new Histogram(histogram.getHighestTrackableValue(), 3))
+                .add(histogram));
+        user.failures.forEach((operation, byStatus) -> byStatus.forEach((status, count) -> failures
+                .computeIfAbsent(operation, k -> new TreeMap<>())
+                .merge(status, count, Long::sum)));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-15s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        latencies.forEach((operation, histogram) -> out.printf("%-15s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operation.name, histogram.getTotalCount(), errors(operation), throughput(histogram),
+                millis(histogram, 50), millis(histogram, 95), millis(histogram, 99),
+                histogram.getMaxValue() / MICROS_PER_MILLI));
+        out.println();
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("measuredSeconds", measured.toSeconds());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            Operation operation = entry.getKey();
+            Histogram histogram = entry.getValue();
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.name + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("endpoint", operation.endpoint);
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("errors", errors(operation));
+            stats.put("errorsByStatus", failures.getOrDefault(operation, Map.of()));
+            stats.put("throughputPerSecond", throughput(histogram));
+            stats.put("p50Millis", millis(histogram, 50));
+            stats.put("p95Millis", millis(histogram, 95));
+            stats.put("p99Millis", millis(histogram, 99));
+            stats.put("maxMillis", histogram.getMaxValue() / MICROS_PER_MILLI);
+            operations.put(operation.name, stats);
+        }
+        summary.put("operations", operations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+    }
+
+    /** Budgets exceeded, and budgeted operations that failed too often or were never measured. */
+    List<String> violations(Map<Operation, Map<Double, Duration>> budgets, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        budgets.forEach((operation, byPercentile) -> {
+            Histogram histogram = latencies.get(operation);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                violations.add(operation.endpoint + ": no requests measured; check the mix");
+                return;
+            }
+            new TreeMap<>(byPercentile).forEach((percentile, budget) -> {
+                double actual = millis(histogram, percentile);
+                if (actual > budget.toMillis()) {
+                    violations.add(String.format("%s p%s %.2f ms > %d ms",
+                            operation.endpoint, format(percentile), actual, budget.toMillis()));
+                }
+            });
+            double errorRate = (double) errors(operation) / histogram.getTotalCount();
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%% %s",
+                        operation.endpoint, errorRate * 100, maxErrorRate * 100, failures.get(operation)));
+            }
+        });
+        return violations;
+    }
+
+    private long errors(Operation operation) {
+        return failures.getOrDefault(operation, Map.of()).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (measured.toMillis() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
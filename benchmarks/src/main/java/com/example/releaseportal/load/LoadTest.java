@@ -0,0 +1,196 @@
+package com.example.releaseportal.load;
+
+import com.example.releaseportal.ReleasePortalApplication;
+import com.example.releaseportal.benchmarks.SyntheticDataset;
+import com.example.releaseportal.dto.ImportResult;
+import com.example.releaseportal.service.ReleaseImportService;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of portal requests at a server with a fixed number of virtual users and
+ * records every latency after the warm-up in per-operation HdrHistograms. By default it starts the
+ * application itself on a random port over a fresh in-memory database loaded with a
+ * {@link SyntheticDataset}, so a run needs nothing but this jar.
+ * <p>
+ * Without {@code --rate} each user sends its next request as soon as the previous one completes and
+ * latency is the response time. With a rate each user follows a fixed schedule and latency is
+ * measured from the scheduled send time, so a stalled server is charged for the requests it held up
+ * (no coordinated omission).
+ * <p>
+ * Exits with status 1 when a latency budget or the error-rate limit is exceeded.
+ */
+public final class LoadTest {
+
+    // Microsecond resolution, up to one minute, three significant digits
+    private static final long HIGHEST_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = settings.target;
+        List<String> violations;
+        try {
+            if (baseUrl == null) {
+                context = start(settings);
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            }
+            LatencyReport report = run(settings, baseUrl);
+            report.print(System.out);
+            report.write(settings.reportDir);
+            System.out.println("Reports written to " + settings.reportDir.toAbsolutePath());
+            violations = report.violations(settings.budgets, settings.maxErrorRate);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        violations.forEach(violation -> System.out.println("BUDGET EXCEEDED: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestSettings settings) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ReleasePortalApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+                        "spring.main.banner-mode=off",
+                        "observability.sql-count-header.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        SyntheticDataset dataset = new SyntheticDataset(settings.releases, settings.teamsPerRelease,
+                settings.componentsPerTeam, settings.storiesPerTeam);
+        Path file = Files.createTempFile("release-portal-load", ".ndjson");
+        try {
+            dataset.writeNdjson(file);
+            try (InputStream in = Files.newInputStream(file)) {
+                ImportResult result = context.getBean(ReleaseImportService.class).importGraph(in);
+                System.out.printf("Loaded %d records in %d ms%n", result.getRecords(), result.getElapsedMillis());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return context;
+    }
+
+    private static LatencyReport run(LoadTestSettings settings, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Operation.Target target = new Operation.Target(settings.releases, settings.teamsPerRelease, settings.componentsPerTeam);
+        Operation[] schedule = schedule(settings.mix);
+        long started = System.nanoTime();
+        long measureFrom = started + settings.warmup.toNanos();
+        long stopAt = measureFrom + settings.duration.toNanos();
+        // Each user's share of the total rate; 0 means closed loop
+        long intervalNanos = settings.rate > 0 ? (long) (settings.concurrency * 1e9 / settings.rate) : 0;
+        System.out.printf("Driving %s with %d users for %s after %s warm-up%n",
+                baseUrl, settings.concurrency, settings.duration, settings.warmup);
+
+        ExecutorService users = Executors.newFixedThreadPool(settings.concurrency);
+        List<Future<UserResult>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency; i++) {
+            long seed = ThreadLocalRandom.current().nextLong();
+            // Spread scheduled users over one interval instead of starting them in lockstep
+            long firstSend = started + (intervalNanos * i) / settings.concurrency;
+            futures.add(users.submit(() -> user(client, baseUrl, target, schedule, new Random(seed),
+                    firstSend, intervalNanos, measureFrom, stopAt)));
+        }
+        LatencyReport report = new LatencyReport(settings.duration);
+        try {
+            for (Future<UserResult> future : futures) {
+                report.add(future.get());
+            }
+        } finally {
+            users.shutdownNow();
+        }
+        return report;
+    }
+
+    private static UserResult user(HttpClient client, String baseUrl, Operation.Target target, Operation[] schedule,
+                                   Random random, long firstSend, long intervalNanos,
+                                   long measureFrom, long stopAt) {
+        UserResult result = new UserResult();
+        long nextSend = firstSend;
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = nextSend - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                nextSend = System.nanoTime();
+            }
+            if (nextSend >= stopAt) {
+                return result;
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            int status;
+            try {
+                HttpResponse<Void> response = client.send(operation.request(baseUrl, target, random)
+                        .timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding());
+                status = response.statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            }
+            long finished = System.nanoTime();
+            if (nextSend >= measureFrom) {
+                result.record(operation, Math.min((finished - nextSend) / 1000, HIGHEST_LATENCY_MICROS), status);
+            }
+            nextSend += intervalNanos;
+        }
+    }
+
+    // One slot per unit of weight, so a uniform pick follows the mix
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+
+    /** Latencies and failures seen by one virtual user, merged into the report at the end. */
+    static final class UserResult {
+        final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, Map<Integer, Long>> failures = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long latencyMicros, int status) {
+            latencies.computeIfAbsent(operation, k -> new Histogram(HIGHEST_LATENCY_MICROS, 3)).recordValue(latencyMicros);
+            if (status < 200 || status >= 300) {
+                failures.computeIfAbsent(operation, k -> new TreeMap<>()).merge(status, 1L, Long::sum);
+            }
+        }
+    }
+}
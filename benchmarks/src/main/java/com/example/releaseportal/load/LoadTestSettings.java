@@ -0,0 +1,127 @@
+package com.example.releaseportal.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, given as {@code --name=value} arguments; every option has a default.
+ *
+ * <pre>
+ * --target=http://host:8080        drive a running server instead of starting one (it must hold the same dataset)
+ * --releases=1000 --teams-per-release=5 --components-per-team=4 --stories-per-team=40
+ * --concurrency=16                 virtual users, each sending one request at a time
+ * --rate=0                         total requests per second across all users; 0 sends as fast as responses allow
+ * --warmup=15s --duration=60s
+ * --mix=dashboard:30,release-detail:40,scan-update:20,sign-off:10
+ * --report-dir=target/load-test
+ * --slo.release-detail.p99=250ms --slo.scan-update.p99=400ms --max-error-rate=0.01
+ * </pre>
+ */
+public final class LoadTestSettings {
+
+    final String target;
+    final int releases;
+    final int teamsPerRelease;
+    final int componentsPerTeam;
+    final int storiesPerTeam;
+    final int concurrency;
+    final double rate;
+    final Duration warmup;
+    final Duration duration;
+    final Map<Operation, Integer> mix;
+    final Path reportDir;
+    final Map<Operation, Map<Double, Duration>> budgets;
+    final double maxErrorRate;
+
+    private LoadTestSettings(Map<String, String> options) {
+        Map<String, String> remaining = new HashMap<>(options);
+        target = remaining.remove("target");
+        releases = Integer.parseInt(take(remaining, "releases", "1000"));
+        teamsPerRelease = Integer.parseInt(take(remaining, "teams-per-release", "5"));
+        componentsPerTeam = Integer.parseInt(take(remaining, "components-per-team", "4"));
+        storiesPerTeam = Integer.parseInt(take(remaining, "stories-per-team", "40"));
+        concurrency = Integer.parseInt(take(remaining, "concurrency", "16"));
+        rate = Double.parseDouble(take(remaining, "rate", "0"));
+        warmup = duration(take(remaining, "warmup", "15s"));
+        duration = duration(take(remaining, "duration", "60s"));
+        mix = mix(take(remaining, "mix", "dashboard:30,release-detail:40,scan-update:20,sign-off:10"));
+        reportDir = Path.of(take(remaining, "report-dir", "target/load-test"));
+        maxErrorRate = Double.parseDouble(take(remaining, "max-error-rate", "0.01"));
+        budgets = new EnumMap<>(Operation.class);
+        budget(Operation.RELEASE_DETAIL, 99.0, take(remaining, "slo.release-detail.p99", "250ms"));
+        budget(Operation.SCAN_UPDATE, 99.0, take(remaining, "slo.scan-update.p99", "400ms"));
+        // Further budgets, e.g. --slo.dashboard.p95=100ms
+        for (String key : Map.copyOf(remaining).keySet()) {
+            if (key.startsWith("slo.")) {
+                String[] parts = key.split("\\.");
+                if (parts.length != 3 || !parts[2].matches("p\\d+(\\.\\d+)?")) {
+                    throw new IllegalArgumentException("Budget option must look like slo.<operation>.p<percentile>: " + key);
+                }
+                budget(Operation.fromName(parts[1]), Double.parseDouble(parts[2].substring(1)), remaining.remove(key));
+            }
+        }
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + remaining.keySet());
+        }
+        if (concurrency < 1 || rate < 0 || duration.isZero()) {
+            throw new IllegalArgumentException("concurrency and duration must be positive and rate not negative");
+        }
+    }
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return new LoadTestSettings(options);
+    }
+
+    private void budget(Operation operation, double percentile, String value) {
+        // An empty value switches a default budget off
+        if (!value.isBlank()) {
+            budgets.computeIfAbsent(operation, k -> new HashMap<>()).put(percentile, duration(value));
+        }
+    }
+
+    private static String take(Map<String, String> options, String name, String fallback) {
+        String value = options.remove(name);
+        return value == null ? fallback : value;
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like operation:weight, got " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    /** Accepts 250ms, 15s, 2m or plain milliseconds. */
+    static Duration duration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(trimmed));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.releaseportal.load;
+
+import com.example.releaseportal.benchmarks.SyntheticDataset;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The requests of the load mix, shaped like the calls {@code release.service.ts} makes: the
+ * dashboard's release list, opening a release, recording a scan result and a team sign-off.
+ * Targets are picked at random from the synthetic dataset.
+ */
+enum Operation {
+
+    DASHBOARD("dashboard", "GET /api/releases?view=summary") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Target target, Random random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/releases?view=summary&limit=50")).GET();
+        }
+    },
+    RELEASE_DETAIL("release-detail", "GET /api/releases/{id}") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Target target, Random random) {
+            String releaseId = SyntheticDataset.releaseId(random.nextInt(target.releases()));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/releases/" + releaseId)).GET();
+        }
+    },
+    SCAN_UPDATE("scan-update", "PUT /api/releases/{id}/teams/{teamId}/components/{componentId}/scan") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Target target, Random random) {
+            int release = random.nextInt(target.releases());
+            int team = random.nextInt(target.teamsPerRelease());
+            String componentId = SyntheticDataset.componentId(release, team, random.nextInt(target.componentsPerTeam()));
+            String body = "{\"scanType\":\"" + pick(random, SCAN_TYPES) + "\",\"status\":\"" + pick(random, SCAN_STATUSES) + "\"}";
+            return put(baseUrl + "/api/releases/" + SyntheticDataset.releaseId(release)
+                    + "/teams/" + SyntheticDataset.teamId(release, team) + "/components/" + componentId + "/scan", body);
+        }
+    },
+    SIGN_OFF("sign-off", "PUT /api/releases/{id}/teams/{teamId}/qa-signoff|appowner-signoff") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Target target, Random random) {
+            int release = random.nextInt(target.releases());
+            String teamUrl = baseUrl + "/api/releases/" + SyntheticDataset.releaseId(release)
+                    + "/teams/" + SyntheticDataset.teamId(release, random.nextInt(target.teamsPerRelease()));
+            String status = pick(random, SIGN_OFF_STATUSES);
+            return random.nextBoolean()
+                    ? put(teamUrl + "/qa-signoff", "{\"qaSignedOff\":\"" + status + "\"}")
+                    : put(teamUrl + "/appowner-signoff", "{\"appOwnerSignedOff\":\"" + status + "\"}");
+        }
+    };
+
+    private static final String[] SCAN_TYPES = {"sonarQube", "nexusIq", "checkmarx"};
+    private static final String[] SCAN_STATUSES = {"Pending", "Passed", "Failed"};
+    private static final String[] SIGN_OFF_STATUSES = {"Pending", "Completed"};
+
+    final String name;
+    final String endpoint;
+
+    Operation(String name, String endpoint) {
+        this.name = name;
+        this.endpoint = endpoint;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, Target target, Random random);
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + name + "'; expected one of "
+                        + Arrays.stream(values()).map(operation -> operation.name).toList()));
+    }
+
+    private static HttpRequest.Builder put(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** Shape of the dataset the requests are aimed at. */
+    record Target(int releases, int teamsPerRelease, int componentsPerTeam) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.releaseportal.load;
+
+import com.example.releaseportal.ReleasePortalApplication;
+import com.example.releaseportal.benchmarks.SyntheticDataset;
+import com.example.releaseportal.dto.ImportResult;
+import com.example.releaseportal.service.ReleaseImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Restart timing of the durable {@code prod} storage: for each dataset size it fills a file database
+ * in a temporary directory once, then restarts the application on it in fresh JVMs and records the
+ * time from process start until {@code /actuator/health/readiness} answers 200, and the latency of
+ * the first dashboard page and the first release detail after that. The median of the restarts is
+ * printed per size, so an empty and a large database can be compared side by side.
+ *
+ * <pre>
+ * --releases=0,1000           dataset sizes; 0 keeps only the sample releases
+ * --teams-per-release=5 --components-per-team=4 --stories-per-team=40
+ * --restarts=3                restarts timed per size
+ * --timeout=120s              longest wait for readiness
+ * --jvm-args=-Xmx1g           options of the restarted JVMs, separated by spaces
+ * </pre>
+ */
+public final class StartupTimer {
+
+    private static final Set<String> INDEX_THREADS = Set.of("user-story-index", "component-version-index");
+
+    private StartupTimer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        int[] sizes = Arrays.stream(take(options, "releases", "0,1000").split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int teamsPerRelease = Integer.parseInt(take(options, "teams-per-release", "5"));
+        int componentsPerTeam = Integer.parseInt(take(options, "components-per-team", "4"));
+        int storiesPerTeam = Integer.parseInt(take(options, "stories-per-team", "40"));
+        int restarts = Integer.parseInt(take(options, "restarts", "3"));
+        Duration timeout = LoadTestSettings.duration(take(options, "timeout", "120s"));
+        List<String> jvmArgs = List.of(take(options, "jvm-args", "-Xmx1g").trim().split("\\s+"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        if (restarts < 1) {
+            throw new IllegalArgumentException("restarts must be positive");
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (int releases : sizes) {
+            Path directory = Files.createTempDirectory("release-portal-startup");
+            try {
+                long records = fill(directory, releases, teamsPerRelease, componentsPerTeam, storiesPerTeam);
+                long[][] timings = new long[restarts][];
+                for (int i = 0; i < restarts; i++) {
+                    timings[i] = restart(directory, jvmArgs, timeout);
+                    System.out.printf("%d releases, restart %d: ready %d ms, first dashboard %d ms, first detail %d ms%n",
+                            releases, i + 1, timings[i][0], timings[i][1], timings[i][2]);
+                }
+                rows.add(String.format("%10d %10d %10d %12s %14d %16d %14d", releases, records, restarts,
+                        megabytes(directory), median(timings, 0), median(timings, 1), median(timings, 2)));
+            } finally {
+                delete(directory);
+            }
+        }
+        System.out.printf("%n%10s %10s %10s %12s %14s %16s %14s%n",
+                "releases", "records", "restarts", "database", "ready (ms)", "dashboard (ms)", "detail (ms)");
+        rows.forEach(System.out::println);
+    }
+
+    // Creates the database through the prod profile's migrations and imports the dataset into it
+    private static long fill(Path directory, int releases, int teamsPerRelease, int componentsPerTeam, int storiesPerTeam)
+            throws IOException, InterruptedException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ReleasePortalApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "startup.warm-up.enabled=false",
+                        "logging.level.root=WARN")
+                // An argument, as the profile's own storage.directory overrides default properties
+                .run("--storage.directory=" + directory);
+        try {
+            if (releases == 0) {
+                return 0;
+            }
+            SyntheticDataset dataset = new SyntheticDataset(releases, teamsPerRelease, componentsPerTeam, storiesPerTeam);
+            Path file = Files.createTempFile("release-portal-startup", ".ndjson");
+            try {
+                dataset.writeNdjson(file);
+                try (InputStream in = Files.newInputStream(file)) {
+                    ImportResult result = context.getBean(ReleaseImportService.class).importGraph(in);
+                    System.out.printf("Loaded %d records in %d ms%n", result.getRecords(), result.getElapsedMillis());
+                    awaitIndexRebuilds();
+                    return result.getRecords();
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } finally {
+            // Closing the pool closes the database, so the restarted JVMs can open it
+            context.close();
+        }
+    }
+
+    // The import rebuilds the in-memory indexes on background threads; closing the pool under them would
+    // leave their connection, and with it the database file, open
+    private static void awaitIndexRebuilds() throws InterruptedException {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (INDEX_THREADS.contains(thread.getName())) {
+                thread.join();
+            }
+        }
+    }
+
+    // {ready, first dashboard, first detail} in milliseconds, from a fresh JVM on the filled database
+    private static long[] restart(Path directory, List<String> jvmArgs, Duration timeout) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), ReleasePortalApplication.class.getName(),
+                "--spring.profiles.active=prod", "--storage.directory=" + directory, "--server.port=" + port,
+                "--spring.main.banner-mode=off"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String baseUrl = "http://localhost:" + port;
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(directory.resolve("application.log").toFile()))
+                .start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (status(client, baseUrl + "/actuator/health/readiness") != 200) {
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("The application did not become ready; see " + directory.resolve("application.log"));
+                }
+                Thread.sleep(10);
+            }
+            long ready = System.nanoTime();
+            long dashboard = timed(client, baseUrl + "/api/releases?view=summary");
+            long detail = timed(client, baseUrl + "/api/releases/q1-2024-aurora");
+            return new long[]{(ready - started) / 1_000_000, dashboard, detail};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    // Status code, or -1 while nothing listens on the port yet
+    private static int status(HttpClient client, String url) throws IOException, InterruptedException {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (ConnectException e) {
+            return -1;
+        }
+    }
+
+    private static long timed(HttpClient client, String url) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofByteArray());
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " answered " + response.statusCode());
+        }
+        return elapsed;
+    }
+
+    private static long median(long[][] timings, int column) {
+        return Arrays.stream(timings).mapToLong(row -> row[column]).sorted().toArray()[timings.length / 2];
+    }
+
+    private static String megabytes(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            long bytes = files.filter(file -> file.getFileName().toString().endsWith(".db")).mapToLong(file -> file.toFile().length()).sum();
+            return String.format("%.1f MB", bytes / 1e6);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static Map<String, String> options(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> options, String name, String fallback) {
+        String value = options.remove(name);
+        return value == null ? fallback : value;
+    }
+}